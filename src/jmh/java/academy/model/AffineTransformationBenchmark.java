@@ -0,0 +1,43 @@
+package academy.model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** {@link AffineTransformation#apply} as the classic kernel calls it, with a new point per step. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class AffineTransformationBenchmark {
+    private static final int POINTS = 1024;
+
+    private final AffineTransformation affine = new AffineTransformation(0.5, -0.3, 0.1, 0.2, 0.6, -0.4, 255, 0, 0);
+    private final Point[] points = new Point[POINTS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < POINTS; i++) {
+            points[i] = new Point(random.nextDouble(-1.5, 1.5), random.nextDouble(-1.5, 1.5));
+        }
+    }
+
+    @Benchmark
+    public Point apply() {
+        next = (next + 1) & (POINTS - 1);
+        return affine.apply(points[next]);
+    }
+}
@@ -0,0 +1,69 @@
+package academy.model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hits from four threads into one place: the synchronized {@link Pixel#hit} and the same pixel of the shared
+ * histograms, against a single thread hitting a pixel of its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PixelContentionBenchmark {
+    private static final int CONTENDING_THREADS = 4;
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        private final Pixel pixel = new Pixel();
+        private final FractalImage synchronizedImage = new SynchronizedFractalImage(16, 16);
+        private final FractalImage atomicImage = new AtomicFractalImage(16, 16);
+    }
+
+    @State(Scope.Thread)
+    public static class Own {
+        private final Pixel pixel = new Pixel();
+        private final FractalImage image = new HeapFractalImage(16, 16);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void pixelUncontended(Own own) {
+        own.pixel.hit(255, 128, 0);
+    }
+
+    @Benchmark
+    @Threads(CONTENDING_THREADS)
+    public void pixelContended(Shared shared) {
+        shared.pixel.hit(255, 128, 0);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void histogramUncontended(Own own) {
+        own.image.hit(0, 255, 128, 0);
+    }
+
+    @Benchmark
+    @Threads(CONTENDING_THREADS)
+    public void synchronizedHistogramContended(Shared shared) {
+        shared.synchronizedImage.hit(0, 255, 128, 0);
+    }
+
+    @Benchmark
+    @Threads(CONTENDING_THREADS)
+    public void atomicHistogramContended(Shared shared) {
+        shared.atomicImage.hit(0, 255, 128, 0);
+    }
+}
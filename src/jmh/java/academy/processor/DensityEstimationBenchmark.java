@@ -0,0 +1,57 @@
+package academy.processor;
+
+import academy.model.DensityEstimation;
+import academy.model.FractalImage;
+import academy.model.HistogramStorage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Density estimation filter by image size and kernel radius. Histograms average one hit per pixel, the sparse case the
+ * filter is meant for, where almost every pixel gets the widest kernels.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DensityEstimationBenchmark {
+    @Param({"640x480", "1280x720", "1920x1080"})
+    private String size;
+
+    @Param({"2.0", "5.0", "9.0"})
+    private double radius;
+
+    private DensityEstimationFilter filter;
+    private FractalImage histogram;
+
+    @Setup
+    public void setUp() {
+        String[] dimensions = size.split("x");
+        int width = Integer.parseInt(dimensions[0]);
+        int height = Integer.parseInt(dimensions[1]);
+        histogram = FractalImage.create(width, height, HistogramStorage.HEAP);
+        Random random = new Random(42);
+        for (int i = 0; i < width * height; i++) {
+            histogram.hit(random.nextInt(width), random.nextInt(height), 255, 128, 64);
+        }
+        filter = new DensityEstimationFilter(new DensityEstimation(radius, 0.0, 0.4), 1);
+    }
+
+    @Benchmark
+    public FractalImage apply() {
+        return filter.apply(histogram, HistogramStorage.HEAP);
+    }
+}
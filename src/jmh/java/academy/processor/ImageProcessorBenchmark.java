@@ -0,0 +1,76 @@
+package academy.processor;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import academy.renderer.SingleThreadRenderer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Tone mapping and PNG encoding of a rendered histogram into a temporary file. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ImageProcessorBenchmark {
+    @Param({"640x480", "1920x1080"})
+    private String size;
+
+    private final ImageProcessor processor = new ImageProcessor();
+    private FractalConfig config;
+    private FractalImage histogram;
+    private Path output;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] dimensions = size.split("x");
+        List<AffineTransformation> affines = List.of(
+                new AffineTransformation(0.5, 0.0, 0.0, 0.0, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.0, 0.5, 0.0, 0.5, 0.5, 0, 255, 0),
+                new AffineTransformation(0.0, 0.5, 0.0, -0.5, 0.0, 0.5, 0, 0, 255));
+        List<WeightedFunction> functions = List.of(new WeightedFunction(TransformationType.SWIRL, 1.0));
+        config = new FractalConfig(
+                Integer.parseInt(dimensions[0]),
+                Integer.parseInt(dimensions[1]),
+                42L,
+                1000,
+                "benchmark.png",
+                1,
+                affines,
+                functions,
+                true,
+                2.2);
+        histogram = new SingleThreadRenderer().render(config);
+        output = Files.createTempFile("benchmark", ".png");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public Path save() throws IOException {
+        processor.save(histogram, output, config);
+        return output;
+    }
+}
@@ -0,0 +1,46 @@
+package academy.renderer;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Weighted pick of an affine or a variation, the draw every iteration of every kernel makes twice. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class AliasTableBenchmark {
+    @Param({"2", "8", "32"})
+    private int weights;
+
+    private AliasTable table;
+    private SplitMix64 random;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom weightRandom = new SplittableRandom(42);
+        double[] values = new double[weights];
+        for (int i = 0; i < weights; i++) {
+            values[i] = weightRandom.nextDouble(0.1, 2.0);
+        }
+        table = new AliasTable(values);
+        random = new SplitMix64(42);
+    }
+
+    @Benchmark
+    public int sample() {
+        return table.sample(random);
+    }
+}
@@ -0,0 +1,64 @@
+package academy.renderer;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.HistogramMode;
+import academy.model.RenderOptions;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Histogram modes of {@link MultiThreadRenderer}: monitor-guarded shared histogram, lock-free atomic shared histogram
+ * and private per-thread histograms, at 2 to 32 threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HistogramModeBenchmark {
+    private static final int SAMPLES = 640;
+
+    @Param({"2", "8", "16", "32"})
+    private int threads;
+
+    @Param({"SHARED", "ATOMIC", "PRIVATE"})
+    private HistogramMode mode;
+
+    private final Renderer renderer = new MultiThreadRenderer();
+    private FractalConfig config;
+
+    @Setup
+    public void setUp() {
+        List<AffineTransformation> affines = List.of(
+                new AffineTransformation(0.5, 0.0, 0.0, 0.0, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.0, 0.5, 0.0, 0.5, 0.5, 0, 255, 0),
+                new AffineTransformation(0.0, 0.5, 0.0, -0.5, 0.0, 0.5, 0, 0, 255));
+        List<WeightedFunction> functions = List.of(
+                new WeightedFunction(TransformationType.SINUSOIDAL, 1.0),
+                new WeightedFunction(TransformationType.SPHERICAL, 0.8),
+                new WeightedFunction(TransformationType.SWIRL, 0.6));
+        config = new FractalConfig(640, 480, 123489L, SAMPLES, "benchmark.png", threads, affines, functions, true, 2.2)
+                .withRenderOptions(RenderOptions.builder().histogramMode(mode).build());
+    }
+
+    @Benchmark
+    public FractalImage render() {
+        return renderer.render(config);
+    }
+}
@@ -0,0 +1,72 @@
+package academy.renderer;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.KernelType;
+import academy.model.RenderOptions;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One chaos game sample of every kernel into a 1080p histogram, reported per iteration. Samples rotate through the
+ * random streams of a render, so every invocation walks a different chain.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class KernelBenchmark {
+    private static final int ITERATIONS_PER_SAMPLE = 1000;
+
+    @Param({"CLASSIC", "SCALAR", "MONOMORPHIC", "VECTOR"})
+    private KernelType kernelType;
+
+    private IterationKernel kernel;
+    private SampleRandom sampleRandom;
+    private FractalImage histogram;
+    private long sample;
+
+    @Setup
+    public void setUp() {
+        List<AffineTransformation> affines = List.of(
+                new AffineTransformation(0.5, 0.0, 0.0, 0.0, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.0, 0.5, 0.0, 0.5, 0.5, 0, 255, 0),
+                new AffineTransformation(0.0, 0.5, 0.0, -0.5, 0.0, 0.5, 0, 0, 255));
+        List<WeightedFunction> functions = List.of(
+                new WeightedFunction(TransformationType.SWIRL, 1.0),
+                new WeightedFunction(TransformationType.SINUSOIDAL, 0.5),
+                new WeightedFunction(TransformationType.SPHERICAL, 0.3));
+        FractalConfig config = new FractalConfig(
+                        1920, 1080, 42L, ITERATIONS_PER_SAMPLE, "benchmark.png", 1, affines, functions, true, 2.2)
+                .withRenderOptions(RenderOptions.builder().kernel(kernelType).build());
+
+        kernel = new SingleThreadRenderer().createKernel(config);
+        sampleRandom = SampleRandom.create(config.renderOptions().random(), config.seed());
+        histogram = FractalImage.create(
+                config.width(), config.height(), config.renderOptions().histogramStorage());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS_PER_SAMPLE)
+    public FractalImage processSample() {
+        kernel.processSample(sampleRandom.forSample(sample++), histogram);
+        return histogram;
+    }
+}
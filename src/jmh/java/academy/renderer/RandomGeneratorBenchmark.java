@@ -0,0 +1,78 @@
+package academy.renderer;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.RandomType;
+import academy.model.RenderOptions;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The legacy {@link java.util.Random} streams against {@link SplitMix64}: the draws of one iteration step, reported per
+ * step, and a full render with each generator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RandomGeneratorBenchmark {
+    private static final int STEPS_PER_SAMPLE = 1000;
+
+    @Param({"LEGACY", "SPLITMIX"})
+    private RandomType randomType;
+
+    private final Renderer renderer = new SingleThreadRenderer();
+    private SampleRandom sampleRandom;
+    private FractalConfig config;
+    private long sample;
+
+    @Setup
+    public void setUp() {
+        List<AffineTransformation> affines = List.of(
+                new AffineTransformation(0.5, 0.0, 0.0, 0.0, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.0, 0.5, 0.0, 0.5, 0.5, 0, 255, 0),
+                new AffineTransformation(0.0, 0.5, 0.0, -0.5, 0.0, 0.5, 0, 0, 255));
+        List<WeightedFunction> functions = List.of(
+                new WeightedFunction(TransformationType.LINEAR, 1.0),
+                new WeightedFunction(TransformationType.SINUSOIDAL, 0.5));
+        config = new FractalConfig(640, 480, 123489L, 800, "benchmark.png", 1, affines, functions, true, 2.2)
+                .withRenderOptions(RenderOptions.builder().random(randomType).build());
+        sampleRandom = SampleRandom.create(randomType, 123L);
+    }
+
+    // One step draws an affine index and a variation weight
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(STEPS_PER_SAMPLE)
+    public double drawStep() {
+        RandomGenerator random = sampleRandom.forSample(sample++);
+        double sum = 0;
+        for (int step = 0; step < STEPS_PER_SAMPLE; step++) {
+            sum += random.nextInt(3) + random.nextDouble();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public FractalImage render() {
+        return renderer.render(config);
+    }
+}
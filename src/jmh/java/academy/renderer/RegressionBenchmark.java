@@ -0,0 +1,73 @@
+package academy.renderer;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Fixed workload of the performance regression gate: the render of {@code RendererPerformanceBenchmarkTest} at the
+ * thread counts it compares, in renders per minute. Changing the workload invalidates the committed baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Thread)
+public class RegressionBenchmark {
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final int ITERATIONS = 3_000;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private FractalConfig config;
+    private Renderer renderer;
+
+    @Setup
+    public void setUp() {
+        List<AffineTransformation> affineTransformations = List.of(
+                new AffineTransformation(0.5, 0.0, 0.0, 0.0, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.0, 0.5, 0.0, 0.5, 0.5, 0, 255, 0),
+                new AffineTransformation(0.0, 0.5, 0.0, -0.5, 0.0, 0.5, 0, 0, 255));
+
+        List<WeightedFunction> functions = List.of(
+                new WeightedFunction(TransformationType.SINUSOIDAL, 1.0),
+                new WeightedFunction(TransformationType.SPHERICAL, 0.8),
+                new WeightedFunction(TransformationType.SWIRL, 0.6));
+
+        config = new FractalConfig(
+                WIDTH,
+                HEIGHT,
+                123489L,
+                ITERATIONS,
+                "benchmark.png",
+                threads,
+                affineTransformations,
+                functions,
+                true,
+                2.2);
+        renderer = RendererFactory.create(config);
+    }
+
+    @Benchmark
+    public FractalImage render() {
+        return renderer.render(config);
+    }
+}
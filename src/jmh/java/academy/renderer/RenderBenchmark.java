@@ -0,0 +1,78 @@
+package academy.renderer;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.RenderOptions;
+import academy.model.RendererType;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Whole renders of a fixed number of points, by image size, thread count and multi-threaded renderer. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RenderBenchmark {
+    private static final int SAMPLES = 400;
+    private static final int ITERATIONS_PER_SAMPLE = 1000;
+
+    @Param({"640x480", "1920x1080", "3840x2160"})
+    private String size;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    @Param({"THREAD_POOL", "FORK_JOIN", "TILED"})
+    private RendererType rendererType;
+
+    private FractalConfig config;
+    private Renderer renderer;
+
+    @Setup
+    public void setUp() {
+        String[] dimensions = size.split("x");
+        List<AffineTransformation> affines = List.of(
+                new AffineTransformation(0.5, 0.0, 0.0, 0.0, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.0, 0.5, 0.0, 0.5, 0.5, 0, 255, 0),
+                new AffineTransformation(0.0, 0.5, 0.0, -0.5, 0.0, 0.5, 0, 0, 255));
+        List<WeightedFunction> functions = List.of(
+                new WeightedFunction(TransformationType.SWIRL, 1.0),
+                new WeightedFunction(TransformationType.SINUSOIDAL, 0.5));
+        config = new FractalConfig(
+                        Integer.parseInt(dimensions[0]),
+                        Integer.parseInt(dimensions[1]),
+                        42L,
+                        SAMPLES,
+                        "benchmark.png",
+                        threads,
+                        affines,
+                        functions,
+                        true,
+                        2.2)
+                .withSampling(SAMPLES, ITERATIONS_PER_SAMPLE)
+                .withRenderOptions(
+                        RenderOptions.builder().renderer(rendererType).build());
+        renderer = RendererFactory.create(config);
+    }
+
+    @Benchmark
+    public FractalImage render() {
+        return renderer.render(config);
+    }
+}
@@ -0,0 +1,67 @@
+package academy.renderer;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Render time against the sample count. With a fixed chain length the work grows linearly, while a single iteration
+ * count that sets both grows it quadratically.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SampleBudgetBenchmark {
+    private static final int ITERATIONS_PER_SAMPLE = 1000;
+
+    /** How the chain length follows the sample count. */
+    public enum Budget {
+        FIXED_CHAIN,
+        ONE_COUNT
+    }
+
+    @Param({"250", "500", "1000", "2000"})
+    private int samples;
+
+    @Param({"FIXED_CHAIN", "ONE_COUNT"})
+    private Budget budget;
+
+    private final Renderer renderer = new SingleThreadRenderer();
+    private FractalConfig config;
+
+    @Setup
+    public void setUp() {
+        List<AffineTransformation> affines = List.of(
+                new AffineTransformation(0.5, 0.0, 0.0, 0.0, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.0, 0.5, 0.0, 0.5, 0.5, 0, 255, 0),
+                new AffineTransformation(0.0, 0.5, 0.0, -0.5, 0.0, 0.5, 0, 0, 255));
+        List<WeightedFunction> functions = List.of(
+                new WeightedFunction(TransformationType.LINEAR, 1.0),
+                new WeightedFunction(TransformationType.SINUSOIDAL, 0.5));
+        config = new FractalConfig(640, 480, 123489L, samples, "benchmark.png", 1, affines, functions, true, 2.2)
+                .withSampling(samples, budget == Budget.FIXED_CHAIN ? ITERATIONS_PER_SAMPLE : samples);
+    }
+
+    @Benchmark
+    public FractalImage render() {
+        return renderer.render(config);
+    }
+}
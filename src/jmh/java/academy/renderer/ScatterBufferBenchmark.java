@@ -0,0 +1,61 @@
+package academy.renderer;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.RenderOptions;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scatter buffer size on a 4K histogram, where direct plotting misses the cache on almost every hit. Size 0 is the
+ * direct path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ScatterBufferBenchmark {
+    private static final int SAMPLES = 2000;
+
+    @Param({"0", "1024", "16384", "65536", "262144"})
+    private int bufferSize;
+
+    private final Renderer renderer = new SingleThreadRenderer();
+    private FractalConfig config;
+
+    @Setup
+    public void setUp() {
+        List<AffineTransformation> affines = List.of(
+                new AffineTransformation(0.5, 0.0, 0.0, 0.0, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.0, 0.5, 0.0, 0.5, 0.5, 0, 255, 0),
+                new AffineTransformation(0.0, 0.5, 0.0, -0.5, 0.0, 0.5, 0, 0, 255));
+        // Spherical spreads points over the whole image, the worst case for the cache
+        List<WeightedFunction> functions = List.of(
+                new WeightedFunction(TransformationType.SPHERICAL, 1.0),
+                new WeightedFunction(TransformationType.SINUSOIDAL, 0.5));
+        config = new FractalConfig(3840, 2160, 123489L, SAMPLES, "benchmark.png", 1, affines, functions, true, 2.2)
+                .withRenderOptions(
+                        RenderOptions.builder().scatterBufferSize(bufferSize).build());
+    }
+
+    @Benchmark
+    public FractalImage render() {
+        return renderer.render(config);
+    }
+}
@@ -0,0 +1,83 @@
+package academy.renderer;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.HistogramMode;
+import academy.model.RenderOptions;
+import academy.model.RendererType;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tile-owned histogram against the shared histogram guarded by monitors, on four threads. The 4K and 8K sizes need
+ * several gigabytes of heap, e.g. {@code -Djmh.args="TiledRendererBenchmark -p size=3840x2160,7680x4320 -jvmArgsAppend
+ * -Xmx8g"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TiledRendererBenchmark {
+    private static final int THREADS = 4;
+
+    @Param({"1280x720"})
+    private String size;
+
+    @Param({"THREAD_POOL", "TILED"})
+    private RendererType rendererType;
+
+    private FractalConfig config;
+    private Renderer renderer;
+
+    @Setup
+    public void setUp() {
+        String[] dimensions = size.split("x");
+        int width = Integer.parseInt(dimensions[0]);
+        List<AffineTransformation> affines = List.of(
+                new AffineTransformation(0.5, 0.0, 0.0, 0.0, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.0, 0.5, 0.0, 0.5, 0.5, 0, 255, 0),
+                new AffineTransformation(0.0, 0.5, 0.0, -0.5, 0.0, 0.5, 0, 0, 255));
+        List<WeightedFunction> functions = List.of(
+                new WeightedFunction(TransformationType.SINUSOIDAL, 1.0),
+                new WeightedFunction(TransformationType.SPHERICAL, 0.8),
+                new WeightedFunction(TransformationType.SWIRL, 0.6));
+        config = new FractalConfig(
+                        width,
+                        Integer.parseInt(dimensions[1]),
+                        123489L,
+                        width < 3840 ? 1000 : 2000,
+                        "benchmark.png",
+                        THREADS,
+                        affines,
+                        functions,
+                        true,
+                        2.2)
+                .withRenderOptions(RenderOptions.builder()
+                        .renderer(rendererType)
+                        .histogramMode(
+                                rendererType == RendererType.TILED ? HistogramMode.PRIVATE : HistogramMode.SHARED)
+                        .build());
+        renderer = RendererFactory.create(config);
+    }
+
+    @Benchmark
+    public FractalImage render() {
+        return renderer.render(config);
+    }
+}
@@ -0,0 +1,66 @@
+package academy.renderer;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.KernelType;
+import academy.model.RenderOptions;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Virtual variation calls of the scalar kernel against the switch of the monomorphic kernel, for configs mixing 2, 5
+ * and 10 variations. Every combination runs in its own fork, so the call site only sees the variations of its config.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class VariationDispatchBenchmark {
+    private static final int SAMPLES = 1_500;
+
+    @Param({"2", "5", "10"})
+    private int variations;
+
+    @Param({"SCALAR", "MONOMORPHIC"})
+    private KernelType kernelType;
+
+    private final Renderer renderer = new SingleThreadRenderer();
+    private FractalConfig config;
+
+    @Setup
+    public void setUp() {
+        List<AffineTransformation> affines = List.of(
+                new AffineTransformation(0.5, 0.2, 0.1, -0.3, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.1, 0.5, 0.4, 0.5, 0.5, 0, 255, 0),
+                new AffineTransformation(0.3, -0.6, -0.2, 0.2, 0.7, -0.4, 0, 0, 255));
+        List<WeightedFunction> functions = Arrays.stream(TransformationType.values())
+                .filter(type -> type != TransformationType.CUSTOM)
+                .limit(variations)
+                .map(type -> new WeightedFunction(type, 1.0))
+                .toList();
+        config = new FractalConfig(640, 480, 123489L, SAMPLES, "benchmark.png", 1, affines, functions, true, 2.2)
+                .withRenderOptions(RenderOptions.builder().kernel(kernelType).build());
+    }
+
+    @Benchmark
+    public FractalImage render() {
+        return renderer.render(config);
+    }
+}
@@ -0,0 +1,64 @@
+package academy.renderer;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.RenderOptions;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Persistent walkers against a fresh chain per sample at the same number of plotted points. The shorter the chains, the
+ * larger the share of iterations a restart spends on its warm-up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WalkerBenchmark {
+    private static final long POINTS = 2_000_000L;
+
+    @Param({"10", "100", "1000"})
+    private int iterationsPerSample;
+
+    @Param({"0", "16"})
+    private int walkers;
+
+    private final Renderer renderer = new SingleThreadRenderer();
+    private FractalConfig config;
+
+    @Setup
+    public void setUp() {
+        List<AffineTransformation> affines = List.of(
+                new AffineTransformation(0.5, 0.0, 0.0, 0.0, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.0, 0.5, 0.0, 0.5, 0.5, 0, 255, 0),
+                new AffineTransformation(0.0, 0.5, 0.0, -0.5, 0.0, 0.5, 0, 0, 255));
+        List<WeightedFunction> functions = List.of(
+                new WeightedFunction(TransformationType.LINEAR, 1.0),
+                new WeightedFunction(TransformationType.SINUSOIDAL, 0.5));
+        int samples = (int) (POINTS / iterationsPerSample);
+        config = new FractalConfig(640, 480, 123489L, samples, "benchmark.png", 1, affines, functions, true, 2.2)
+                .withSampling(samples, iterationsPerSample)
+                .withRenderOptions(RenderOptions.builder().walkers(walkers).build());
+    }
+
+    @Benchmark
+    public FractalImage render() {
+        return renderer.render(config);
+    }
+}
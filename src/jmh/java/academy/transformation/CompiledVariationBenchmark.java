@@ -0,0 +1,72 @@
+package academy.transformation;
+
+import academy.model.CustomVariation;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Variations compiled from expressions against the handwritten classes they reproduce, on the in-place form. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CompiledVariationBenchmark {
+    private static final int POINTS = 1024;
+
+    @Param({"SWIRL", "DISC"})
+    private String variation;
+
+    private Transform handwritten;
+    private Transform compiled;
+    private final double[] xs = new double[POINTS];
+    private final double[] ys = new double[POINTS];
+    private final double[] coordinates = new double[2];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        if ("SWIRL".equals(variation)) {
+            handwritten = new Swirl();
+            compiled =
+                    ExpressionCompiler.compile(new CustomVariation("x*sin(r2) - y*cos(r2)", "x*cos(r2) + y*sin(r2)"));
+        } else {
+            handwritten = new Disc();
+            compiled = ExpressionCompiler.compile(new CustomVariation("theta/pi * sin(pi*r)", "theta/pi * cos(pi*r)"));
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < POINTS; i++) {
+            xs[i] = random.nextDouble(-1.5, 1.5);
+            ys[i] = random.nextDouble(-1.5, 1.5);
+        }
+    }
+
+    @Benchmark
+    public double[] handwritten() {
+        return apply(handwritten);
+    }
+
+    @Benchmark
+    public double[] compiled() {
+        return apply(compiled);
+    }
+
+    private double[] apply(Transform transform) {
+        int index = next++ & (POINTS - 1);
+        coordinates[0] = xs[index];
+        coordinates[1] = ys[index];
+        transform.apply(coordinates);
+        return coordinates;
+    }
+}
@@ -0,0 +1,84 @@
+package academy.transformation;
+
+import academy.model.CustomVariation;
+import academy.model.Point;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Every variation on a fixed set of points in the range the chaos game visits, through the allocating
+ * {@link Transform#apply(Point)} of the classic kernel and the in-place form of the other kernels.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TransformBenchmark {
+    private static final int POINTS = 1024;
+
+    @Param({
+        "LINEAR",
+        "SINUSOIDAL",
+        "SPHERICAL",
+        "SWIRL",
+        "HORSESHOE",
+        "POLAR",
+        "DISC",
+        "HEART",
+        "SPIRAL",
+        "HYPERBOLIC",
+        "CUSTOM"
+    })
+    private TransformationType type;
+
+    private Transform transform;
+    private final Point[] points = new Point[POINTS];
+    private final double[] coordinates = new double[2];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        transform = TransformFactory.create(
+                type == TransformationType.CUSTOM
+                        ? WeightedFunction.custom(new CustomVariation("x * cos(r) - y / 2", "sin(theta) * r2"), 1.0)
+                        : new WeightedFunction(type, 1.0));
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < POINTS; i++) {
+            points[i] = new Point(random.nextDouble(-1.5, 1.5), random.nextDouble(-1.5, 1.5));
+        }
+    }
+
+    @Benchmark
+    public Point applyPoint() {
+        return transform.apply(nextPoint());
+    }
+
+    @Benchmark
+    public double[] applyInPlace() {
+        Point point = nextPoint();
+        coordinates[0] = point.x();
+        coordinates[1] = point.y();
+        transform.apply(coordinates);
+        return coordinates;
+    }
+
+    private Point nextPoint() {
+        next = (next + 1) & (POINTS - 1);
+        return points[next];
+    }
+}
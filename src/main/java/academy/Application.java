@@ -1,22 +1,41 @@
 package academy;
 
 import academy.config.ConfigLoader;
+import academy.config.JsonConfig;
+import academy.model.Animation;
 import academy.model.FractalConfig;
 import academy.model.FractalImage;
+import academy.model.Shard;
 import academy.processor.ImageProcessor;
-import academy.renderer.MultiThreadRenderer;
-import academy.renderer.Renderer;
-import academy.renderer.SingleThreadRenderer;
+import academy.renderer.AbstractRenderer;
+import academy.renderer.AnimationRenderer;
+import academy.renderer.Checkpoint;
+import academy.renderer.RendererFactory;
+import academy.renderer.SnapshotListener;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 
-@Command(name = "fractal-flame", version = "1.0", mixinStandardHelpOptions = true)
+@Command(
+        name = "fractal-flame",
+        version = "1.0",
+        mixinStandardHelpOptions = true,
+        subcommands = {MergeCommand.class, ServeCommand.class})
 public class Application implements Runnable {
     private static final Logger LOGGER = LoggerFactory.getLogger(Application.class);
+    // Checkpoint interval when no snapshot interval is given
+    private static final long DEFAULT_CHECKPOINT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final int DEFAULT_FRAMES = 60;
 
     @Option(
             names = {"-w", "--width"},
@@ -30,14 +49,25 @@ public class Application implements Runnable {
 
     @Option(
             names = {"--seed"},
-            description = "Random generator seed")
+            description = "Random generator seed, the image for a seed differs from versions before splitmix became"
+                    + " the default, use --random legacy to reproduce it")
     private Long seed;
 
     @Option(
             names = {"-i", "--iteration-count"},
-            description = "Number of iterations")
+            description = "Number of samples and of iterations per sample unless those are given")
     private Integer iterationCount;
 
+    @Option(
+            names = {"--samples"},
+            description = "Number of samples, chaos game chains from their own random start (default: iteration count)")
+    private Integer samples;
+
+    @Option(
+            names = {"--iterations-per-sample"},
+            description = "Points plotted by every sample (default: iteration count)")
+    private Integer iterationsPerSample;
+
     @Option(
             names = {"-o", "--output-path"},
             description = "Output PNG file path")
@@ -73,6 +103,114 @@ public class Application implements Runnable {
             description = "Gamma value for correction (default: 2.2)")
     private Double gamma;
 
+    @Option(
+            names = {"--renderer"},
+            description = "Multi-threaded renderer: thread-pool, fork-join or tiled (default: thread-pool)")
+    private String renderer;
+
+    @Option(
+            names = {"--kernel"},
+            description = "Iteration kernel: classic, scalar, monomorphic or vector (default: scalar)")
+    private String kernel;
+
+    @Option(
+            names = {"--random"},
+            description = "Random generator: splitmix or legacy (java.util.Random, the default of earlier versions)"
+                    + " (default: splitmix)")
+    private String random;
+
+    @Option(
+            names = {"--histogram-mode"},
+            description = "Histogram used by threads: shared, atomic or private (default: private)")
+    private String histogramMode;
+
+    @Option(
+            names = {"--histogram-storage"},
+            description = "Where histograms live: heap, off-heap or mapped (temporary file) (default: heap)")
+    private String histogramStorage;
+
+    @Option(
+            names = {"--memory-budget"},
+            description = "Memory for private histograms in MB (default: half of the heap)")
+    private Long memoryBudgetMb;
+
+    @Option(
+            names = {"--scatter-buffer"},
+            description = "Hits sorted by histogram block before plotting, 0 plots directly (default: 0)")
+    private Integer scatterBuffer;
+
+    @Option(
+            names = {"--snapshot-samples"},
+            description = "Write an intermediate PNG every this many samples, 0 disables (default: 0)")
+    private Integer snapshotSamples;
+
+    @Option(
+            names = {"--snapshot-millis"},
+            description = "Write an intermediate PNG every this many milliseconds, 0 disables (default: 0)")
+    private Long snapshotMillis;
+
+    @Option(
+            names = {"--walkers"},
+            description = "Chains every thread continues across samples, 0 starts a fresh one per sample (default: 0)")
+    private Integer walkers;
+
+    @Option(
+            names = {"--supersample"},
+            description = "Render on a grid this many times finer per axis and scale down on output (default: 1)")
+    private Integer supersample;
+
+    @Option(
+            names = {"--downsample-filter"},
+            description = "Filter that scales a supersampled image down: box or gaussian (default: box)")
+    private String downsampleFilter;
+
+    @Option(
+            names = {"--de-max-radius"},
+            description = "Density estimation kernel radius of single hit pixels, 0 disables (default: 0)")
+    private Double deMaxRadius;
+
+    @Option(
+            names = {"--de-min-radius"},
+            description = "Smallest density estimation kernel radius (default: 0)")
+    private Double deMinRadius;
+
+    @Option(
+            names = {"--de-curve"},
+            description = "How fast the density estimation kernel narrows with the hit count (default: 0.4)")
+    private Double deCurve;
+
+    @Option(
+            names = {"--convergence-threshold"},
+            description =
+                    "Stop once the image changes less than this between checks, 0 renders every sample (default: 0)")
+    private Double convergenceThreshold;
+
+    @Option(
+            names = {"--checkpoint"},
+            description = "Checkpoint file written at every snapshot, or every minute without a snapshot interval")
+    private String checkpointPath;
+
+    @Option(
+            names = {"--resume"},
+            description = "Continue from the checkpoint file if it exists")
+    private boolean resume;
+
+    @Option(
+            names = {"--shard"},
+            description = "Render only part i of N of the samples and write the raw histogram to the output path")
+    private String shard;
+
+    @Option(
+            names = {"--keyframes"},
+            split = ",",
+            description = "Config files of animation keyframes, renders a numbered PNG sequence instead of one image")
+    private List<String> keyframes;
+
+    @Option(
+            names = {"--frames"},
+            description = "Number of animation frames, keyframes included (default: 60)")
+    private Integer frames;
+
     public static void main(String[] args) {
         int exitCode = new CommandLine(new Application()).execute(args);
         System.exit(exitCode);
@@ -81,35 +219,71 @@ public class Application implements Runnable {
     @Override
     public void run() {
         try {
-            FractalConfig config = ConfigLoader.load(
-                    configPath,
-                    width,
-                    height,
-                    seed,
-                    iterationCount,
-                    outputPath,
-                    threads,
-                    affineParams,
-                    functions,
-                    gammaCorrection,
-                    gamma);
+            JsonConfig.RenderConfig render = renderConfig();
+
+            if (keyframes != null) {
+                renderAnimation(render);
+                return;
+            }
+            FractalConfig config = loadConfig(configPath, render);
+            if (shard != null) {
+                config = config.withRenderOptions(config.renderOptions().toBuilder()
+                        .shard(Shard.fromString(shard))
+                        .build());
+            }
 
             LOGGER.atInfo()
                     .addKeyValue("width", config.width())
                     .addKeyValue("height", config.height())
                     .addKeyValue("seed", config.seed())
-                    .addKeyValue("iterations", config.iterationCount())
+                    .addKeyValue("samples", config.samples())
+                    .addKeyValue("iterationsPerSample", config.iterationsPerSample())
                     .addKeyValue("threads", config.threads())
+                    .addKeyValue("shard", config.renderOptions().shard())
                     .addKeyValue("output", config.outputPath())
                     .log("Starting fractal flame generation");
 
-            // Render fractal
-            Renderer renderer = config.threads() > 1 ? new MultiThreadRenderer() : new SingleThreadRenderer();
-            FractalImage image = renderer.render(config);
-
-            // Save to file
+            if (resume && checkpointPath == null) {
+                throw new IllegalArgumentException("--resume needs a --checkpoint file");
+            }
+            Path checkpoint = checkpointPath != null ? Path.of(checkpointPath) : null;
+            if (checkpoint != null) {
+                Checkpoint.requireExactSnapshots(config);
+            }
             ImageProcessor processor = new ImageProcessor();
-            processor.save(image, Path.of(config.outputPath()), config.gammaCorrection(), config.gamma());
+            Path output = Path.of(config.outputPath());
+            // Snapshot images are written only at the interval asked for, checkpoints use the same epochs
+            SnapshotListener images = snapshotWriter(processor, output, config);
+            if (checkpoint != null && !config.renderOptions().progressive()) {
+                config = config.withRenderOptions(config.renderOptions().toBuilder()
+                        .snapshotMillis(DEFAULT_CHECKPOINT_MILLIS)
+                        .build());
+            }
+            Checkpoint start = resume ? readCheckpoint(checkpoint, config) : null;
+
+            // Render fractal, intermediate images and checkpoints are written while it runs
+            try (FractalImage image = RendererFactory.create(config)
+                    .render(config, start, combine(images, checkpointWriter(checkpoint, config)))) {
+                if (start != null) {
+                    start.histogram().close();
+                }
+                if (config.renderOptions().shard().isAll()) {
+                    // Save to file
+                    processor.save(image, output, config);
+                } else {
+                    // Raw histogram for the merge command, in the checkpoint format
+                    new Checkpoint(Checkpoint.fingerprint(config), image, AbstractRenderer.shardSamples(config))
+                            .write(output);
+                    LOGGER.info(
+                            "Shard {} histogram written to {}",
+                            config.renderOptions().shard(),
+                            output);
+                }
+            }
+            if (checkpoint != null) {
+                // The render is complete, nothing is left to resume
+                Files.deleteIfExists(checkpoint);
+            }
 
             LOGGER.atInfo().log("Fractal generation completed successfully");
         } catch (Exception e) {
@@ -117,4 +291,157 @@ public class Application implements Runnable {
             System.exit(1);
         }
     }
+
+    // Render section given on the command line, it takes priority over the config file
+    private JsonConfig.RenderConfig renderConfig() {
+        JsonConfig.RenderConfig render = new JsonConfig.RenderConfig();
+        render.renderer = renderer;
+        render.kernel = kernel;
+        render.random = random;
+        render.histogramMode = histogramMode;
+        render.histogramStorage = histogramStorage;
+        render.memoryBudgetMb = memoryBudgetMb;
+        render.scatterBuffer = scatterBuffer;
+        render.snapshotSamples = snapshotSamples;
+        render.snapshotMillis = snapshotMillis;
+        render.walkers = walkers;
+        render.supersample = supersample;
+        render.downsampleFilter = downsampleFilter;
+        render.deMaxRadius = deMaxRadius;
+        render.deMinRadius = deMinRadius;
+        render.deCurve = deCurve;
+        render.convergenceThreshold = convergenceThreshold;
+        return render;
+    }
+
+    // Config of the --config file and the command line options
+    FractalConfig loadConfig() {
+        return loadConfig(configPath, renderConfig());
+    }
+
+    private FractalConfig loadConfig(String path, JsonConfig.RenderConfig render) {
+        return ConfigLoader.load(
+                path,
+                width,
+                height,
+                seed,
+                iterationCount,
+                samples,
+                iterationsPerSample,
+                outputPath,
+                threads,
+                affineParams,
+                functions,
+                gammaCorrection,
+                gamma,
+                render);
+    }
+
+    // Every keyframe is a config file with the same command line overrides, settings other than the transformations
+    // come from the first one
+    private void renderAnimation(JsonConfig.RenderConfig render) throws IOException {
+        if (checkpointPath != null) {
+            throw new IllegalArgumentException("Animations cannot be checkpointed");
+        }
+        List<FractalConfig> configs = new ArrayList<>();
+        for (String keyframe : keyframes) {
+            configs.add(loadConfig(keyframe, render));
+        }
+        Animation animation = new Animation(configs, frames != null ? frames : DEFAULT_FRAMES);
+        FractalConfig first = configs.getFirst();
+        LOGGER.atInfo()
+                .addKeyValue("width", first.width())
+                .addKeyValue("height", first.height())
+                .addKeyValue("keyframes", configs.size())
+                .addKeyValue("frames", animation.frames())
+                .addKeyValue("threads", first.threads())
+                .addKeyValue("output", first.outputPath())
+                .log("Starting fractal flame animation");
+
+        ImageProcessor processor = new ImageProcessor();
+        Path output = Path.of(first.outputPath());
+        new AnimationRenderer()
+                .render(
+                        animation,
+                        (index, config, histogram) ->
+                                processor.save(histogram, ImageProcessor.framePath(output, index), config));
+        LOGGER.atInfo().log("Fractal animation completed successfully");
+    }
+
+    private static SnapshotListener snapshotWriter(ImageProcessor processor, Path output, FractalConfig config) {
+        if (!config.renderOptions().progressive()) {
+            return SnapshotListener.NONE;
+        }
+        AtomicInteger written = new AtomicInteger(0);
+        return snapshot -> {
+            Path path = ImageProcessor.snapshotPath(output, written.incrementAndGet());
+            LOGGER.info("Snapshot after {} of {} samples", snapshot.completed().count(), config.samples());
+            try {
+                processor.save(snapshot.image(), path, config);
+            } catch (IOException e) {
+                // A lost preview must not stop the render
+                LOGGER.atWarn().setCause(e).log("Failed to write snapshot {}", path);
+            }
+        };
+    }
+
+    private static SnapshotListener checkpointWriter(Path checkpoint, FractalConfig config) {
+        if (checkpoint == null) {
+            return SnapshotListener.NONE;
+        }
+        long fingerprint = Checkpoint.fingerprint(config);
+        AtomicBoolean warned = new AtomicBoolean(false);
+        // Runs on the snapshot thread, so render threads keep plotting while the file is written
+        return snapshot -> {
+            if (!snapshot.exact()) {
+                if (warned.compareAndSet(false, true)) {
+                    LOGGER.warn("Checkpoints need private histograms, {} is not checkpointed", checkpoint);
+                }
+                return;
+            }
+            try {
+                new Checkpoint(fingerprint, snapshot.image(), snapshot.completed()).write(checkpoint);
+                LOGGER.info(
+                        "Checkpoint of {} samples written to {}",
+                        snapshot.completed().count(),
+                        checkpoint);
+            } catch (IOException e) {
+                // The previous checkpoint is still intact, the next one may succeed
+                LOGGER.atWarn().setCause(e).log("Failed to write checkpoint {}", checkpoint);
+            }
+        };
+    }
+
+    private static Checkpoint readCheckpoint(Path checkpoint, FractalConfig config) throws IOException {
+        if (!Files.exists(checkpoint)) {
+            LOGGER.info("No checkpoint at {}, starting from scratch", checkpoint);
+            return null;
+        }
+        Checkpoint start = Checkpoint.read(checkpoint, config.renderOptions().histogramStorage());
+        try {
+            start.verify(config);
+        } catch (IllegalArgumentException e) {
+            start.histogram().close();
+            throw e;
+        }
+        LOGGER.info(
+                "Resuming from {} with {} of {} samples done",
+                checkpoint,
+                start.completed().count(),
+                config.samples());
+        return start;
+    }
+
+    private static SnapshotListener combine(SnapshotListener first, SnapshotListener second) {
+        if (first == SnapshotListener.NONE) {
+            return second;
+        }
+        if (second == SnapshotListener.NONE) {
+            return first;
+        }
+        return snapshot -> {
+            first.onSnapshot(snapshot);
+            second.onSnapshot(snapshot);
+        };
+    }
 }
@@ -0,0 +1,46 @@
+package academy;
+
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.processor.ImageProcessor;
+import academy.renderer.ShardMerger;
+import java.nio.file.Path;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Parameters;
+import picocli.CommandLine.ParentCommand;
+
+/**
+ * Merges the histograms of a render split with --shard and saves the image. The config comes from the options given
+ * before the command, which must describe the same render as the shards: fractal-flame --config c.json -o out.png merge
+ * part-1.bin part-2.bin.
+ */
+@Command(
+        name = "merge",
+        mixinStandardHelpOptions = true,
+        description = "Merges shard histograms written with --shard into one image")
+public class MergeCommand implements Runnable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MergeCommand.class);
+
+    @ParentCommand
+    private Application application;
+
+    @Parameters(arity = "1..*", description = "Shard histogram files")
+    private List<Path> shards;
+
+    @Override
+    public void run() {
+        try {
+            FractalConfig config = application.loadConfig();
+            try (FractalImage image = ShardMerger.merge(config, shards)) {
+                new ImageProcessor().save(image, Path.of(config.outputPath()), config);
+            }
+            LOGGER.atInfo().log("Shards merged successfully");
+        } catch (Exception e) {
+            LOGGER.atError().setCause(e).log("Failed to merge shards: {}", e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package academy;
+
+import academy.service.RenderServer;
+import academy.service.RenderService;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.CountDownLatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/** Runs the render service until the process is stopped: fractal-flame serve --port 8080. */
+@Command(
+        name = "serve",
+        mixinStandardHelpOptions = true,
+        description = "Renders configs posted over HTTP on a shared worker pool and caches the images")
+public class ServeCommand implements Runnable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServeCommand.class);
+    private static final long BYTES_IN_MB = 1024 * 1024;
+
+    @Option(
+            names = {"--bind"},
+            description = "Address to listen on, 0.0.0.0 for all interfaces (default: loopback)")
+    private String bind;
+
+    @Option(
+            names = {"--port"},
+            description = "HTTP port (default: 8080)")
+    private int port = 8080;
+
+    @Option(
+            names = {"--workers"},
+            description = "Render threads shared by all jobs (default: number of processors)")
+    private int workers = Runtime.getRuntime().availableProcessors();
+
+    @Option(
+            names = {"--memory-budget"},
+            description = "Memory for the histograms of running jobs in MB (default: half of the heap)")
+    private long memoryBudgetMb = Runtime.getRuntime().maxMemory() / 2 / BYTES_IN_MB;
+
+    @Option(
+            names = {"--cache-size"},
+            description = "Memory for cached PNG images in MB (default: 256)")
+    private long cacheSizeMb = 256;
+
+    @Override
+    public void run() {
+        try {
+            RenderService service = new RenderService(workers, memoryBudgetMb * BYTES_IN_MB, cacheSizeMb * BYTES_IN_MB);
+            RenderServer server = new RenderServer(service, address(), port);
+            CountDownLatch stopped = new CountDownLatch(1);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.close();
+                service.close();
+                stopped.countDown();
+            }));
+            server.start();
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOGGER.atError().setCause(e).log("Failed to run the render service: {}", e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Without --bind the service is reachable only from this machine
+    private InetAddress address() throws UnknownHostException {
+        return bind == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName(bind);
+    }
+}
@@ -9,7 +9,7 @@ import java.util.List;
 import java.util.Random;
 
 public class CliParser {
-    // parse affine params in format: a,b,c,d,e,f/a,b,c,d,e,f/
+    // parse affine params in format: a,b,c,d,e,f[,weight]/a,b,c,d,e,f[,weight]/
     @SuppressFBWarnings(
             value = "DMI_RANDOM_USED_ONLY_ONCE",
             justification = "Random is intentionally used for generating different colors for each transformation")
@@ -24,9 +24,9 @@ public class CliParser {
         for (int i = 0; i < transformations.length; i++) {
             String transformation = transformations[i];
             String[] coeffs = transformation.split(",");
-            if (coeffs.length != 6) {
+            if (coeffs.length != 6 && coeffs.length != 7) {
                 throw new IllegalArgumentException(
-                        "Affine transformation must have 6 coefficients, got: " + coeffs.length);
+                        "Affine transformation must have 6 coefficients and an optional weight, got: " + coeffs.length);
             }
 
             try {
@@ -36,6 +36,7 @@ public class CliParser {
                 double d = Double.parseDouble(coeffs[3].trim());
                 double e = Double.parseDouble(coeffs[4].trim());
                 double f = Double.parseDouble(coeffs[5].trim());
+                double weight = coeffs.length == 7 ? Double.parseDouble(coeffs[6].trim()) : 1.0;
 
                 // Use deterministic color based on seed and index
                 Random colorRandom = new Random(seed + i);
@@ -43,7 +44,7 @@ public class CliParser {
                 int green = colorRandom.nextInt(256);
                 int blue = colorRandom.nextInt(256);
 
-                result.add(new AffineTransformation(a, b, c, d, e, f, red, green, blue));
+                result.add(new AffineTransformation(a, b, c, d, e, f, red, green, blue, weight));
             } catch (NumberFormatException ex) {
                 throw new IllegalArgumentException("Invalid affine coefficient: " + ex.getMessage());
             }
@@ -1,9 +1,19 @@
 package academy.config;
 
 import academy.model.AffineTransformation;
+import academy.model.CustomVariation;
+import academy.model.DensityEstimation;
+import academy.model.DownsampleFilter;
 import academy.model.FractalConfig;
+import academy.model.HistogramMode;
+import academy.model.HistogramStorage;
+import academy.model.KernelType;
+import academy.model.RandomType;
+import academy.model.RenderOptions;
+import academy.model.RendererType;
 import academy.model.TransformationType;
 import academy.model.WeightedFunction;
+import academy.transformation.ExpressionCompiler;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
@@ -15,6 +25,7 @@ import java.util.Random;
 
 public class ConfigLoader {
     private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long BYTES_IN_MB = 1024 * 1024;
 
     public static FractalConfig load(
             String configPath,
@@ -28,19 +39,144 @@ public class ConfigLoader {
             String functions,
             Boolean gammaCorrection,
             Double gamma) {
+        return load(
+                configPath,
+                width,
+                height,
+                seed,
+                iterationCount,
+                outputPath,
+                threads,
+                affineParams,
+                functions,
+                gammaCorrection,
+                gamma,
+                new JsonConfig.RenderConfig());
+    }
+
+    // Render settings from CLI come in the same shape as the "render" block of the JSON config
+    public static FractalConfig load(
+            String configPath,
+            Integer width,
+            Integer height,
+            Long seed,
+            Integer iterationCount,
+            String outputPath,
+            Integer threads,
+            String affineParams,
+            String functions,
+            Boolean gammaCorrection,
+            Double gamma,
+            JsonConfig.RenderConfig render) {
+        return load(
+                configPath,
+                width,
+                height,
+                seed,
+                iterationCount,
+                null,
+                null,
+                outputPath,
+                threads,
+                affineParams,
+                functions,
+                gammaCorrection,
+                gamma,
+                render);
+    }
+
+    // The iteration count stands for both the sample count and the iterations per sample unless they are given
+    public static FractalConfig load(
+            String configPath,
+            Integer width,
+            Integer height,
+            Long seed,
+            Integer iterationCount,
+            Integer samples,
+            Integer iterationsPerSample,
+            String outputPath,
+            Integer threads,
+            String affineParams,
+            String functions,
+            Boolean gammaCorrection,
+            Double gamma,
+            JsonConfig.RenderConfig render) {
 
         JsonConfig jsonConfig = null;
         if (configPath != null && !configPath.isBlank()) {
             jsonConfig = loadJsonConfig(configPath);
         }
+        return load(
+                jsonConfig,
+                width,
+                height,
+                seed,
+                iterationCount,
+                samples,
+                iterationsPerSample,
+                outputPath,
+                threads,
+                affineParams,
+                functions,
+                gammaCorrection,
+                gamma,
+                render);
+    }
+
+    // Config given as JSON text in the schema of the config file, with no command line overrides
+    public static FractalConfig fromJson(String json) {
+        JsonConfig jsonConfig;
+        try {
+            jsonConfig = MAPPER.readValue(json, JsonConfig.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid JSON config: " + e.getMessage(), e);
+        }
+        return load(
+                jsonConfig,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                new JsonConfig.RenderConfig());
+    }
 
+    private static FractalConfig load(
+            JsonConfig jsonConfig,
+            Integer width,
+            Integer height,
+            Long seed,
+            Integer iterationCount,
+            Integer samples,
+            Integer iterationsPerSample,
+            String outputPath,
+            Integer threads,
+            String affineParams,
+            String functions,
+            Boolean gammaCorrection,
+            Double gamma,
+            JsonConfig.RenderConfig render) {
         int finalWidth =
                 selectValue(width, jsonConfig != null && jsonConfig.size != null ? jsonConfig.size.width : null, 1920);
         int finalHeight = selectValue(
                 height, jsonConfig != null && jsonConfig.size != null ? jsonConfig.size.height : null, 1080);
         long finalSeed = selectValue(seed, jsonConfig != null ? jsonConfig.seed : null, 5L);
-        int finalIterationCount =
-                selectValue(iterationCount, jsonConfig != null ? jsonConfig.iterationCount : null, 2500);
+        // Priority: CLI > JSON > defaults, at each level a separate value comes before the iteration count
+        int finalSamples = selectValue(
+                orElse(samples, iterationCount),
+                jsonConfig != null ? orElse(jsonConfig.samples, jsonConfig.iterationCount) : null,
+                2500);
+        int finalIterationsPerSample = selectValue(
+                orElse(iterationsPerSample, iterationCount),
+                jsonConfig != null ? orElse(jsonConfig.iterationsPerSample, jsonConfig.iterationCount) : null,
+                2500);
         String finalOutputPath =
                 selectValue(outputPath, jsonConfig != null ? jsonConfig.outputPath : null, "result.png");
         int finalThreads = selectValue(threads, jsonConfig != null ? jsonConfig.threads : null, 1);
@@ -68,17 +204,36 @@ public class ConfigLoader {
             weightedFunctions = CliParser.parseFunctions(null);
         }
 
+        RenderOptions renderOptions = convertRenderOptions(render, jsonConfig != null ? jsonConfig.render : null);
+        JsonConfig.RenderConfig cliRender = render != null ? render : new JsonConfig.RenderConfig();
+        JsonConfig.RenderConfig jsonRender =
+                jsonConfig != null && jsonConfig.render != null ? jsonConfig.render : new JsonConfig.RenderConfig();
+        int supersample = selectValue(cliRender.supersample, jsonRender.supersample, 1);
+        DownsampleFilter downsampleFilter = DownsampleFilter.fromString(
+                selectValue(cliRender.downsampleFilter, jsonRender.downsampleFilter, "box"));
+        DensityEstimation densityEstimation = new DensityEstimation(
+                selectValue(cliRender.deMaxRadius, jsonRender.deMaxRadius, DensityEstimation.NONE.maxRadius()),
+                selectValue(cliRender.deMinRadius, jsonRender.deMinRadius, DensityEstimation.NONE.minRadius()),
+                selectValue(cliRender.deCurve, jsonRender.deCurve, DensityEstimation.NONE.curve()));
+        double convergenceThreshold = selectValue(cliRender.convergenceThreshold, jsonRender.convergenceThreshold, 0.0);
+
         return new FractalConfig(
                 finalWidth,
                 finalHeight,
                 finalSeed,
-                finalIterationCount,
+                finalSamples,
+                finalIterationsPerSample,
                 finalOutputPath,
                 finalThreads,
                 affineTransformations,
                 weightedFunctions,
                 finalGammaCorrection,
-                finalGamma);
+                finalGamma,
+                supersample,
+                downsampleFilter,
+                densityEstimation,
+                convergenceThreshold,
+                renderOptions);
     }
 
     private static JsonConfig loadJsonConfig(String path) {
@@ -115,7 +270,8 @@ public class ConfigLoader {
                     config.f != null ? config.f : 0.0,
                     red,
                     green,
-                    blue));
+                    blue,
+                    config.weight != null ? config.weight : 1.0));
         }
 
         return result;
@@ -125,14 +281,72 @@ public class ConfigLoader {
         List<WeightedFunction> result = new ArrayList<>();
 
         for (JsonConfig.FunctionConfig config : functionConfigs) {
-            TransformationType type = TransformationType.fromString(config.name);
             double weight = config.weight != null ? config.weight : 1.0;
-            result.add(new WeightedFunction(type, weight));
+            if (config.x == null && config.y == null) {
+                result.add(new WeightedFunction(TransformationType.fromString(config.name), weight));
+                continue;
+            }
+            if (config.name != null && TransformationType.fromString(config.name) != TransformationType.CUSTOM) {
+                throw new IllegalArgumentException("Only custom functions take expressions, got: " + config.name);
+            }
+            CustomVariation custom = new CustomVariation(config.x, config.y);
+            // Compiled right away, so a broken expression fails the config and not the render
+            ExpressionCompiler.compile(custom);
+            result.add(WeightedFunction.custom(custom, weight));
         }
 
         return result;
     }
 
+    private static RenderOptions convertRenderOptions(JsonConfig.RenderConfig cli, JsonConfig.RenderConfig json) {
+        JsonConfig.RenderConfig cliRender = cli != null ? cli : new JsonConfig.RenderConfig();
+        JsonConfig.RenderConfig jsonRender = json != null ? json : new JsonConfig.RenderConfig();
+        RenderOptions.Builder builder = RenderOptions.builder();
+
+        String renderer = selectValue(cliRender.renderer, jsonRender.renderer, null);
+        if (renderer != null) {
+            builder.renderer(RendererType.fromString(renderer));
+        }
+        String kernel = selectValue(cliRender.kernel, jsonRender.kernel, null);
+        if (kernel != null) {
+            builder.kernel(KernelType.fromString(kernel));
+        }
+        String random = selectValue(cliRender.random, jsonRender.random, null);
+        if (random != null) {
+            builder.random(RandomType.fromString(random));
+        }
+        String histogramMode = selectValue(cliRender.histogramMode, jsonRender.histogramMode, null);
+        if (histogramMode != null) {
+            builder.histogramMode(HistogramMode.fromString(histogramMode));
+        }
+        String histogramStorage = selectValue(cliRender.histogramStorage, jsonRender.histogramStorage, null);
+        if (histogramStorage != null) {
+            builder.histogramStorage(HistogramStorage.fromString(histogramStorage));
+        }
+        Long memoryBudgetMb = selectValue(cliRender.memoryBudgetMb, jsonRender.memoryBudgetMb, null);
+        if (memoryBudgetMb != null) {
+            builder.memoryBudgetBytes(memoryBudgetMb * BYTES_IN_MB);
+        }
+        Integer scatterBuffer = selectValue(cliRender.scatterBuffer, jsonRender.scatterBuffer, null);
+        if (scatterBuffer != null) {
+            builder.scatterBufferSize(scatterBuffer);
+        }
+        Integer snapshotSamples = selectValue(cliRender.snapshotSamples, jsonRender.snapshotSamples, null);
+        if (snapshotSamples != null) {
+            builder.snapshotSamples(snapshotSamples);
+        }
+        Long snapshotMillis = selectValue(cliRender.snapshotMillis, jsonRender.snapshotMillis, null);
+        if (snapshotMillis != null) {
+            builder.snapshotMillis(snapshotMillis);
+        }
+        Integer walkers = selectValue(cliRender.walkers, jsonRender.walkers, null);
+        if (walkers != null) {
+            builder.walkers(walkers);
+        }
+
+        return builder.build();
+    }
+
     // Select value based on priority: CLI > JSON > default
     private static <T> T selectValue(T cliValue, T jsonValue, T defaultValue) {
         if (cliValue != null) {
@@ -143,4 +357,8 @@ public class ConfigLoader {
         }
         return defaultValue;
     }
+
+    private static <T> T orElse(T value, T fallback) {
+        return value != null ? value : fallback;
+    }
 }
@@ -10,6 +10,13 @@ public class JsonConfig {
     @JsonProperty("iteration_count")
     public Integer iterationCount;
 
+    // Separate from the iteration count, which otherwise stands for both
+    @JsonProperty("samples")
+    public Integer samples;
+
+    @JsonProperty("iterations_per_sample")
+    public Integer iterationsPerSample;
+
     @JsonProperty("output_path")
     public String outputPath;
 
@@ -31,6 +38,9 @@ public class JsonConfig {
     @JsonProperty("gamma")
     public Double gamma;
 
+    @JsonProperty("render")
+    public RenderConfig render;
+
     public static class SizeConfig {
         @JsonProperty("width")
         public Integer width;
@@ -39,12 +49,70 @@ public class JsonConfig {
         public Integer height;
     }
 
+    public static class RenderConfig {
+        @JsonProperty("renderer")
+        public String renderer;
+
+        @JsonProperty("kernel")
+        public String kernel;
+
+        @JsonProperty("random")
+        public String random;
+
+        @JsonProperty("histogram_mode")
+        public String histogramMode;
+
+        @JsonProperty("histogram_storage")
+        public String histogramStorage;
+
+        @JsonProperty("memory_budget_mb")
+        public Long memoryBudgetMb;
+
+        @JsonProperty("scatter_buffer")
+        public Integer scatterBuffer;
+
+        @JsonProperty("snapshot_samples")
+        public Integer snapshotSamples;
+
+        @JsonProperty("snapshot_millis")
+        public Long snapshotMillis;
+
+        @JsonProperty("walkers")
+        public Integer walkers;
+
+        // Output settings, kept in FractalConfig rather than RenderOptions
+        @JsonProperty("supersample")
+        public Integer supersample;
+
+        @JsonProperty("downsample_filter")
+        public String downsampleFilter;
+
+        @JsonProperty("de_max_radius")
+        public Double deMaxRadius;
+
+        @JsonProperty("de_min_radius")
+        public Double deMinRadius;
+
+        @JsonProperty("de_curve")
+        public Double deCurve;
+
+        @JsonProperty("convergence_threshold")
+        public Double convergenceThreshold;
+    }
+
     public static class FunctionConfig {
         @JsonProperty("name")
         public String name;
 
         @JsonProperty("weight")
         public Double weight;
+
+        // Expressions of a custom variation
+        @JsonProperty("x")
+        public String x;
+
+        @JsonProperty("y")
+        public String y;
     }
 
     public static class AffineConfig {
@@ -65,5 +133,8 @@ public class JsonConfig {
 
         @JsonProperty("f")
         public Double f;
+
+        @JsonProperty("weight")
+        public Double weight;
     }
 }
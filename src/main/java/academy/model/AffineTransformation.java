@@ -1,7 +1,18 @@
 package academy.model;
 
 public record AffineTransformation(
-        double a, double b, double c, double d, double e, double f, int red, int green, int blue) {
+        double a, double b, double c, double d, double e, double f, int red, int green, int blue, double weight) {
+
+    public AffineTransformation {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Affine weight must be positive, got: " + weight);
+        }
+    }
+
+    public AffineTransformation(
+            double a, double b, double c, double d, double e, double f, int red, int green, int blue) {
+        this(a, b, c, d, e, f, red, green, blue, 1.0);
+    }
 
     public AffineTransformation(double a, double b, double c, double d, double e, double f) {
         this(a, b, c, d, e, f, 0, 0, 0);
@@ -17,4 +28,24 @@ public record AffineTransformation(
 
         return new Point(newX, newY, newR, newG, newB);
     }
+
+    // Blend of this transformation at t = 0 and the other one at t = 1
+    public AffineTransformation interpolate(AffineTransformation other, double t) {
+        return new AffineTransformation(
+                lerp(a, other.a, t),
+                lerp(b, other.b, t),
+                lerp(c, other.c, t),
+                lerp(d, other.d, t),
+                lerp(e, other.e, t),
+                lerp(f, other.f, t),
+                (int) Math.round(lerp(red, other.red, t)),
+                (int) Math.round(lerp(green, other.green, t)),
+                (int) Math.round(lerp(blue, other.blue, t)),
+                lerp(weight, other.weight, t));
+    }
+
+    // Exact at both ends, unlike from + (to - from) * t
+    static double lerp(double from, double to, double t) {
+        return (1 - t) * from + t * to;
+    }
 }
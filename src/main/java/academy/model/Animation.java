@@ -0,0 +1,63 @@
+package academy.model;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Keyframes spread evenly over the frames of an animation, the first and last frames are the first and last keyframes.
+ * Frames in between blend the affine transformations and variation weights of the keyframes around them, every other
+ * setting comes from the first keyframe.
+ */
+public record Animation(List<FractalConfig> keyframes, int frames) {
+    public Animation {
+        if (keyframes == null || keyframes.size() < 2) {
+            throw new IllegalArgumentException("An animation needs at least two keyframes");
+        }
+        if (frames < keyframes.size()) {
+            throw new IllegalArgumentException(
+                    "An animation of " + keyframes.size() + " keyframes needs at least as many frames, got: " + frames);
+        }
+        FractalConfig first = keyframes.getFirst();
+        for (int i = 1; i < keyframes.size(); i++) {
+            FractalConfig keyframe = keyframes.get(i);
+            if (keyframe.affineTransformations().size()
+                    != first.affineTransformations().size()) {
+                throw new IllegalArgumentException(
+                        "Keyframe " + i + " must have as many affine transformations as the first one");
+            }
+            if (keyframe.weightedFunctions().size() != first.weightedFunctions().size()
+                    || IntStream.range(0, first.weightedFunctions().size()).anyMatch(f -> !keyframe.weightedFunctions()
+                            .get(f)
+                            .sameVariation(first.weightedFunctions().get(f)))) {
+                throw new IllegalArgumentException(
+                        "Keyframe " + i + " must have the same variations in the same order as the first one");
+            }
+        }
+        keyframes = List.copyOf(keyframes);
+    }
+
+    public FractalConfig frame(int index) {
+        if (index < 0 || index >= frames) {
+            throw new IllegalArgumentException("Frame " + index + " is out of [0, " + frames + ")");
+        }
+        double position = (double) index * (keyframes.size() - 1) / (frames - 1);
+        int segment = Math.min((int) position, keyframes.size() - 2);
+        double t = position - segment;
+        FractalConfig from = keyframes.get(segment);
+        FractalConfig to = keyframes.get(segment + 1);
+
+        List<AffineTransformation> affines = IntStream.range(
+                        0, from.affineTransformations().size())
+                .mapToObj(i -> from.affineTransformations()
+                        .get(i)
+                        .interpolate(to.affineTransformations().get(i), t))
+                .toList();
+        List<WeightedFunction> functions = IntStream.range(
+                        0, from.weightedFunctions().size())
+                .mapToObj(i -> from.weightedFunctions()
+                        .get(i)
+                        .interpolate(to.weightedFunctions().get(i), t))
+                .toList();
+        return keyframes.getFirst().withTransformations(affines, functions);
+    }
+}
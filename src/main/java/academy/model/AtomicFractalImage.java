@@ -0,0 +1,28 @@
+package academy.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Histogram shared between render threads without locks: every channel of a hit is an atomic {@code getAndAdd} on the
+ * packed array. Colour sums are integers already, so no fixed-point conversion is needed.
+ */
+public class AtomicFractalImage extends HeapFractalImage {
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] slots;
+
+    public AtomicFractalImage(int width, int height) {
+        super(width, height);
+        this.slots = data();
+    }
+
+    @Override
+    public void hit(int index, int red, int green, int blue) {
+        int base = index * CHANNELS;
+        SLOTS.getAndAdd(slots, base + HITS, 1L);
+        SLOTS.getAndAdd(slots, base + RED, (long) red);
+        SLOTS.getAndAdd(slots, base + GREEN, (long) green);
+        SLOTS.getAndAdd(slots, base + BLUE, (long) blue);
+    }
+}
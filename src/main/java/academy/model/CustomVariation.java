@@ -0,0 +1,10 @@
+package academy.model;
+
+/** User-defined variation: expressions for the new x and y in terms of x, y, r, r2 and theta. */
+public record CustomVariation(String x, String y) {
+    public CustomVariation {
+        if (x == null || x.isBlank() || y == null || y.isBlank()) {
+            throw new IllegalArgumentException("Custom variation needs both x and y expressions");
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package academy.model;
+
+/**
+ * Settings of the density estimation filter that blurs every pixel with a kernel that narrows as its hit count grows:
+ * radius = maxRadius / hits^curve, but at least minRadius. Sparse, noisy regions are smoothed while dense detail stays
+ * sharp. Radii are in output pixels, a max radius of 0 turns the filter off.
+ */
+public record DensityEstimation(double maxRadius, double minRadius, double curve) {
+    public static final DensityEstimation NONE = new DensityEstimation(0, 0, 0.4);
+
+    public DensityEstimation {
+        if (maxRadius < 0 || minRadius < 0) {
+            throw new IllegalArgumentException(
+                    "Density estimation radii cannot be negative, got: " + maxRadius + " and " + minRadius);
+        }
+        if (minRadius > maxRadius) {
+            throw new IllegalArgumentException(
+                    "Density estimation min radius " + minRadius + " cannot be greater than max radius " + maxRadius);
+        }
+        if (curve <= 0) {
+            throw new IllegalArgumentException("Density estimation curve must be positive, got: " + curve);
+        }
+    }
+
+    public boolean enabled() {
+        return maxRadius > 0;
+    }
+
+    // Kernel radius of a pixel with the given density
+    public double radius(double hits) {
+        return Math.max(minRadius, maxRadius / Math.pow(hits, curve));
+    }
+}
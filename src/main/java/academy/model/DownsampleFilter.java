@@ -0,0 +1,16 @@
+package academy.model;
+
+public enum DownsampleFilter {
+    // Plain average of the subpixels of an output pixel
+    BOX,
+    // Gaussian weights reaching into neighbouring pixels, softer edges with less ringing of thin lines
+    GAUSSIAN;
+
+    public static DownsampleFilter fromString(String name) {
+        try {
+            return valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown downsample filter: " + name);
+        }
+    }
+}
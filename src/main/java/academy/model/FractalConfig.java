@@ -2,17 +2,84 @@ package academy.model;
 
 import java.util.List;
 
+/**
+ * Fractal and output settings. The image is made of samples: chaos game chains started from their own random point,
+ * each plotting iterationsPerSample points, so the cost is linear in samples times iterationsPerSample. Constructors
+ * taking a single iteration count use it for both, the way renders were made before the two were separate.
+ */
 public record FractalConfig(
         int width,
         int height,
         long seed,
-        int iterationCount,
+        int samples,
+        int iterationsPerSample,
         String outputPath,
         int threads,
         List<AffineTransformation> affineTransformations,
         List<WeightedFunction> weightedFunctions,
         boolean gammaCorrection,
-        double gamma) {
+        double gamma,
+        int supersample,
+        DownsampleFilter downsampleFilter,
+        DensityEstimation densityEstimation,
+        double convergenceThreshold,
+        RenderOptions renderOptions) {
+
+    public FractalConfig(
+            int width,
+            int height,
+            long seed,
+            int iterationCount,
+            String outputPath,
+            int threads,
+            List<AffineTransformation> affineTransformations,
+            List<WeightedFunction> weightedFunctions,
+            boolean gammaCorrection,
+            double gamma,
+            RenderOptions renderOptions) {
+        this(
+                width,
+                height,
+                seed,
+                iterationCount,
+                iterationCount,
+                outputPath,
+                threads,
+                affineTransformations,
+                weightedFunctions,
+                gammaCorrection,
+                gamma,
+                1,
+                DownsampleFilter.BOX,
+                DensityEstimation.NONE,
+                0,
+                renderOptions);
+    }
+
+    public FractalConfig(
+            int width,
+            int height,
+            long seed,
+            int iterationCount,
+            String outputPath,
+            int threads,
+            List<AffineTransformation> affineTransformations,
+            List<WeightedFunction> weightedFunctions,
+            boolean gammaCorrection,
+            double gamma) {
+        this(
+                width,
+                height,
+                seed,
+                iterationCount,
+                outputPath,
+                threads,
+                affineTransformations,
+                weightedFunctions,
+                gammaCorrection,
+                gamma,
+                RenderOptions.defaults());
+    }
 
     public FractalConfig {
         if (width <= 0) {
@@ -21,8 +88,11 @@ public record FractalConfig(
         if (height <= 0) {
             throw new IllegalArgumentException("Height must be positive, got: " + height);
         }
-        if (iterationCount <= 0) {
-            throw new IllegalArgumentException("Iteration count must be positive, got: " + iterationCount);
+        if (iterationsPerSample <= 0) {
+            throw new IllegalArgumentException("Iteration count must be positive, got: " + iterationsPerSample);
+        }
+        if (samples <= 0) {
+            throw new IllegalArgumentException("Sample count must be positive, got: " + samples);
         }
         if (threads <= 0) {
             throw new IllegalArgumentException("Thread count must be positive, got: " + threads);
@@ -39,6 +109,179 @@ public record FractalConfig(
         if (gamma <= 0) {
             throw new IllegalArgumentException("Gamma must be positive, got: " + gamma);
         }
+        if (supersample < 1) {
+            throw new IllegalArgumentException("Supersample factor must be at least 1, got: " + supersample);
+        }
+        if (downsampleFilter == null) {
+            throw new IllegalArgumentException("Downsample filter cannot be null");
+        }
+        if (densityEstimation == null) {
+            throw new IllegalArgumentException("Density estimation cannot be null");
+        }
+        if (renderOptions == null) {
+            throw new IllegalArgumentException("Render options cannot be null");
+        }
+        if (!(convergenceThreshold >= 0) || Double.isInfinite(convergenceThreshold)) {
+            throw new IllegalArgumentException(
+                    "Convergence threshold must be a non-negative number, got: " + convergenceThreshold);
+        }
+        if (convergenceThreshold > 0 && !renderOptions.shard().isAll()) {
+            throw new IllegalArgumentException("Convergence stopping cannot be combined with shards");
+        }
+    }
+
+    public FractalConfig withRenderOptions(RenderOptions options) {
+        return new FractalConfig(
+                width,
+                height,
+                seed,
+                samples,
+                iterationsPerSample,
+                outputPath,
+                threads,
+                affineTransformations,
+                weightedFunctions,
+                gammaCorrection,
+                gamma,
+                supersample,
+                downsampleFilter,
+                densityEstimation,
+                convergenceThreshold,
+                options);
+    }
+
+    public FractalConfig withSupersample(int factor, DownsampleFilter filter) {
+        return new FractalConfig(
+                width,
+                height,
+                seed,
+                samples,
+                iterationsPerSample,
+                outputPath,
+                threads,
+                affineTransformations,
+                weightedFunctions,
+                gammaCorrection,
+                gamma,
+                factor,
+                filter,
+                densityEstimation,
+                convergenceThreshold,
+                renderOptions);
+    }
+
+    public FractalConfig withTransformations(List<AffineTransformation> affines, List<WeightedFunction> functions) {
+        return new FractalConfig(
+                width,
+                height,
+                seed,
+                samples,
+                iterationsPerSample,
+                outputPath,
+                threads,
+                affines,
+                functions,
+                gammaCorrection,
+                gamma,
+                supersample,
+                downsampleFilter,
+                densityEstimation,
+                convergenceThreshold,
+                renderOptions);
+    }
+
+    public FractalConfig withDensityEstimation(DensityEstimation estimation) {
+        return new FractalConfig(
+                width,
+                height,
+                seed,
+                samples,
+                iterationsPerSample,
+                outputPath,
+                threads,
+                affineTransformations,
+                weightedFunctions,
+                gammaCorrection,
+                gamma,
+                supersample,
+                downsampleFilter,
+                estimation,
+                convergenceThreshold,
+                renderOptions);
+    }
+
+    // A threshold of 0 renders every sample, a positive one stops once the image changes less between checks
+    public FractalConfig withConvergenceThreshold(double threshold) {
+        return new FractalConfig(
+                width,
+                height,
+                seed,
+                samples,
+                iterationsPerSample,
+                outputPath,
+                threads,
+                affineTransformations,
+                weightedFunctions,
+                gammaCorrection,
+                gamma,
+                supersample,
+                downsampleFilter,
+                densityEstimation,
+                threshold,
+                renderOptions);
+    }
+
+    public FractalConfig withSampling(int sampleCount, int iterations) {
+        return new FractalConfig(
+                width,
+                height,
+                seed,
+                sampleCount,
+                iterations,
+                outputPath,
+                threads,
+                affineTransformations,
+                weightedFunctions,
+                gammaCorrection,
+                gamma,
+                supersample,
+                downsampleFilter,
+                densityEstimation,
+                convergenceThreshold,
+                renderOptions);
+    }
+
+    // Points plotted by a whole render, the measure of its cost
+    public long totalPoints() {
+        return (long) samples * iterationsPerSample;
+    }
+
+    public boolean convergent() {
+        return convergenceThreshold > 0;
+    }
+
+    // What renderers plot: the supersampled grid as a config of that size, the image is scaled down on output
+    public FractalConfig histogramConfig() {
+        if (supersample == 1) {
+            return this;
+        }
+        return new FractalConfig(
+                Math.multiplyExact(width, supersample),
+                Math.multiplyExact(height, supersample),
+                seed,
+                samples,
+                iterationsPerSample,
+                outputPath,
+                threads,
+                affineTransformations,
+                weightedFunctions,
+                gammaCorrection,
+                gamma,
+                1,
+                downsampleFilter,
+                densityEstimation,
+                convergenceThreshold,
+                renderOptions);
     }
 
     public double totalWeight() {
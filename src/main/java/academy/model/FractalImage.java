@@ -1,26 +1,75 @@
 package academy.model;
 
-public class FractalImage {
-    private final Pixel[] data;
+/**
+ * Histogram of the fractal. Every pixel occupies {@link #CHANNELS} neighbouring slots (hit count, red, green and blue
+ * sums), so a single hit touches one cache line and no per-pixel objects are allocated. The slots live either in a
+ * {@link HeapFractalImage} or, for histograms too large for the heap, in an {@link OffHeapFractalImage}; code that
+ * works on any storage goes through rows ({@link #readRow}, {@link #writeRow}).
+ */
+public abstract class FractalImage implements HitSink, AutoCloseable {
+    public static final int CHANNELS = 4;
+    public static final int HITS = 0;
+    public static final int RED = 1;
+    public static final int GREEN = 2;
+    public static final int BLUE = 3;
+
     private final int width;
     private final int height;
 
-    public FractalImage(int width, int height) {
+    protected FractalImage(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Histogram size must be positive, got: " + width + "x" + height);
+        }
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Histogram of " + width + "x" + height + " exceeds the int pixel index");
+        }
         this.width = width;
         this.height = height;
-        this.data = new Pixel[width * height];
-        for (int i = 0; i < data.length; i++) {
-            data[i] = new Pixel();
-        }
     }
 
-    public Pixel pixel(int x, int y) {
-        if (x < 0 || x >= width || y < 0 || y >= height) {
-            return null;
+    public static FractalImage create(int width, int height, HistogramStorage storage) {
+        return switch (storage) {
+            case HEAP -> new HeapFractalImage(width, height);
+            case OFF_HEAP, MAPPED -> new OffHeapFractalImage(width, height, storage);
+        };
+    }
+
+    // Memory needed for a histogram of the given size
+    public static long bytesFor(int width, int height) {
+        return (long) width * height * CHANNELS * Long.BYTES;
+    }
+
+    public void hit(int x, int y, int red, int green, int blue) {
+        hit(y * width + x, red, green, blue);
+    }
+
+    // Snapshot of the accumulated values, null for coordinates outside the image
+    public abstract Pixel pixel(int x, int y);
+
+    // Adds the channels of the given rows of another histogram of the same size
+    public abstract void add(FractalImage other, int fromRow, int toRow);
+
+    // Copies the channels of a row, width * CHANNELS values, into the given array
+    public abstract void readRow(int y, long[] row);
+
+    // Replaces the channels of a row with width * CHANNELS values of the given array
+    public abstract void writeRow(int y, long[] row);
+
+    protected void checkSameSize(FractalImage other) {
+        if (other.width != width || other.height != height) {
+            throw new IllegalArgumentException("Cannot merge histograms of different sizes");
         }
-        return data[y * width + x];
     }
 
+    public abstract void clear();
+
+    public abstract long hitCount(int index);
+
+    public abstract long maxHitCount();
+
+    // Points plotted into the histogram
+    public abstract long totalHitCount();
+
     public int width() {
         return width;
     }
@@ -29,7 +78,11 @@ public class FractalImage {
         return height;
     }
 
-    public Pixel[] getData() {
-        return data;
+    public int size() {
+        return width * height;
     }
+
+    // Releases memory held outside the heap, nothing to do for a heap histogram
+    @Override
+    public void close() {}
 }
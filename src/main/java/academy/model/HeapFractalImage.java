@@ -0,0 +1,102 @@
+package academy.model;
+
+import java.util.Arrays;
+
+/** Histogram stored as one packed {@code long[]} on the heap, the array is available through {@link #data()}. */
+public class HeapFractalImage extends FractalImage {
+    private final long[] data;
+
+    public HeapFractalImage(int width, int height) {
+        super(width, height);
+        this.data = new long[Math.multiplyExact(Math.multiplyExact(width, height), CHANNELS)];
+    }
+
+    @Override
+    public void hit(int index, int red, int green, int blue) {
+        int base = index * CHANNELS;
+        data[base + HITS]++;
+        data[base + RED] += red;
+        data[base + GREEN] += green;
+        data[base + BLUE] += blue;
+    }
+
+    @Override
+    public Pixel pixel(int x, int y) {
+        if (x < 0 || x >= width() || y < 0 || y >= height()) {
+            return null;
+        }
+        int base = (y * width() + x) * CHANNELS;
+        return new Pixel(
+                (int) Math.min(data[base + HITS], Integer.MAX_VALUE),
+                data[base + RED],
+                data[base + GREEN],
+                data[base + BLUE]);
+    }
+
+    @Override
+    public void add(FractalImage other, int fromRow, int toRow) {
+        checkSameSize(other);
+        int rowLength = width() * CHANNELS;
+        if (other instanceof HeapFractalImage heap) {
+            long[] source = heap.data;
+            int end = toRow * rowLength;
+            for (int i = fromRow * rowLength; i < end; i++) {
+                data[i] += source[i];
+            }
+            return;
+        }
+        long[] row = new long[rowLength];
+        for (int y = fromRow; y < toRow; y++) {
+            other.readRow(y, row);
+            int base = y * rowLength;
+            for (int i = 0; i < rowLength; i++) {
+                data[base + i] += row[i];
+            }
+        }
+    }
+
+    @Override
+    public void readRow(int y, long[] row) {
+        System.arraycopy(data, y * width() * CHANNELS, row, 0, width() * CHANNELS);
+    }
+
+    @Override
+    public void writeRow(int y, long[] row) {
+        System.arraycopy(row, 0, data, y * width() * CHANNELS, width() * CHANNELS);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(data, 0);
+    }
+
+    @Override
+    public long hitCount(int index) {
+        return data[index * CHANNELS + HITS];
+    }
+
+    @Override
+    public long maxHitCount() {
+        long max = 0;
+        for (int base = HITS; base < data.length; base += CHANNELS) {
+            if (data[base] > max) {
+                max = data[base];
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public long totalHitCount() {
+        long total = 0;
+        for (int base = HITS; base < data.length; base += CHANNELS) {
+            total += data[base];
+        }
+        return total;
+    }
+
+    // Packed array of all pixels
+    public long[] data() {
+        return data;
+    }
+}
@@ -0,0 +1,18 @@
+package academy.model;
+
+public enum HistogramMode {
+    // All threads plot into one histogram guarded by striped locks
+    SHARED,
+    // All threads plot into one histogram with atomic adds on its packed array
+    ATOMIC,
+    // Every thread plots into its own histogram, merged in parallel at the end
+    PRIVATE;
+
+    public static HistogramMode fromString(String name) {
+        try {
+            return valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown histogram mode: " + name);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package academy.model;
+
+public enum HistogramStorage {
+    // Packed long[] on the Java heap
+    HEAP,
+    // Native memory outside the heap, sized by the image rather than -Xmx
+    OFF_HEAP,
+    // Memory-mapped temporary file, the OS pages parts of the histogram out when memory runs short
+    MAPPED;
+
+    public static HistogramStorage fromString(String name) {
+        try {
+            return valueOf(name.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown histogram storage: " + name);
+        }
+    }
+}
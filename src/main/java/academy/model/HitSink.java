@@ -0,0 +1,8 @@
+package academy.model;
+
+/** Destination of plotted points: a histogram itself or something that routes hits into one. */
+@FunctionalInterface
+public interface HitSink {
+    // Index is y * width + x of the target histogram
+    void hit(int index, int red, int green, int blue);
+}
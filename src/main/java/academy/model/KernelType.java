@@ -0,0 +1,20 @@
+package academy.model;
+
+public enum KernelType {
+    // Original loop over Point records and AffineTransformation objects
+    CLASSIC,
+    // Primitive state and flattened affine table, produces the same image without allocations
+    SCALAR,
+    // Scalar loop with variations picked by a switch over static implementations instead of virtual calls
+    MONOMORPHIC,
+    // Several samples per SIMD vector on the incubating Vector API, needs --add-modules jdk.incubator.vector
+    VECTOR;
+
+    public static KernelType fromString(String name) {
+        try {
+            return valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown kernel type: " + name);
+        }
+    }
+}
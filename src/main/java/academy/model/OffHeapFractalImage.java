@@ -0,0 +1,153 @@
+package academy.model;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Histogram outside the Java heap: a {@link MemorySegment} of native memory or of a memory-mapped temporary file with
+ * the packed layout of {@link HeapFractalImage}. Slots are addressed by long offsets, so the size is bounded by the int
+ * pixel index instead of the 2^31 elements of an array, and the heap stays the same whatever the image size. The memory
+ * belongs to a shared arena and is released by {@link #close()}.
+ */
+public class OffHeapFractalImage extends FractalImage {
+    private static final ValueLayout.OfLong SLOT = ValueLayout.JAVA_LONG;
+
+    private final Arena arena;
+    private final MemorySegment slots;
+    private final long slotCount;
+
+    public OffHeapFractalImage(int width, int height, HistogramStorage storage) {
+        super(width, height);
+        this.slotCount = (long) width * height * CHANNELS;
+        long bytes = bytesFor(width, height);
+        this.arena = Arena.ofShared();
+        try {
+            // Both kinds of segment start zeroed
+            this.slots = storage == HistogramStorage.MAPPED ? map(bytes) : arena.allocate(bytes, Long.BYTES);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw new IllegalStateException("Cannot allocate a " + width + "x" + height + " histogram", e);
+        } catch (OutOfMemoryError e) {
+            // Native segments count against the direct memory limit, which defaults to the heap size
+            arena.close();
+            throw new IllegalStateException(
+                    "Not enough direct memory for a " + width + "x" + height + " histogram,"
+                            + " raise -XX:MaxDirectMemorySize or use mapped storage",
+                    e);
+        }
+    }
+
+    private MemorySegment map(long bytes) throws IOException {
+        Path file = Files.createTempFile("fractal-histogram", ".bin");
+        // The mapping stays valid after the channel is closed and the file is gone, the OS still pages into it
+        try (FileChannel channel = FileChannel.open(
+                file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes, arena);
+        }
+    }
+
+    @Override
+    public void hit(int index, int red, int green, int blue) {
+        long base = (long) index * CHANNELS;
+        slots.setAtIndex(SLOT, base + HITS, slots.getAtIndex(SLOT, base + HITS) + 1);
+        slots.setAtIndex(SLOT, base + RED, slots.getAtIndex(SLOT, base + RED) + red);
+        slots.setAtIndex(SLOT, base + GREEN, slots.getAtIndex(SLOT, base + GREEN) + green);
+        slots.setAtIndex(SLOT, base + BLUE, slots.getAtIndex(SLOT, base + BLUE) + blue);
+    }
+
+    @Override
+    public Pixel pixel(int x, int y) {
+        if (x < 0 || x >= width() || y < 0 || y >= height()) {
+            return null;
+        }
+        long base = ((long) y * width() + x) * CHANNELS;
+        return new Pixel(
+                (int) Math.min(slots.getAtIndex(SLOT, base + HITS), Integer.MAX_VALUE),
+                slots.getAtIndex(SLOT, base + RED),
+                slots.getAtIndex(SLOT, base + GREEN),
+                slots.getAtIndex(SLOT, base + BLUE));
+    }
+
+    @Override
+    public void add(FractalImage other, int fromRow, int toRow) {
+        checkSameSize(other);
+        long rowLength = (long) width() * CHANNELS;
+        long start = fromRow * rowLength;
+        long end = toRow * rowLength;
+        if (other instanceof OffHeapFractalImage offHeap) {
+            MemorySegment source = offHeap.slots;
+            for (long i = start; i < end; i++) {
+                slots.setAtIndex(SLOT, i, slots.getAtIndex(SLOT, i) + source.getAtIndex(SLOT, i));
+            }
+            return;
+        }
+        if (other instanceof HeapFractalImage heap) {
+            long[] source = heap.data();
+            for (long i = start; i < end; i++) {
+                slots.setAtIndex(SLOT, i, slots.getAtIndex(SLOT, i) + source[(int) i]);
+            }
+            return;
+        }
+        long[] row = new long[(int) rowLength];
+        for (int y = fromRow; y < toRow; y++) {
+            other.readRow(y, row);
+            long base = y * rowLength;
+            for (int i = 0; i < row.length; i++) {
+                slots.setAtIndex(SLOT, base + i, slots.getAtIndex(SLOT, base + i) + row[i]);
+            }
+        }
+    }
+
+    @Override
+    public void readRow(int y, long[] row) {
+        int rowLength = width() * CHANNELS;
+        MemorySegment.copy(slots, SLOT, (long) y * rowLength * Long.BYTES, row, 0, rowLength);
+    }
+
+    @Override
+    public void writeRow(int y, long[] row) {
+        int rowLength = width() * CHANNELS;
+        MemorySegment.copy(row, 0, slots, SLOT, (long) y * rowLength * Long.BYTES, rowLength);
+    }
+
+    @Override
+    public void clear() {
+        slots.fill((byte) 0);
+    }
+
+    @Override
+    public long hitCount(int index) {
+        return slots.getAtIndex(SLOT, (long) index * CHANNELS + HITS);
+    }
+
+    @Override
+    public long maxHitCount() {
+        long max = 0;
+        for (long base = HITS; base < slotCount; base += CHANNELS) {
+            max = Math.max(max, slots.getAtIndex(SLOT, base));
+        }
+        return max;
+    }
+
+    @Override
+    public long totalHitCount() {
+        long total = 0;
+        for (long base = HITS; base < slotCount; base += CHANNELS) {
+            total += slots.getAtIndex(SLOT, base);
+        }
+        return total;
+    }
+
+    @Override
+    public void close() {
+        if (arena.scope().isAlive()) {
+            arena.close();
+        }
+    }
+}
@@ -13,6 +13,13 @@ public class Pixel {
         this.b = 0;
     }
 
+    public Pixel(int hitCount, double r, double g, double b) {
+        this.hitCount = hitCount;
+        this.r = r;
+        this.g = g;
+        this.b = b;
+    }
+
     public synchronized void hit(int red, int green, int blue) {
         hitCount++;
         r += red;
@@ -0,0 +1,16 @@
+package academy.model;
+
+public enum RandomType {
+    // java.util.Random seeded with seed + sample index
+    LEGACY,
+    // Non-atomic SplitMix64 streams derived from seed and sample index
+    SPLITMIX;
+
+    public static RandomType fromString(String name) {
+        try {
+            return valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown random generator: " + name);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package academy.model;
+
+/** Settings of the rendering engine, as opposed to the fractal itself described by {@link FractalConfig}. */
+public record RenderOptions(
+        RendererType renderer,
+        KernelType kernel,
+        RandomType random,
+        HistogramMode histogramMode,
+        HistogramStorage histogramStorage,
+        long memoryBudgetBytes,
+        int scatterBufferSize,
+        int snapshotSamples,
+        long snapshotMillis,
+        Shard shard,
+        int sampleLimit,
+        int walkers) {
+
+    public RenderOptions {
+        if (renderer == null) {
+            throw new IllegalArgumentException("Renderer type cannot be null");
+        }
+        if (kernel == null) {
+            throw new IllegalArgumentException("Kernel type cannot be null");
+        }
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator type cannot be null");
+        }
+        if (histogramMode == null) {
+            throw new IllegalArgumentException("Histogram mode cannot be null");
+        }
+        if (histogramStorage == null) {
+            throw new IllegalArgumentException("Histogram storage cannot be null");
+        }
+        if (memoryBudgetBytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive, got: " + memoryBudgetBytes);
+        }
+        if (scatterBufferSize < 0) {
+            throw new IllegalArgumentException("Scatter buffer size cannot be negative, got: " + scatterBufferSize);
+        }
+        if (snapshotSamples < 0) {
+            throw new IllegalArgumentException(
+                    "Snapshot interval in samples cannot be negative, got: " + snapshotSamples);
+        }
+        if (snapshotMillis < 0) {
+            throw new IllegalArgumentException("Snapshot interval in ms cannot be negative, got: " + snapshotMillis);
+        }
+        if (shard == null) {
+            throw new IllegalArgumentException("Shard cannot be null");
+        }
+        if (sampleLimit < 0) {
+            throw new IllegalArgumentException("Sample limit cannot be negative, got: " + sampleLimit);
+        }
+        if (walkers < 0) {
+            throw new IllegalArgumentException("Walker count cannot be negative, got: " + walkers);
+        }
+    }
+
+    public static RenderOptions defaults() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .renderer(renderer)
+                .kernel(kernel)
+                .random(random)
+                .histogramMode(histogramMode)
+                .histogramStorage(histogramStorage)
+                .memoryBudgetBytes(memoryBudgetBytes)
+                .scatterBufferSize(scatterBufferSize)
+                .snapshotSamples(snapshotSamples)
+                .snapshotMillis(snapshotMillis)
+                .shard(shard)
+                .sampleLimit(sampleLimit)
+                .walkers(walkers);
+    }
+
+    // Whether the renderer takes histogram snapshots while running
+    public boolean progressive() {
+        return snapshotSamples > 0 || snapshotMillis > 0;
+    }
+
+    public static final class Builder {
+        private RendererType renderer = RendererType.THREAD_POOL;
+        private KernelType kernel = KernelType.SCALAR;
+        private RandomType random = RandomType.SPLITMIX;
+        private HistogramMode histogramMode = HistogramMode.PRIVATE;
+        // Where histograms live, off the heap for images the heap cannot hold
+        private HistogramStorage histogramStorage = HistogramStorage.HEAP;
+        // By default private histograms may take half of the heap
+        private long memoryBudgetBytes = Runtime.getRuntime().maxMemory() / 2;
+        // Hits buffered and sorted by histogram block before plotting, 0 plots every hit immediately
+        private int scatterBufferSize;
+        // Snapshot the histogram every so many samples and/or milliseconds, 0 disables the trigger
+        private int snapshotSamples;
+        private long snapshotMillis;
+        // Part of the samples this process renders, the others are rendered elsewhere and merged
+        private Shard shard = Shard.ALL;
+        // Only samples below this index are rendered, 0 renders all; convergent renders raise it round by round
+        private int sampleLimit;
+        // Chains every worker keeps going from sample to sample, 0 starts a fresh chain with a warm-up per sample
+        private int walkers;
+
+        private Builder() {}
+
+        public Builder renderer(RendererType renderer) {
+            this.renderer = renderer;
+            return this;
+        }
+
+        public Builder kernel(KernelType kernel) {
+            this.kernel = kernel;
+            return this;
+        }
+
+        public Builder random(RandomType random) {
+            this.random = random;
+            return this;
+        }
+
+        public Builder histogramMode(HistogramMode histogramMode) {
+            this.histogramMode = histogramMode;
+            return this;
+        }
+
+        public Builder histogramStorage(HistogramStorage histogramStorage) {
+            this.histogramStorage = histogramStorage;
+            return this;
+        }
+
+        public Builder memoryBudgetBytes(long memoryBudgetBytes) {
+            this.memoryBudgetBytes = memoryBudgetBytes;
+            return this;
+        }
+
+        public Builder scatterBufferSize(int scatterBufferSize) {
+            this.scatterBufferSize = scatterBufferSize;
+            return this;
+        }
+
+        public Builder snapshotSamples(int snapshotSamples) {
+            this.snapshotSamples = snapshotSamples;
+            return this;
+        }
+
+        public Builder snapshotMillis(long snapshotMillis) {
+            this.snapshotMillis = snapshotMillis;
+            return this;
+        }
+
+        public Builder shard(Shard shard) {
+            this.shard = shard;
+            return this;
+        }
+
+        public Builder sampleLimit(int sampleLimit) {
+            this.sampleLimit = sampleLimit;
+            return this;
+        }
+
+        public Builder walkers(int walkers) {
+            this.walkers = walkers;
+            return this;
+        }
+
+        public RenderOptions build() {
+            return new RenderOptions(
+                    renderer,
+                    kernel,
+                    random,
+                    histogramMode,
+                    histogramStorage,
+                    memoryBudgetBytes,
+                    scatterBufferSize,
+                    snapshotSamples,
+                    snapshotMillis,
+                    shard,
+                    sampleLimit,
+                    walkers);
+        }
+    }
+}
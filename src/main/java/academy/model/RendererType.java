@@ -0,0 +1,18 @@
+package academy.model;
+
+public enum RendererType {
+    // Samples split into equal ranges, one per thread of a fixed pool
+    THREAD_POOL,
+    // Recursive splitting of sample ranges on a long-lived work-stealing pool
+    FORK_JOIN,
+    // One histogram split into tiles, each written only by the worker that owns it
+    TILED;
+
+    public static RendererType fromString(String name) {
+        try {
+            return valueOf(name.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown renderer type: " + name);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package academy.model;
+
+/**
+ * Part index of count of the samples of a render, numbered from 1, so that count processes can render one image
+ * together. Shards are contiguous sample ranges of near equal size.
+ */
+public record Shard(int index, int count) {
+    public static final Shard ALL = new Shard(1, 1);
+
+    public Shard {
+        if (count < 1 || index < 1 || index > count) {
+            throw new IllegalArgumentException("Shard must be i/N with 1 <= i <= N, got: " + index + "/" + count);
+        }
+    }
+
+    // Parses "i/N"
+    public static Shard fromString(String value) {
+        String[] parts = value.split("/", -1);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Shard must be given as i/N, got: " + value);
+        }
+        try {
+            return new Shard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Shard must be given as i/N, got: " + value);
+        }
+    }
+
+    public boolean isAll() {
+        return count == 1;
+    }
+
+    // First sample of this shard out of totalSamples
+    public int startSample(int totalSamples) {
+        return (int) ((long) totalSamples * (index - 1) / count);
+    }
+
+    // Sample after the last one of this shard
+    public int endSample(int totalSamples) {
+        return (int) ((long) totalSamples * index / count);
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+}
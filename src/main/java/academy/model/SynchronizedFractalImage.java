@@ -0,0 +1,22 @@
+package academy.model;
+
+/** Histogram shared between render threads: hits are guarded by a striped set of monitors. */
+public class SynchronizedFractalImage extends HeapFractalImage {
+    private static final int LOCK_STRIPES = 4096;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public SynchronizedFractalImage(int width, int height) {
+        super(width, height);
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public void hit(int index, int red, int green, int blue) {
+        synchronized (locks[index & (LOCK_STRIPES - 1)]) {
+            super.hit(index, red, green, blue);
+        }
+    }
+}
@@ -10,7 +10,9 @@ public enum TransformationType {
     DISC,
     HEART,
     SPIRAL,
-    HYPERBOLIC;
+    HYPERBOLIC,
+    // Given by x and y expressions in the config and compiled at load time
+    CUSTOM;
 
     public static TransformationType fromString(String name) {
         try {
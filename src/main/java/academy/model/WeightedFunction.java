@@ -1,9 +1,34 @@
 package academy.model;
 
-public record WeightedFunction(TransformationType type, double weight) {
+import java.util.Objects;
+
+public record WeightedFunction(TransformationType type, double weight, CustomVariation custom) {
     public WeightedFunction {
         if (weight <= 0) {
             throw new IllegalArgumentException("Weight must be positive, got: " + weight);
         }
+        if ((type == TransformationType.CUSTOM) != (custom != null)) {
+            throw new IllegalArgumentException("Expressions are required for custom variations and only for them");
+        }
+    }
+
+    public WeightedFunction(TransformationType type, double weight) {
+        this(type, weight, null);
+    }
+
+    public static WeightedFunction custom(CustomVariation custom, double weight) {
+        return new WeightedFunction(TransformationType.CUSTOM, weight, custom);
+    }
+
+    public boolean sameVariation(WeightedFunction other) {
+        return type == other.type && Objects.equals(custom, other.custom);
+    }
+
+    // Only the weight changes, both functions must be the same variation
+    public WeightedFunction interpolate(WeightedFunction other, double t) {
+        if (!sameVariation(other)) {
+            throw new IllegalArgumentException("Cannot interpolate " + type + " into " + other.type);
+        }
+        return new WeightedFunction(type, AffineTransformation.lerp(weight, other.weight, t), custom);
     }
 }
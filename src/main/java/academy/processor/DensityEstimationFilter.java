@@ -0,0 +1,159 @@
+package academy.processor;
+
+import academy.model.DensityEstimation;
+import academy.model.FractalImage;
+import academy.model.HistogramStorage;
+import java.util.stream.IntStream;
+
+/**
+ * Density estimation filter: scatters every pixel of a histogram over a gaussian kernel whose radius shrinks as the hit
+ * count of the pixel grows, so a few scattered hits turn into a smooth patch of low density while dense detail stays
+ * sharp. The filtered histogram holds fractional hits and colour sums as fixed point scaled by {@link #HIT_SCALE}.
+ *
+ * <p>Kernels are tabulated once per radius, quantised to {@link #RADIUS_STEPS} per pixel, and the radius of the hit
+ * counts below {@link #RADIUS_TABLE_SIZE} is tabulated as well. Rows are cut into tiles at least two kernel extents
+ * high; even tiles are filtered in parallel, then odd ones, so that tiles running at once never write the same row.
+ */
+final class DensityEstimationFilter {
+    static final long HIT_SCALE = 1L << 16;
+    private static final int RADIUS_STEPS = 8;
+    private static final int RADIUS_TABLE_SIZE = 1 << 16;
+    private static final int MIN_TILE_ROWS = 32;
+
+    private final DensityEstimation estimation;
+    private final int supersample;
+    private final Kernel[] kernels;
+    // Kernel of every hit count below the table size, larger counts compute their radius
+    private final int[] kernelOfHits;
+    // Largest distance in rows a pixel is spread over
+    private final int extent;
+
+    // A supersampled histogram gets radii scaled to its grid and densities summed over the subpixels of a pixel
+    DensityEstimationFilter(DensityEstimation estimation, int supersample) {
+        if (!estimation.enabled()) {
+            throw new IllegalArgumentException("Density estimation is disabled");
+        }
+        this.estimation = estimation;
+        this.supersample = supersample;
+        this.kernels = new Kernel[radiusStep(1) + 1];
+        for (int step = 0; step < kernels.length; step++) {
+            kernels[step] = Kernel.of((double) step / RADIUS_STEPS);
+        }
+        this.kernelOfHits = new int[RADIUS_TABLE_SIZE];
+        for (int hits = 1; hits < RADIUS_TABLE_SIZE; hits++) {
+            kernelOfHits[hits] = radiusStep(hits);
+        }
+        this.extent = kernels[kernels.length - 1].extent();
+    }
+
+    FractalImage apply(FractalImage source, HistogramStorage storage) {
+        FractalImage target = FractalImage.create(source.width(), source.height(), storage);
+        try {
+            int tileRows = Math.max(MIN_TILE_ROWS, 2 * extent);
+            int tiles = Math.ceilDiv(source.height(), tileRows);
+            for (int parity = 0; parity < 2; parity++) {
+                int first = parity;
+                IntStream.range(0, (tiles - parity + 1) / 2)
+                        .parallel()
+                        .forEach(tile -> filterTile(source, target, (first + 2 * tile) * tileRows, tileRows));
+            }
+        } catch (RuntimeException e) {
+            target.close();
+            throw e;
+        }
+        return target;
+    }
+
+    private void filterTile(FractalImage source, FractalImage target, int start, int tileRows) {
+        int width = source.width();
+        int height = source.height();
+        int end = Math.min(height, start + tileRows);
+        int bandStart = Math.max(0, start - extent);
+        int bandEnd = Math.min(height, end + extent);
+        // Rows the tile writes to, accumulated here and added to the target at the end
+        double[] band = new double[(bandEnd - bandStart) * width * FractalImage.CHANNELS];
+        long[] row = new long[width * FractalImage.CHANNELS];
+
+        for (int y = start; y < end; y++) {
+            source.readRow(y, row);
+            for (int x = 0; x < width; x++) {
+                int base = x * FractalImage.CHANNELS;
+                long hits = row[base + FractalImage.HITS];
+                if (hits != 0) {
+                    scatter(band, bandStart, width, height, x, y, kernel(hits), row, base);
+                }
+            }
+        }
+
+        for (int y = bandStart; y < bandEnd; y++) {
+            target.readRow(y, row);
+            int offset = (y - bandStart) * row.length;
+            for (int i = 0; i < row.length; i++) {
+                row[i] += Math.round(band[offset + i] * HIT_SCALE);
+            }
+            target.writeRow(y, row);
+        }
+    }
+
+    private static void scatter(
+            double[] band, int bandStart, int width, int height, int x, int y, Kernel kernel, long[] row, int base) {
+        double hits = row[base + FractalImage.HITS];
+        double red = row[base + FractalImage.RED];
+        double green = row[base + FractalImage.GREEN];
+        double blue = row[base + FractalImage.BLUE];
+        int extent = kernel.extent();
+        int size = 2 * extent + 1;
+        // Taps outside the image are dropped
+        int fromX = Math.max(-extent, -x);
+        int toX = Math.min(extent, width - 1 - x);
+        for (int dy = Math.max(-extent, -y); dy <= Math.min(extent, height - 1 - y); dy++) {
+            int weightBase = (dy + extent) * size + extent;
+            int bandBase = ((y + dy - bandStart) * width + x) * FractalImage.CHANNELS;
+            for (int dx = fromX; dx <= toX; dx++) {
+                double weight = kernel.weights()[weightBase + dx];
+                if (weight == 0) {
+                    continue;
+                }
+                int i = bandBase + dx * FractalImage.CHANNELS;
+                band[i + FractalImage.HITS] += weight * hits;
+                band[i + FractalImage.RED] += weight * red;
+                band[i + FractalImage.GREEN] += weight * green;
+                band[i + FractalImage.BLUE] += weight * blue;
+            }
+        }
+    }
+
+    private Kernel kernel(long hits) {
+        return kernels[hits < RADIUS_TABLE_SIZE ? kernelOfHits[(int) hits] : radiusStep(hits)];
+    }
+
+    private int radiusStep(long hits) {
+        double radius = estimation.radius((double) hits * supersample * supersample) * supersample;
+        return (int) Math.round(radius * RADIUS_STEPS);
+    }
+
+    // Normalised weights of a (2 * extent + 1)^2 square, zero beyond the radius
+    private record Kernel(int extent, double[] weights) {
+        static Kernel of(double radius) {
+            int extent = (int) radius;
+            int size = 2 * extent + 1;
+            double[] weights = new double[size * size];
+            double sum = 0;
+            for (int dy = -extent; dy <= extent; dy++) {
+                for (int dx = -extent; dx <= extent; dx++) {
+                    double distanceSquared = dx * dx + dy * dy;
+                    if (distanceSquared <= radius * radius) {
+                        // Falls to exp(-2) at the radius
+                        double weight = radius > 0 ? Math.exp(-2 * distanceSquared / (radius * radius)) : 1.0;
+                        weights[(dy + extent) * size + dx + extent] = weight;
+                        sum += weight;
+                    }
+                }
+            }
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] /= sum;
+            }
+            return new Kernel(extent, weights);
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package academy.processor;
 
+import academy.model.DownsampleFilter;
+import academy.model.FractalConfig;
 import academy.model.FractalImage;
-import academy.model.Pixel;
-import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,58 +17,111 @@ public class ImageProcessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(ImageProcessor.class);
 
     public void save(FractalImage image, Path outputPath, boolean gammaCorrection, double gamma) throws IOException {
-        LOGGER.info("Processing image for output");
+        save(image, outputPath, gammaCorrection, gamma, 1, DownsampleFilter.BOX);
+    }
 
-        // Find max hit count for normalization
-        int maxHits = 0;
-        for (Pixel pixel : image.getData()) {
-            if (pixel.getHitCount() > maxHits) {
-                maxHits = pixel.getHitCount();
+    // Saves a histogram rendered for the config, density estimated if enabled and scaled down to the output size
+    public void save(FractalImage image, Path outputPath, FractalConfig config) throws IOException {
+        LOGGER.info("Saving image to: {}", outputPath);
+        encode(image, config, rendered -> ImageIO.write(rendered, "PNG", outputPath.toFile()));
+        LOGGER.info("Image saved successfully");
+    }
+
+    // Same image as save, encoded into the stream without temporary files
+    public void write(FractalImage image, OutputStream output, FractalConfig config) throws IOException {
+        encode(image, config, rendered -> {
+            try (ImageOutputStream stream = new MemoryCacheImageOutputStream(output)) {
+                ImageIO.write(rendered, "PNG", stream);
             }
+        });
+    }
+
+    public void save(
+            FractalImage image,
+            Path outputPath,
+            boolean gammaCorrection,
+            double gamma,
+            int supersample,
+            DownsampleFilter filter)
+            throws IOException {
+        LOGGER.info("Saving image to: {}", outputPath);
+        encode(
+                image,
+                gammaCorrection,
+                gamma,
+                supersample,
+                filter,
+                1,
+                rendered -> ImageIO.write(rendered, "PNG", outputPath.toFile()));
+        LOGGER.info("Image saved successfully");
+    }
+
+    private void encode(FractalImage image, FractalConfig config, Encoder encoder) throws IOException {
+        int supersample = image.width() / config.width();
+        if (!config.densityEstimation().enabled()) {
+            encode(image, config.gammaCorrection(), config.gamma(), supersample, config.downsampleFilter(), 1, encoder);
+            return;
         }
 
+        long startTime = System.currentTimeMillis();
+        DensityEstimationFilter filter = new DensityEstimationFilter(config.densityEstimation(), supersample);
+        try (FractalImage filtered = filter.apply(image, config.renderOptions().histogramStorage())) {
+            LOGGER.info("Density estimation completed in {} ms", System.currentTimeMillis() - startTime);
+            encode(
+                    filtered,
+                    config.gammaCorrection(),
+                    config.gamma(),
+                    supersample,
+                    config.downsampleFilter(),
+                    DensityEstimationFilter.HIT_SCALE,
+                    encoder);
+        }
+    }
+
+    // Hits of the histogram are multiplied by hitScale, as those of a density estimated one are
+    private void encode(
+            FractalImage image,
+            boolean gammaCorrection,
+            double gamma,
+            int supersample,
+            DownsampleFilter filter,
+            long hitScale,
+            Encoder encoder)
+            throws IOException {
+        LOGGER.info("Processing image for output");
+
+        // Find max hit count for normalization
+        long maxHits = image.maxHitCount();
+
         if (maxHits == 0) {
             LOGGER.warn("Image has no hits, output will be black");
             maxHits = 1;
         }
 
-        BufferedImage bufferedImage = new BufferedImage(image.width(), image.height(), BufferedImage.TYPE_INT_RGB);
-
-        // Convert histogram to RGB image with gamma correction
-        for (int y = 0; y < image.height(); y++) {
-            for (int x = 0; x < image.width(); x++) {
-                Pixel pixel = image.pixel(x, y);
-                if (pixel != null && pixel.isHit()) {
-                    // Normalize by hit count
-                    double normalR = pixel.getR() / pixel.getHitCount();
-                    double normalG = pixel.getG() / pixel.getHitCount();
-                    double normalB = pixel.getB() / pixel.getHitCount();
-
-                    double correctedBrightness = 1.0;
-                    if (gammaCorrection) {
-                        // Apply logarithmic gamma correction
-                        double brightness = Math.log10(pixel.getHitCount()) / Math.log10(maxHits);
-                        correctedBrightness = Math.pow(brightness, 1.0 / gamma);
-                    }
-
-                    // Scale to [0, 255]
-                    int r = clamp((int) (normalR * correctedBrightness));
-                    int g = clamp((int) (normalG * correctedBrightness));
-                    int b = clamp((int) (normalB * correctedBrightness));
-
-                    // Combine RGB into single int
-                    int rgb = (r << 16) | (g << 8) | b;
-                    bufferedImage.setRGB(x, y, rgb);
-                }
-            }
-        }
+        // Pixels are tone mapped and scaled down block by block while the writer encodes them
+        encoder.write(new ToneMappedImage(image, maxHits, hitScale, gammaCorrection, gamma, supersample, filter));
+    }
 
-        LOGGER.info("Saving image to: {}", outputPath);
-        ImageIO.write(bufferedImage, "PNG", outputPath.toFile());
-        LOGGER.info("Image saved successfully");
+    // Path of the index-th intermediate image of a progressive render: result.png -> result.snapshot-0003.png
+    public static Path snapshotPath(Path outputPath, int index) {
+        return numberedPath(outputPath, "snapshot", index);
+    }
+
+    // Path of the index-th frame of an animation: result.png -> result.frame-0003.png
+    public static Path framePath(Path outputPath, int index) {
+        return numberedPath(outputPath, "frame", index);
+    }
+
+    private static Path numberedPath(Path outputPath, String kind, int index) {
+        String name = outputPath.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : ".png";
+        return outputPath.resolveSibling(String.format("%s.%s-%04d%s", base, kind, index, extension));
     }
 
-    private int clamp(int value) {
-        return Math.max(0, Math.min(255, value));
+    @FunctionalInterface
+    private interface Encoder {
+        void write(RenderedImage image) throws IOException;
     }
 }
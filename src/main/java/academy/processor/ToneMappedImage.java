@@ -0,0 +1,318 @@
+package academy.processor;
+
+import academy.model.DownsampleFilter;
+import academy.model.FractalImage;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.image.ColorModel;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.Vector;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * RGB view of a histogram that is tone mapped when an image writer asks for pixels, as the PNG writer does row by row,
+ * so writing a gigapixel image needs a block of output rows instead of a full-size
+ * {@link java.awt.image.BufferedImage}. A supersampled histogram is scaled down in the same pass: every subpixel is
+ * tone mapped on its own, which is what anti-aliases edges, and the colours are filtered into the output pixel. Blocks
+ * of rows are filled in parallel. Not thread safe, the block is reused.
+ */
+final class ToneMappedImage implements RenderedImage {
+    // Same layout as BufferedImage.TYPE_INT_RGB
+    private static final DirectColorModel COLOR_MODEL = new DirectColorModel(24, 0xFF0000, 0x00FF00, 0x0000FF);
+    // Output rows filled at once, split between the threads of the common pool
+    private static final int BLOCK_ROWS = 64;
+
+    private final FractalImage histogram;
+    private final boolean gammaCorrection;
+    private final double gamma;
+    private final double hitScale;
+    private final double densityOffset;
+    private final double logMaxHits;
+    private final int factor;
+    private final Taps taps;
+    private final int width;
+    private final int height;
+    private final int[] block;
+    private int blockStart = -1;
+
+    // Hits of the histogram are fixed point with hitScale per hit. Such fractional densities, as density estimation
+    // leaves, get log(1 + density) brightness, otherwise everything below one hit would be black
+    ToneMappedImage(
+            FractalImage histogram,
+            long maxHits,
+            long hitScale,
+            boolean gammaCorrection,
+            double gamma,
+            int factor,
+            DownsampleFilter filter) {
+        if (histogram.width() % factor != 0 || histogram.height() % factor != 0) {
+            throw new IllegalArgumentException("Histogram of " + histogram.width() + "x" + histogram.height()
+                    + " is not a multiple of the supersample factor " + factor);
+        }
+        this.histogram = histogram;
+        this.gammaCorrection = gammaCorrection;
+        this.gamma = gamma;
+        this.hitScale = hitScale;
+        this.densityOffset = hitScale > 1 ? 1.0 : 0.0;
+        this.logMaxHits = Math.log10(densityOffset + (double) maxHits / hitScale);
+        this.factor = factor;
+        this.taps = Taps.of(factor, filter);
+        this.width = histogram.width() / factor;
+        this.height = histogram.height() / factor;
+        this.block = new int[Math.min(BLOCK_ROWS, height) * width];
+    }
+
+    @Override
+    public WritableRaster copyData(WritableRaster raster) {
+        WritableRaster target = raster != null ? raster : COLOR_MODEL.createCompatibleWritableRaster(width, height);
+        Rectangle area = target.getBounds().intersection(new Rectangle(0, 0, width, height));
+        for (int y = area.y; y < area.y + area.height; y++) {
+            int offset = rowOffset(y) + area.x;
+            target.setDataElements(area.x, y, area.width, 1, Arrays.copyOfRange(block, offset, offset + area.width));
+        }
+        return target;
+    }
+
+    // Where row y starts in the block, filling the block that holds it first
+    private int rowOffset(int y) {
+        int start = y - y % BLOCK_ROWS;
+        if (start != blockStart) {
+            fillBlock(start);
+            blockStart = start;
+        }
+        return (y - start) * width;
+    }
+
+    private void fillBlock(int start) {
+        int end = Math.min(height, start + BLOCK_ROWS);
+        int chunks = Math.min(end - start, ForkJoinPool.getCommonPoolParallelism());
+        // Rows are dealt out round robin, every chunk keeps its own row buffers
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            RowFilter filter = new RowFilter();
+            for (int y = start + chunk; y < end; y += chunks) {
+                filter.filterRow(y, (y - start) * width);
+            }
+        });
+    }
+
+    // Subpixel offsets from the first subpixel of an output pixel along one axis, with unnormalised weights
+    private record Taps(int[] offsets, double[] weights) {
+        static Taps of(int factor, DownsampleFilter filter) {
+            return switch (filter) {
+                case BOX -> {
+                    double[] weights = new double[factor];
+                    Arrays.fill(weights, 1.0);
+                    yield new Taps(IntStream.range(0, factor).toArray(), weights);
+                }
+                case GAUSSIAN -> {
+                    // Sigma of half an output pixel, cut off one output pixel away from its centre
+                    double sigma = factor / 2.0;
+                    int[] offsets = IntStream.range(-factor, 2 * factor)
+                            .filter(offset -> Math.abs(offset + 0.5 - factor / 2.0) < factor)
+                            .toArray();
+                    double[] weights = Arrays.stream(offsets)
+                            .mapToDouble(offset -> {
+                                double distance = offset + 0.5 - factor / 2.0;
+                                return Math.exp(-distance * distance / (2 * sigma * sigma));
+                            })
+                            .toArray();
+                    yield new Taps(offsets, weights);
+                }
+            };
+        }
+    }
+
+    private final class RowFilter {
+        private final long[] histogramRow = new long[histogram.width() * FractalImage.CHANNELS];
+        // Tone mapped subpixels of one histogram row and the filtered output row, RGB interleaved
+        private final double[] subpixels = new double[histogram.width() * 3];
+        private final double[] sums = new double[width * 3];
+
+        void filterRow(int y, int offset) {
+            Arrays.fill(sums, 0.0);
+            double rowWeights = 0;
+            for (int tap = 0; tap < taps.offsets().length; tap++) {
+                int subY = y * factor + taps.offsets()[tap];
+                if (subY < 0 || subY >= histogram.height()) {
+                    continue;
+                }
+                histogram.readRow(subY, histogramRow);
+                toneMap();
+                addHorizontallyFiltered(taps.weights()[tap]);
+                rowWeights += taps.weights()[tap];
+            }
+
+            for (int x = 0; x < width; x++) {
+                int r = (int) (sums[x * 3] / rowWeights);
+                int g = (int) (sums[x * 3 + 1] / rowWeights);
+                int b = (int) (sums[x * 3 + 2] / rowWeights);
+                // Combine RGB into single int
+                block[offset + x] = (r << 16) | (g << 8) | b;
+            }
+        }
+
+        private void toneMap() {
+            for (int x = 0, base = 0; x < histogram.width(); x++, base += FractalImage.CHANNELS) {
+                long hits = histogramRow[base + FractalImage.HITS];
+                if (hits == 0) {
+                    subpixels[x * 3] = 0;
+                    subpixels[x * 3 + 1] = 0;
+                    subpixels[x * 3 + 2] = 0;
+                    continue;
+                }
+
+                double correctedBrightness = 1.0;
+                if (gammaCorrection) {
+                    // Apply logarithmic gamma correction
+                    double brightness = Math.log10(densityOffset + hits / hitScale) / logMaxHits;
+                    correctedBrightness = Math.pow(brightness, 1.0 / gamma);
+                }
+
+                // Normalize by hit count and scale to [0, 255]
+                subpixels[x * 3] = clamp((double) histogramRow[base + FractalImage.RED] / hits * correctedBrightness);
+                subpixels[x * 3 + 1] =
+                        clamp((double) histogramRow[base + FractalImage.GREEN] / hits * correctedBrightness);
+                subpixels[x * 3 + 2] =
+                        clamp((double) histogramRow[base + FractalImage.BLUE] / hits * correctedBrightness);
+            }
+        }
+
+        private void addHorizontallyFiltered(double rowWeight) {
+            int subWidth = histogram.width();
+            for (int x = 0; x < width; x++) {
+                double r = 0;
+                double g = 0;
+                double b = 0;
+                double weights = 0;
+                for (int tap = 0; tap < taps.offsets().length; tap++) {
+                    int subX = x * factor + taps.offsets()[tap];
+                    if (subX < 0 || subX >= subWidth) {
+                        continue;
+                    }
+                    double weight = taps.weights()[tap];
+                    r += weight * subpixels[subX * 3];
+                    g += weight * subpixels[subX * 3 + 1];
+                    b += weight * subpixels[subX * 3 + 2];
+                    weights += weight;
+                }
+                sums[x * 3] += rowWeight * (r / weights);
+                sums[x * 3 + 1] += rowWeight * (g / weights);
+                sums[x * 3 + 2] += rowWeight * (b / weights);
+            }
+        }
+    }
+
+    // NaN, from the brightness of a single hit when no pixel has more, counts as black like before
+    private static double clamp(double value) {
+        return value > 0 ? Math.min(255.0, value) : 0.0;
+    }
+
+    @Override
+    public Raster getData(Rectangle rect) {
+        WritableRaster raster = COLOR_MODEL
+                .createCompatibleWritableRaster(rect.width, rect.height)
+                .createWritableTranslatedChild(rect.x, rect.y);
+        return copyData(raster);
+    }
+
+    @Override
+    public Raster getData() {
+        return getData(new Rectangle(0, 0, width, height));
+    }
+
+    @Override
+    public Raster getTile(int tileX, int tileY) {
+        return getData(new Rectangle(0, tileY, width, 1));
+    }
+
+    @Override
+    public Vector<RenderedImage> getSources() {
+        return null;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        return Image.UndefinedProperty;
+    }
+
+    @Override
+    public String[] getPropertyNames() {
+        return null;
+    }
+
+    @Override
+    public ColorModel getColorModel() {
+        return COLOR_MODEL;
+    }
+
+    @Override
+    public SampleModel getSampleModel() {
+        return COLOR_MODEL.createCompatibleSampleModel(getTileWidth(), getTileHeight());
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getMinX() {
+        return 0;
+    }
+
+    @Override
+    public int getMinY() {
+        return 0;
+    }
+
+    @Override
+    public int getNumXTiles() {
+        return 1;
+    }
+
+    @Override
+    public int getNumYTiles() {
+        return height;
+    }
+
+    @Override
+    public int getMinTileX() {
+        return 0;
+    }
+
+    @Override
+    public int getMinTileY() {
+        return 0;
+    }
+
+    @Override
+    public int getTileWidth() {
+        return width;
+    }
+
+    @Override
+    public int getTileHeight() {
+        return 1;
+    }
+
+    @Override
+    public int getTileGridXOffset() {
+        return 0;
+    }
+
+    @Override
+    public int getTileGridYOffset() {
+        return 0;
+    }
+}
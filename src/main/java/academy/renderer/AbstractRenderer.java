@@ -1,18 +1,26 @@
 package academy.renderer;
 
 import academy.model.AffineTransformation;
+import academy.model.AtomicFractalImage;
 import academy.model.FractalConfig;
 import academy.model.FractalImage;
-import academy.model.Pixel;
+import academy.model.HistogramMode;
+import academy.model.HistogramStorage;
+import academy.model.HitSink;
 import academy.model.Point;
 import academy.model.Rect;
+import academy.model.RenderOptions;
+import academy.model.Shard;
+import academy.model.SynchronizedFractalImage;
+import academy.model.SynchronizedOffHeapFractalImage;
 import academy.model.WeightedFunction;
 import academy.transformation.Transform;
 import academy.transformation.TransformFactory;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,33 +31,279 @@ public abstract class AbstractRenderer implements Renderer {
     protected static final Logger LOGGER = LoggerFactory.getLogger(AbstractRenderer.class);
     protected static final int SKIP_ITERATIONS = 20;
     protected static final Rect WORLD = new Rect(-1.5, -1.5, 3.0, 3.0);
+    private static final long BYTES_IN_MB = 1024 * 1024;
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    // Samples handed to the kernel at once where workers report progress or checkpoint for snapshots
+    protected static final int SAMPLES_PER_BATCH = 64;
+    // A convergent render checks after this fraction of its sample budget, then every time the samples grew by half
+    private static final int FIRST_CONVERGENCE_CHECK = 32;
+    private static final double CONVERGENCE_CHECK_GROWTH = 1.5;
 
-    protected double[] buildCumulativeWeights(FractalConfig config) {
-        double[] weights = new double[config.weightedFunctions().size()];
-        double cumulative = 0;
-        for (int i = 0; i < config.weightedFunctions().size(); i++) {
-            cumulative += config.weightedFunctions().get(i).weight();
-            weights[i] = cumulative;
+    @Override
+    public FractalImage render(FractalConfig config) {
+        return render(config, null, SnapshotListener.NONE);
+    }
+
+    // Renderers plot into the supersampled grid, ImageProcessor scales it down to the output size
+    @Override
+    public final FractalImage render(FractalConfig config, Checkpoint start, SnapshotListener listener) {
+        FractalConfig histogramConfig = config.histogramConfig();
+        // One kernel for all rounds of a convergent render, so persistent walkers go on where the last round stopped
+        IterationKernel kernel = createKernel(histogramConfig);
+        if (config.convergent()) {
+            return renderUntilConverged(histogramConfig, kernel, start, listener);
+        }
+        return renderHistogram(histogramConfig, kernel, start, listener);
+    }
+
+    // Renders a histogram of exactly the config size with a kernel built by createKernel for the config
+    protected abstract FractalImage renderHistogram(
+            FractalConfig config, IterationKernel kernel, Checkpoint start, SnapshotListener listener);
+
+    // Samples a render still has to do: those of its shard, less the ones done in the checkpoint it continues
+    protected static SampleRanges remainingSamples(FractalConfig config, Checkpoint start) {
+        SampleRanges shard = shardSamples(config);
+        if (start == null) {
+            return shard;
         }
-        return weights;
+        start.verify(config);
+        return start.completed().union(shard.complement(config.samples())).complement(config.samples());
+    }
+
+    // All samples unless the render options name a shard or limit them
+    public static SampleRanges shardSamples(FractalConfig config) {
+        Shard shard = config.renderOptions().shard();
+        int limit = config.renderOptions().sampleLimit();
+        int end = shard.endSample(config.samples());
+        return SampleRanges.of(shard.startSample(config.samples()), limit > 0 ? Math.min(end, limit) : end);
+    }
+
+    // Renders growing prefixes of the samples, each round on top of the histogram of the previous one, until the
+    // image changes less than the threshold between rounds or the sample budget is spent
+    private FractalImage renderUntilConverged(
+            FractalConfig config, IterationKernel kernel, Checkpoint start, SnapshotListener listener) {
+        int budget = config.samples();
+        ConvergenceMonitor monitor = new ConvergenceMonitor(config.width(), config.height());
+        long fingerprint = Checkpoint.fingerprint(config);
+        Checkpoint round = start;
+        int limit = Math.max(1, budget / FIRST_CONVERGENCE_CHECK);
+        while (true) {
+            FractalConfig limited = config.withRenderOptions(
+                    config.renderOptions().toBuilder().sampleLimit(limit).build());
+            FractalImage image = renderHistogram(limited, kernel, round, listener);
+            if (round != start) {
+                round.histogram().close();
+            }
+
+            double change = monitor.update(image, limit);
+            LOGGER.info("Convergence check after {} of {} samples: change {}", limit, budget, change);
+            if (change < config.convergenceThreshold()) {
+                LOGGER.info(
+                        "Converged after {} of {} samples ({}% of the budget): change {} is below the threshold {}",
+                        limit, budget, 100L * limit / budget, change, config.convergenceThreshold());
+                return image;
+            }
+            if (limit == budget) {
+                LOGGER.info(
+                        "Sample budget of {} spent before converging: change {} is above the threshold {}",
+                        budget,
+                        change,
+                        config.convergenceThreshold());
+                return image;
+            }
+
+            SampleRanges done = SampleRanges.of(0, limit);
+            round = new Checkpoint(
+                    fingerprint, image, start != null ? start.completed().union(done) : done);
+            limit = (int) Math.min(budget, Math.max(limit + 1L, (long) Math.ceil(limit * CONVERGENCE_CHECK_GROWTH)));
+        }
+    }
+
+    // Renders the samples with ordinals [from, to) of the given set, they count as done once the sink is flushed
+    protected static void processSamples(
+            IterationKernel kernel,
+            SampleRandom sampleRandom,
+            SampleRanges samples,
+            int from,
+            int to,
+            HitSink sink,
+            ProgressiveSnapshots.Contributor contributor) {
+        samples.forEach(from, to, (start, end) -> {
+            kernel.processSamples(sampleRandom, start, end, sink);
+            contributor.done(start, end);
+        });
+    }
+
+    // Adds the histogram of the checkpoint a render continued from to its result
+    protected static FractalImage withCheckpoint(FractalImage image, Checkpoint start) {
+        if (start != null) {
+            image.add(start.histogram(), 0, image.height());
+        }
+        return image;
+    }
+
+    protected AliasTable buildAffineTable(FractalConfig config) {
+        return new AliasTable(config.affineTransformations().stream()
+                .mapToDouble(AffineTransformation::weight)
+                .toArray());
+    }
+
+    protected AliasTable buildTransformTable(FractalConfig config) {
+        return new AliasTable(config.weightedFunctions().stream()
+                .mapToDouble(WeightedFunction::weight)
+                .toArray());
     }
 
     protected Transform[] buildTransforms(FractalConfig config) {
         Transform[] transforms = new Transform[config.weightedFunctions().size()];
         for (int i = 0; i < config.weightedFunctions().size(); i++) {
             WeightedFunction wf = config.weightedFunctions().get(i);
-            transforms[i] = TransformFactory.create(wf.type());
+            transforms[i] = TransformFactory.create(wf);
         }
         return transforms;
     }
 
-    protected int selectTransform(double value, double[] cumulativeWeights) {
-        for (int i = 0; i < cumulativeWeights.length; i++) {
-            if (value <= cumulativeWeights[i]) {
-                return i;
+    protected IterationKernel createKernel(FractalConfig config) {
+        // Alias tables are built once per config and shared by all threads
+        AliasTable affineTable = buildAffineTable(config);
+        AliasTable transformTable = buildTransformTable(config);
+        Transform[] transforms = buildTransforms(config);
+
+        IterationKernel kernel =
+                switch (config.renderOptions().kernel()) {
+                    case CLASSIC ->
+                        (random, sink) -> processSample(random, config, affineTable, transformTable, transforms, sink);
+                    case SCALAR ->
+                        new ScalarKernel(config, WORLD, SKIP_ITERATIONS, transforms, affineTable, transformTable);
+                    case MONOMORPHIC ->
+                        new MonomorphicKernel(config, WORLD, SKIP_ITERATIONS, transforms, affineTable, transformTable);
+                    case VECTOR -> {
+                        if (isVectorApiAvailable()) {
+                            yield new VectorKernel(
+                                    config, WORLD, SKIP_ITERATIONS, transforms, affineTable, transformTable);
+                        }
+                        LOGGER.warn(
+                                "Vector API is not available (run with --add-modules {}), using the scalar kernel",
+                                VECTOR_MODULE);
+                        yield new ScalarKernel(config, WORLD, SKIP_ITERATIONS, transforms, affineTable, transformTable);
+                    }
+                };
+
+        int walkers = config.renderOptions().walkers();
+        if (walkers == 0) {
+            return kernel;
+        }
+        if (kernel instanceof ChainKernel chain) {
+            return new WalkerKernel(chain, walkers, SKIP_ITERATIONS);
+        }
+        LOGGER.warn(
+                "The {} kernel starts every sample afresh, persistent walkers use the scalar kernel",
+                config.renderOptions().kernel());
+        return new WalkerKernel(
+                new ScalarKernel(config, WORLD, SKIP_ITERATIONS, transforms, affineTable, transformTable),
+                walkers,
+                SKIP_ITERATIONS);
+    }
+
+    // Checked before VectorKernel is touched: its class cannot be loaded without the incubator module
+    private static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+
+    // Private histograms are used only if all but one of them (which becomes the result) fit into the budget
+    protected HistogramMode resolveHistogramMode(FractalConfig config, int privateHistograms) {
+        RenderOptions options = config.renderOptions();
+        if (options.histogramMode() == HistogramMode.ATOMIC && options.histogramStorage() != HistogramStorage.HEAP) {
+            LOGGER.info(
+                    "Atomic adds work on a heap histogram only: using a shared {} histogram",
+                    options.histogramStorage());
+            return HistogramMode.SHARED;
+        }
+        if (options.histogramMode() != HistogramMode.PRIVATE) {
+            return options.histogramMode();
+        }
+
+        long required = privateHistogramBytes(config, privateHistograms);
+        if (required > options.memoryBudgetBytes()) {
+            LOGGER.info(
+                    "Private histograms need {} MB, budget is {} MB: falling back to a shared histogram",
+                    required / BYTES_IN_MB,
+                    options.memoryBudgetBytes() / BYTES_IN_MB);
+            return HistogramMode.SHARED;
+        }
+        return HistogramMode.PRIVATE;
+    }
+
+    // Memory of the private histograms beyond the one that becomes the result
+    static long privateHistogramBytes(FractalConfig config, int privateHistograms) {
+        return (privateHistograms - 1) * FractalImage.bytesFor(config.width(), config.height());
+    }
+
+    // Histogram written by all threads at once, null when every thread gets its own
+    protected FractalImage createSharedHistogram(FractalConfig config, HistogramMode mode) {
+        HistogramStorage storage = config.renderOptions().histogramStorage();
+        return switch (mode) {
+            case SHARED ->
+                storage == HistogramStorage.HEAP
+                        ? new SynchronizedFractalImage(config.width(), config.height())
+                        : new SynchronizedOffHeapFractalImage(config.width(), config.height(), storage);
+            case ATOMIC -> new AtomicFractalImage(config.width(), config.height());
+            case PRIVATE -> null;
+        };
+    }
+
+    // Histogram of the config size in the configured storage
+    protected static FractalImage createHistogram(FractalConfig config) {
+        return FractalImage.create(
+                config.width(), config.height(), config.renderOptions().histogramStorage());
+    }
+
+    // Sums histograms into the first one and releases the others
+    protected static FractalImage mergeHistograms(FractalImage[] histograms) {
+        FractalImage image = histograms[0];
+        if (histograms.length > 1) {
+            FractalImage[] sources = Arrays.copyOfRange(histograms, 1, histograms.length);
+            HistogramMerger.merge(image, sources);
+            for (FractalImage source : sources) {
+                source.close();
             }
         }
-        return cumulativeWeights.length - 1;
+        return image;
+    }
+
+    // What a render thread plots into: the histogram itself or a scatter buffer in front of it
+    protected HitSink createSink(FractalConfig config, HitSink histogram) {
+        int bufferSize = config.renderOptions().scatterBufferSize();
+        if (bufferSize == 0) {
+            return histogram;
+        }
+        return new ScatterBuffer(histogram, config.width() * config.height(), bufferSize);
+    }
+
+    // Writes out hits still held by a sink from createSink
+    protected static void flushSink(HitSink sink) {
+        if (sink instanceof ScatterBuffer buffer) {
+            buffer.flush();
+        }
+    }
+
+    // Logs the share of computed iterations that never reached the histogram: warm-ups and points outside the image
+    protected static void logIterationUsage(
+            FractalConfig config, IterationKernel kernel, int samples, FractalImage histogram) {
+        long warmUp = kernel.chainsStarted(samples) * SKIP_ITERATIONS;
+        long computed = (long) samples * config.iterationsPerSample() + warmUp;
+        if (computed == 0) {
+            return;
+        }
+        long outside = computed - warmUp - histogram.totalHitCount();
+        LOGGER.info(
+                "Iterations: {} computed, {}% not plotted ({}% warm-up, {}% outside the image)",
+                computed, percent(warmUp + outside, computed), percent(warmUp, computed), percent(outside, computed));
+    }
+
+    // Percentage with one decimal
+    private static double percent(long part, long total) {
+        return Math.round(1000.0 * part / total) / 10.0;
     }
 
     protected void logProgress(int sample, int totalSamples, AtomicInteger lastLoggedPercent) {
@@ -61,20 +315,13 @@ public abstract class AbstractRenderer implements Renderer {
         }
     }
 
-    protected void logSimpleProgress(int sample, int totalSamples) {
-        if (sample > 0 && sample % (totalSamples / 10) == 0) {
-            int percent = (int) ((double) sample / totalSamples * 100);
-            LOGGER.info("Progress: {}%", percent);
-        }
-    }
-
     protected void processSample(
-            Random random,
+            RandomGenerator random,
             FractalConfig config,
-            double totalWeight,
-            double[] cumulativeWeights,
+            AliasTable affineTable,
+            AliasTable transformTable,
             Transform[] transforms,
-            FractalImage image) {
+            HitSink sink) {
 
         // Кэшируем часто используемые значения
         double worldX = WORLD.x();
@@ -85,7 +332,6 @@ public abstract class AbstractRenderer implements Renderer {
         int height = config.height();
 
         List<AffineTransformation> affineList = config.affineTransformations();
-        int affineSize = affineList.size();
 
         // Start with random point in [-1, 1] range
         double startX = random.nextDouble() * 2 - 1;
@@ -93,14 +339,14 @@ public abstract class AbstractRenderer implements Renderer {
         Point point = new Point(startX, startY);
 
         // Skip first iterations to let the point "settle" into the attractor
-        for (int step = -SKIP_ITERATIONS; step < config.iterationCount(); step++) {
-            // Apply random affine transformation
-            int affineIndex = random.nextInt(affineSize);
+        for (int step = -SKIP_ITERATIONS; step < config.iterationsPerSample(); step++) {
+            // Apply random affine transformation based on weights
+            int affineIndex = affineTable.sample(random);
             AffineTransformation affine = affineList.get(affineIndex);
             point = affine.apply(point);
 
             // Apply random non-linear transformation based on weights
-            int transformIndex = selectTransform(random.nextDouble() * totalWeight, cumulativeWeights);
+            int transformIndex = transformTable.sample(random);
             point = transforms[transformIndex].apply(point);
 
             // Only plot points after warm-up and if they're within bounds
@@ -116,8 +362,7 @@ public abstract class AbstractRenderer implements Renderer {
 
                     // Проверка границ
                     if (pixelX >= 0 && pixelX < width && pixelY >= 0 && pixelY < height) {
-                        Pixel pixel = image.pixel(pixelX, pixelY);
-                        pixel.hit(affine.red(), affine.green(), affine.blue());
+                        sink.hit(pixelY * width + pixelX, affine.red(), affine.green(), affine.blue());
                     }
                 }
             }
@@ -0,0 +1,93 @@
+package academy.renderer;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Walker alias table built with Vose's method: picks index {@code i} with probability {@code weights[i] / sum} in
+ * constant time from a single uniform draw, regardless of the number of weights.
+ */
+public final class AliasTable {
+    private final double[] probability;
+    private final int[] alias;
+
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("Alias table needs at least one weight");
+        }
+        double sum = 0;
+        for (double weight : weights) {
+            if (!(weight > 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weight must be positive and finite, got: " + weight);
+            }
+            sum += weight;
+        }
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        // Scale weights so that their mean is 1, then pair every "small" cell with a "large" donor
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Whatever is left is 1 up to rounding errors
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+    }
+
+    // The integer part of u * n picks the cell, the fractional part decides between the cell and its alias
+    public int sample(double uniform) {
+        double scaled = uniform * probability.length;
+        int index = (int) scaled;
+        return scaled - index < probability[index] ? index : alias[index];
+    }
+
+    public int sample(RandomGenerator random) {
+        return sample(random.nextDouble());
+    }
+
+    // Backing arrays for kernels that sample many lanes at once, must not be modified
+    double[] probabilities() {
+        return probability;
+    }
+
+    int[] aliases() {
+        return alias;
+    }
+
+    public int size() {
+        return probability.length;
+    }
+}
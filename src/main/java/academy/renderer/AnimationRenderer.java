@@ -0,0 +1,127 @@
+package academy.renderer;
+
+import academy.model.Animation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Renders the frames of an animation in one JVM. Frames are spread over one pool with the thread count of the first
+ * keyframe, each worker renders whole frames single-threaded, and the workers and the writer share threads + 1
+ * histograms that are cleared and reused from frame to frame. Finished frames go to the writer on a thread of its own,
+ * so encoding a frame overlaps rendering the next ones; a slow writer holds the workers back instead of piling up
+ * histograms.
+ */
+public class AnimationRenderer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnimationRenderer.class);
+
+    public void render(Animation animation, FrameWriter writer) throws IOException {
+        LOGGER.info("Starting animation rendering of {} frames", animation.frames());
+        long startTime = System.currentTimeMillis();
+
+        FractalConfig grid = animation.frame(0).histogramConfig();
+        int threads = grid.threads();
+        BlockingQueue<FractalImage> histograms = new ArrayBlockingQueue<>(threads + 1);
+        for (int i = 0; i < threads + 1; i++) {
+            histograms.add(FractalImage.create(
+                    grid.width(), grid.height(), grid.renderOptions().histogramStorage()));
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        ExecutorService encoder = Executors.newSingleThreadExecutor();
+        Queue<Future<?>> writes = new ConcurrentLinkedQueue<>();
+        try {
+            List<Future<?>> renders = new ArrayList<>(animation.frames());
+            for (int frame = 0; frame < animation.frames(); frame++) {
+                int index = frame;
+                renders.add(workers.submit(() -> {
+                    renderFrame(animation.frame(index), index, histograms, encoder, writes, writer);
+                    return null;
+                }));
+            }
+            for (Future<?> render : renders) {
+                await(render);
+            }
+            // Every write is queued once the renders are done
+            for (Future<?> write : writes) {
+                await(write);
+            }
+        } finally {
+            workers.shutdownNow();
+            encoder.shutdownNow();
+            awaitTermination(workers);
+            awaitTermination(encoder);
+            histograms.forEach(FractalImage::close);
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        LOGGER.info("Animation rendering completed in {} ms, {} ms per frame", elapsed, elapsed / animation.frames());
+    }
+
+    private static void renderFrame(
+            FractalConfig config,
+            int index,
+            BlockingQueue<FractalImage> histograms,
+            ExecutorService encoder,
+            Queue<Future<?>> writes,
+            FrameWriter writer)
+            throws InterruptedException {
+        FractalImage histogram = histograms.take();
+        long startTime = System.currentTimeMillis();
+        try {
+            histogram.clear();
+            new SingleThreadRenderer().renderInto(config, histogram);
+        } catch (RuntimeException e) {
+            histograms.add(histogram);
+            throw e;
+        }
+        LOGGER.info("Frame {} rendered in {} ms", index, System.currentTimeMillis() - startTime);
+
+        writes.add(encoder.submit(() -> {
+            try {
+                writer.write(index, config, histogram);
+            } finally {
+                histograms.add(histogram);
+            }
+            return null;
+        }));
+    }
+
+    private static void await(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Animation rendering interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Animation frame failed", e.getCause());
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
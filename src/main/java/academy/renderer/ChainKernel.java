@@ -0,0 +1,10 @@
+package academy.renderer;
+
+import academy.model.HitSink;
+import java.util.random.RandomGenerator;
+
+/** Kernel that can go on with a chain from where a previous sample left it, rather than only from a fresh point. */
+public interface ChainKernel extends IterationKernel {
+    // Runs warmUp unplotted iterations and then the plotted ones of a sample, moving the point in place
+    void iterate(RandomGenerator random, double[] point, int warmUp, HitSink sink);
+}
@@ -0,0 +1,215 @@
+package academy.renderer;
+
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.HistogramMode;
+import academy.model.HistogramStorage;
+import academy.model.RenderOptions;
+import academy.model.RendererType;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * State of an interrupted render: the histogram of the samples that are done and which samples those are. Samples are
+ * independent and the histogram is integer, so rendering the remaining samples on top of a checkpoint gives the image
+ * of an uninterrupted run.
+ *
+ * <p>File layout, little endian: magic, format version, config fingerprint, width, height, number of ranges, the ranges
+ * as start and end ints, then the histogram longs.
+ */
+public record Checkpoint(long fingerprint, FractalImage histogram, SampleRanges completed) {
+    private static final int MAGIC = 0x4B434646; // "FFCK"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES + Long.BYTES;
+    private static final long BYTES_IN_MB = 1024 * 1024;
+
+    public Checkpoint {
+        if (histogram == null || completed == null) {
+            throw new IllegalArgumentException("Checkpoint needs a histogram and completed samples");
+        }
+    }
+
+    // Identifies everything the histogram depends on, a checkpoint only resumes the render it was taken from
+    public static long fingerprint(FractalConfig config) {
+        // The histogram of a supersampled render has the size of the grid
+        FractalConfig histogramConfig = config.histogramConfig();
+        String state = String.join(
+                "|",
+                String.valueOf(histogramConfig.width()),
+                String.valueOf(histogramConfig.height()),
+                String.valueOf(config.seed()),
+                String.valueOf(config.samples()),
+                String.valueOf(config.iterationsPerSample()),
+                config.affineTransformations().toString(),
+                config.weightedFunctions().toString(),
+                config.renderOptions().random().name(),
+                config.renderOptions().kernel().name(),
+                String.valueOf(config.renderOptions().walkers()));
+        CRC32C crc = new CRC32C();
+        crc.update(state.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    // Checks that renders of the config take exact snapshots: private histograms that fit the memory budget
+    public static void requireExactSnapshots(FractalConfig config) {
+        RenderOptions options = config.renderOptions();
+        // One thread always renders into a histogram of its own
+        if (config.threads() == 1) {
+            return;
+        }
+        if (options.renderer() == RendererType.TILED || options.histogramMode() != HistogramMode.PRIVATE) {
+            throw new IllegalArgumentException("Checkpoints need private histograms (--histogram-mode private and not"
+                    + " the tiled renderer), got " + options.histogramMode() + " with the " + options.renderer()
+                    + " renderer");
+        }
+        long required = AbstractRenderer.privateHistogramBytes(config.histogramConfig(), config.threads());
+        if (required > options.memoryBudgetBytes()) {
+            throw new IllegalArgumentException(
+                    "Checkpoints need private histograms, which take " + required / BYTES_IN_MB
+                            + " MB over the memory budget of " + options.memoryBudgetBytes() / BYTES_IN_MB
+                            + " MB: raise --memory-budget or use fewer threads");
+        }
+    }
+
+    // Checks that this checkpoint belongs to the given config
+    public void verify(FractalConfig config) {
+        FractalConfig histogramConfig = config.histogramConfig();
+        if (fingerprint != fingerprint(config)
+                || histogram.width() != histogramConfig.width()
+                || histogram.height() != histogramConfig.height()) {
+            throw new IllegalArgumentException("Checkpoint was written for a different config");
+        }
+        int[] pairs = completed.toPairs();
+        if (pairs.length > 0 && pairs[pairs.length - 1] > config.samples()) {
+            throw new IllegalArgumentException("Checkpoint has samples beyond the sample count of the config");
+        }
+    }
+
+    // Writes to a temporary file first and moves it over the old checkpoint, which stays valid until then
+    public void write(Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        int[] pairs = completed.toPairs();
+        try (FileChannel channel = FileChannel.open(
+                temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + pairs.length * Integer.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(fingerprint);
+            header.putInt(histogram.width()).putInt(histogram.height()).putInt(pairs.length / 2);
+            for (int value : pairs) {
+                header.putInt(value);
+            }
+            writeFully(channel, header.flip());
+
+            // Row by row, the histogram may be off-heap
+            long[] row = new long[histogram.width() * FractalImage.CHANNELS];
+            ByteBuffer chunk =
+                    ByteBuffer.allocateDirect(row.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            LongBuffer longs = chunk.asLongBuffer();
+            for (int y = 0; y < histogram.height(); y++) {
+                histogram.readRow(y, row);
+                longs.clear();
+                longs.put(row);
+                writeFully(channel, chunk.clear());
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static Checkpoint read(Path path) throws IOException {
+        return read(path, HistogramStorage.HEAP);
+    }
+
+    public static Checkpoint read(Path path, HistogramStorage storage) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = Header.read(channel, path);
+            if (channel.size() < header.dataOffset() + header.histogramBytes()) {
+                throw new IllegalArgumentException("Truncated checkpoint: " + path);
+            }
+            int height = header.height();
+            FractalImage histogram = FractalImage.create(header.width(), height, storage);
+            long[] row = new long[header.width() * FractalImage.CHANNELS];
+            ByteBuffer chunk =
+                    ByteBuffer.allocateDirect(row.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            LongBuffer longs = chunk.asLongBuffer();
+            try {
+                for (int y = 0; y < height; y++) {
+                    fill(channel, chunk.clear(), path);
+                    longs.clear();
+                    longs.get(row);
+                    histogram.writeRow(y, row);
+                }
+            } catch (IOException | RuntimeException e) {
+                histogram.close();
+                throw e;
+            }
+            return new Checkpoint(header.fingerprint(), histogram, header.completed());
+        }
+    }
+
+    // Everything in front of the histogram, which starts at dataOffset and holds height rows of width pixels
+    record Header(long fingerprint, int width, int height, SampleRanges completed, long dataOffset) {
+        // Reads the header from the start of the channel, leaving it positioned at the histogram
+        static Header read(FileChannel channel, Path path) throws IOException {
+            ByteBuffer header = readFully(channel, HEADER_BYTES, path);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IllegalArgumentException("Not a fractal flame checkpoint: " + path);
+            }
+            long fingerprint = header.getLong();
+            int width = header.getInt();
+            int height = header.getInt();
+            int ranges = header.getInt();
+            if (width <= 0
+                    || height <= 0
+                    || (long) width * height > Integer.MAX_VALUE
+                    || ranges < 0
+                    || ranges > Integer.MAX_VALUE / (2 * Integer.BYTES)) {
+                throw new IllegalArgumentException("Corrupted checkpoint header: " + path);
+            }
+            // Checked before the ranges are allocated, the count of a corrupted header may be anything
+            int rangesBytes = ranges * 2 * Integer.BYTES;
+            long dataOffset = HEADER_BYTES + (long) rangesBytes;
+            if (channel.size() < dataOffset) {
+                throw new IllegalArgumentException("Truncated checkpoint: " + path);
+            }
+
+            ByteBuffer rangeBytes = readFully(channel, rangesBytes, path);
+            int[] pairs = new int[ranges * 2];
+            rangeBytes.asIntBuffer().get(pairs);
+            return new Header(fingerprint, width, height, SampleRanges.fromPairs(pairs), dataOffset);
+        }
+
+        long histogramBytes() {
+            return (long) width * height * FractalImage.CHANNELS * Long.BYTES;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, int bytes, Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        fill(channel, buffer, path);
+        return buffer.flip();
+    }
+
+    private static void fill(FileChannel channel, ByteBuffer buffer, Path path) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IllegalArgumentException("Truncated checkpoint: " + path);
+            }
+        }
+    }
+}
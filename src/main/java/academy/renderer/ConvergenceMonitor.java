@@ -0,0 +1,63 @@
+package academy.renderer;
+
+import academy.model.FractalImage;
+
+/**
+ * Measures how much a growing histogram still changes. A fixed random set of pixels is read at every check; their log
+ * densities are normalised by the largest one of the set, as tone mapping does, so the measure does not grow with the
+ * sample count. The change is the sum of absolute differences to the previous check over the sum of the values, divided
+ * by the logarithm of the sample growth since then, so checks at different intervals compare alike.
+ */
+final class ConvergenceMonitor {
+    static final int SAMPLED_PIXELS = 1 << 14;
+    private static final long PIXEL_SEED = 0x5DEECE66DL;
+
+    private final int[] pixels;
+    private double[] previous;
+    private int previousSamples;
+
+    ConvergenceMonitor(int width, int height) {
+        int size = width * height;
+        this.pixels = new int[Math.min(SAMPLED_PIXELS, size)];
+        if (pixels.length == size) {
+            for (int i = 0; i < size; i++) {
+                pixels[i] = i;
+            }
+        } else {
+            SplitMix64 random = new SplitMix64(PIXEL_SEED);
+            for (int i = 0; i < pixels.length; i++) {
+                pixels[i] = random.nextInt(size);
+            }
+        }
+    }
+
+    // Relative change since the previous check, infinite at the first check and while the sampled pixels are empty
+    double update(FractalImage histogram, int samples) {
+        long maxHits = 0;
+        long[] hits = new long[pixels.length];
+        for (int i = 0; i < pixels.length; i++) {
+            hits[i] = histogram.hitCount(pixels[i]);
+            maxHits = Math.max(maxHits, hits[i]);
+        }
+        if (maxHits == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double scale = 1 / Math.log1p(maxHits);
+        double[] current = new double[pixels.length];
+        double difference = 0;
+        double total = 0;
+        for (int i = 0; i < pixels.length; i++) {
+            current[i] = Math.log1p(hits[i]) * scale;
+            total += current[i];
+            if (previous != null) {
+                difference += Math.abs(current[i] - previous[i]);
+            }
+        }
+        boolean first = previous == null;
+        double growth = Math.log((double) samples / previousSamples);
+        previous = current;
+        previousSamples = samples;
+        return first ? Double.POSITIVE_INFINITY : difference / total / growth;
+    }
+}
@@ -0,0 +1,168 @@
+package academy.renderer;
+
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.HistogramMode;
+import academy.model.HitSink;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renderer on a work-stealing {@link ForkJoinPool}. Sample ranges are split recursively down to small chunks, the last
+ * splits only while there is no surplus of queued work, so idle workers steal from busy ones and a slow thread does not
+ * hold back the whole render. Each chunk is rendered in batches that report progress and reach snapshots. Renderers
+ * with the same thread count share one pool for the lifetime of the JVM, its workers are daemon threads that retire
+ * when idle, so nothing has to be closed.
+ */
+public class ForkJoinRenderer extends AbstractRenderer {
+    // Stop splitting small ranges once a worker already has this many tasks queued for thieves
+    private static final int MAX_SURPLUS_TASKS = 3;
+    // Ranges of up to this many minimal chunks count as small, larger ones are split regardless of the surplus
+    private static final int SMALL_CHUNKS = 16;
+    // Upper bound for the number of leaf tasks per worker, keeps splitting overhead negligible
+    private static final int MAX_CHUNKS_PER_THREAD = 256;
+
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    @Override
+    protected FractalImage renderHistogram(
+            FractalConfig config, IterationKernel kernel, Checkpoint start, SnapshotListener listener) {
+        LOGGER.info("Starting fork-join rendering with {} threads", config.threads());
+        long startTime = System.currentTimeMillis();
+
+        ForkJoinPool workers = POOLS.computeIfAbsent(config.threads(), ForkJoinPool::new);
+        HistogramMode mode = resolveHistogramMode(config, config.threads());
+        LOGGER.info("Using {} histogram mode", mode);
+
+        RenderContext context = new RenderContext(config, kernel, mode, start, listener);
+        int totalSamples = context.samples.count();
+        int minChunk = Math.max(1, totalSamples / (config.threads() * MAX_CHUNKS_PER_THREAD));
+        workers.invoke(new RenderTask(context, 0, totalSamples, minChunk, null));
+
+        FractalImage result = context.result();
+        logIterationUsage(config, context.kernel, totalSamples, result);
+        FractalImage image = withCheckpoint(result, start);
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        LOGGER.info("Rendering completed in {} ms", elapsed);
+
+        return image;
+    }
+
+    private final class RenderContext {
+        private final FractalConfig config;
+        private final IterationKernel kernel;
+        private final SampleRanges samples;
+        private final FractalImage shared;
+        private final Map<Thread, FractalImage> histograms = new ConcurrentHashMap<>();
+        // Scatter buffers of the worker threads outlive single tasks, a task flushes its buffer before it finishes
+        private final Map<Thread, HitSink> sinks = new ConcurrentHashMap<>();
+        private final Map<Thread, ProgressiveSnapshots.Contributor> contributors = new ConcurrentHashMap<>();
+        private final ProgressiveSnapshots snapshots;
+        private final AtomicInteger completedSamples = new AtomicInteger(0);
+        private final AtomicInteger lastLoggedPercent = new AtomicInteger(0);
+
+        RenderContext(
+                FractalConfig config,
+                IterationKernel kernel,
+                HistogramMode mode,
+                Checkpoint start,
+                SnapshotListener listener) {
+            this.config = config;
+            this.kernel = kernel;
+            this.samples = remainingSamples(config, start);
+            this.shared = createSharedHistogram(config, mode);
+            this.snapshots = new ProgressiveSnapshots(config, listener, shared, start);
+        }
+
+        // Private histograms are keyed by the thread that runs the task, whichever task it steals
+        FractalImage histogram() {
+            if (shared != null) {
+                return shared;
+            }
+            return histograms.computeIfAbsent(Thread.currentThread(), thread -> createHistogram(config));
+        }
+
+        void render(int startSample, int endSample) {
+            HitSink sink = sinks.computeIfAbsent(Thread.currentThread(), thread -> createSink(config, histogram()));
+            // A worker contributes to snapshots only while it runs a task, idle ones are read as they are
+            ProgressiveSnapshots.Contributor contributor = contributors.get(Thread.currentThread());
+            if (contributor == null) {
+                contributor = snapshots.join(histogram(), sink);
+                contributors.put(Thread.currentThread(), contributor);
+            } else {
+                snapshots.resume(contributor);
+            }
+            SampleRandom sampleRandom =
+                    SampleRandom.create(config.renderOptions().random(), config.seed());
+            for (int from = startSample; from < endSample; from += SAMPLES_PER_BATCH) {
+                int end = Math.min(endSample, from + SAMPLES_PER_BATCH);
+                processSamples(kernel, sampleRandom, samples, from, end, sink, contributor);
+
+                int total = completedSamples.addAndGet(end - from);
+                logProgress(total, samples.count(), lastLoggedPercent);
+                snapshots.checkpoint(contributor, total);
+            }
+            flushSink(sink);
+            snapshots.finish(contributor);
+        }
+
+        FractalImage result() {
+            snapshots.close();
+            if (shared != null) {
+                return shared;
+            }
+            FractalImage[] images = histograms.values().toArray(FractalImage[]::new);
+            if (images.length == 0) {
+                return createHistogram(config);
+            }
+            return mergeHistograms(images);
+        }
+    }
+
+    private static final class RenderTask extends RecursiveAction {
+        private final transient RenderContext context;
+        private final int startSample;
+        private final int endSample;
+        private final int minChunk;
+        // Next task forked by the same parent, joined in reverse order of forking
+        private final transient RenderTask next;
+
+        RenderTask(RenderContext context, int startSample, int endSample, int minChunk, RenderTask next) {
+            this.context = context;
+            this.startSample = startSample;
+            this.endSample = endSample;
+            this.minChunk = minChunk;
+            this.next = next;
+        }
+
+        @Override
+        protected void compute() {
+            int end = endSample;
+            RenderTask forked = null;
+            // Adaptive splitting: large ranges are always halved, small ones only while thieves could pick them up
+            while (end - startSample > minChunk
+                    && (end - startSample > minChunk * SMALL_CHUNKS
+                            || getSurplusQueuedTaskCount() <= MAX_SURPLUS_TASKS)) {
+                int middle = (startSample + end) >>> 1;
+                forked = new RenderTask(context, middle, end, minChunk, forked);
+                forked.fork();
+                end = middle;
+            }
+
+            context.render(startSample, end);
+
+            while (forked != null) {
+                if (forked.tryUnfork()) {
+                    forked.compute();
+                } else {
+                    forked.join();
+                }
+                forked = forked.next;
+            }
+        }
+    }
+}
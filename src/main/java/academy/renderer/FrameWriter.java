@@ -0,0 +1,11 @@
+package academy.renderer;
+
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import java.io.IOException;
+
+/** Receives finished animation frames on the writer thread, the histogram is recycled once the call returns. */
+@FunctionalInterface
+public interface FrameWriter {
+    void write(int index, FractalConfig config, FractalImage histogram) throws IOException;
+}
@@ -0,0 +1,45 @@
+package academy.renderer;
+
+import academy.model.FractalImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/** Sums several histograms into one, splitting the work by row stripes so workers never touch the same rows. */
+public final class HistogramMerger {
+    private static final int ROWS_PER_TASK = 32;
+
+    private HistogramMerger() {}
+
+    public static void merge(FractalImage target, FractalImage[] sources) {
+        if (sources.length == 0) {
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new MergeTask(target, sources, 0, target.height()));
+    }
+
+    private static final class MergeTask extends RecursiveAction {
+        private final transient FractalImage target;
+        private final transient FractalImage[] sources;
+        private final int fromRow;
+        private final int toRow;
+
+        MergeTask(FractalImage target, FractalImage[] sources, int fromRow, int toRow) {
+            this.target = target;
+            this.sources = sources;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow <= ROWS_PER_TASK) {
+                for (FractalImage source : sources) {
+                    target.add(source, fromRow, toRow);
+                }
+                return;
+            }
+            int middle = (fromRow + toRow) >>> 1;
+            invokeAll(new MergeTask(target, sources, fromRow, middle), new MergeTask(target, sources, middle, toRow));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package academy.renderer;
+
+import academy.model.HitSink;
+import java.util.random.RandomGenerator;
+
+/** Runs one chaos game sample (warm-up plus plotted iterations) into a histogram or any other {@link HitSink}. */
+@FunctionalInterface
+public interface IterationKernel {
+    void processSample(RandomGenerator random, HitSink sink);
+
+    // Runs samples [start, end); kernels that iterate several samples at once override this
+    default void processSamples(SampleRandom sampleRandom, int start, int end, HitSink sink) {
+        for (int sample = start; sample < end; sample++) {
+            // Use deterministic random stream for each sample based on seed + sample index
+            processSample(sampleRandom.forSample(sample), sink);
+        }
+    }
+
+    // Chains started from a random point among the given samples, each one pays the warm-up
+    default long chainsStarted(long samples) {
+        return samples;
+    }
+}
@@ -0,0 +1,94 @@
+package academy.renderer;
+
+import academy.model.FractalConfig;
+import academy.model.HitSink;
+import academy.model.Rect;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import academy.transformation.Disc;
+import academy.transformation.Heart;
+import academy.transformation.Horseshoe;
+import academy.transformation.Hyperbolic;
+import academy.transformation.Polar;
+import academy.transformation.Sinusoidal;
+import academy.transformation.Spherical;
+import academy.transformation.Spiral;
+import academy.transformation.Swirl;
+import academy.transformation.Transform;
+import java.util.random.RandomGenerator;
+
+/**
+ * {@link ScalarKernel} with the variation call replaced by a switch on the drawn variation's type. Every branch calls
+ * the static form of a built-in variation, so the hot loop has no megamorphic {@link Transform#apply} call site and the
+ * JIT inlines the variation math however many variations the config mixes. Only custom variations still go through
+ * their compiled {@link Transform}. Produces the same image as the scalar kernel.
+ */
+public final class MonomorphicKernel implements ChainKernel {
+    private final ScalarKernel scalar;
+    private final double[] coefficients;
+    private final TransformationType[] types;
+    private final Transform[] transforms;
+    private final AliasTable affineTable;
+    private final AliasTable transformTable;
+    private final int iterations;
+    private final int skipIterations;
+
+    public MonomorphicKernel(
+            FractalConfig config,
+            Rect world,
+            int skipIterations,
+            Transform[] transforms,
+            AliasTable affineTable,
+            AliasTable transformTable) {
+        this.scalar = new ScalarKernel(config, world, skipIterations, transforms, affineTable, transformTable);
+        this.coefficients = ScalarKernel.flattenCoefficients(config.affineTransformations());
+        this.types =
+                config.weightedFunctions().stream().map(WeightedFunction::type).toArray(TransformationType[]::new);
+        this.transforms = transforms.clone();
+        this.affineTable = affineTable;
+        this.transformTable = transformTable;
+        this.iterations = config.iterationsPerSample();
+        this.skipIterations = skipIterations;
+    }
+
+    @Override
+    public void processSample(RandomGenerator random, HitSink sink) {
+        // Start with random point in [-1, 1] range
+        double[] point = {random.nextDouble() * 2 - 1, random.nextDouble() * 2 - 1};
+        iterate(random, point, skipIterations, sink);
+    }
+
+    @Override
+    public void iterate(RandomGenerator random, double[] point, int warmUp, HitSink sink) {
+        for (int step = -warmUp; step < iterations; step++) {
+            int affine = affineTable.sample(random);
+            int base = affine * ScalarKernel.COEFFICIENTS;
+            double px = point[0];
+            double py = point[1];
+            point[0] = coefficients[base] * px + coefficients[base + 1] * py + coefficients[base + 2];
+            point[1] = coefficients[base + 3] * px + coefficients[base + 4] * py + coefficients[base + 5];
+
+            int variation = transformTable.sample(random);
+            // An enum switch compiles to a table switch on the ordinal
+            switch (types[variation]) {
+                case LINEAR -> {
+                    // Identity
+                }
+                case SINUSOIDAL -> Sinusoidal.transform(point);
+                case SPHERICAL -> Spherical.transform(point);
+                case SWIRL -> Swirl.transform(point);
+                case HORSESHOE -> Horseshoe.transform(point);
+                case POLAR -> Polar.transform(point);
+                case DISC -> Disc.transform(point);
+                case HEART -> Heart.transform(point);
+                case SPIRAL -> Spiral.transform(point);
+                case HYPERBOLIC -> Hyperbolic.transform(point);
+                case CUSTOM -> transforms[variation].apply(point);
+            }
+
+            if (step >= 0) {
+                scalar.plot(sink, point[0], point[1], affine);
+            }
+        }
+    }
+}
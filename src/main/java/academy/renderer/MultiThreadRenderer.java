@@ -2,37 +2,38 @@ package academy.renderer;
 
 import academy.model.FractalConfig;
 import academy.model.FractalImage;
-import academy.transformation.Transform;
-import java.util.Random;
+import academy.model.HistogramMode;
+import academy.model.HitSink;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class MultiThreadRenderer extends AbstractRenderer {
-
     @Override
-    public FractalImage render(FractalConfig config) {
+    protected FractalImage renderHistogram(
+            FractalConfig config, IterationKernel kernel, Checkpoint start, SnapshotListener listener) {
         // Если 1 поток - используем однопоточный рендерер для честного сравнения
         if (config.threads() == 1) {
             LOGGER.info("Using single-threaded approach for 1 thread");
             SingleThreadRenderer single = new SingleThreadRenderer();
-            return single.render(config);
+            return single.renderHistogram(config, kernel, start, listener);
         }
 
         LOGGER.info("Starting multi-threaded rendering with {} threads", config.threads());
         long startTime = System.currentTimeMillis();
 
-        FractalImage image = new FractalImage(config.width(), config.height());
+        HistogramMode mode = resolveHistogramMode(config, config.threads());
+        FractalImage[] histograms = createHistograms(config, mode);
+        LOGGER.info("Using {} histogram mode", mode);
 
-        // Pre-calculate data for all threads
-        double totalWeight = config.totalWeight();
-        double[] cumulativeWeights = buildCumulativeWeights(config);
-        Transform[] transforms = buildTransforms(config);
+        ProgressiveSnapshots snapshots =
+                new ProgressiveSnapshots(config, listener, histograms.length == 1 ? histograms[0] : null, start);
 
         // Split work between threads
-        int samplesPerThread = config.iterationCount() / config.threads();
-        int remainingSamples = config.iterationCount() % config.threads();
+        SampleRanges samples = remainingSamples(config, start);
+        int samplesPerThread = samples.count() / config.threads();
+        int remainingSamples = samples.count() % config.threads();
 
         ExecutorService executor = Executors.newFixedThreadPool(config.threads());
         AtomicInteger completedSamples = new AtomicInteger(0);
@@ -40,17 +41,16 @@ public class MultiThreadRenderer extends AbstractRenderer {
 
         int startSample = 0;
         for (int threadId = 0; threadId < config.threads(); threadId++) {
-            int samples = samplesPerThread + (threadId < remainingSamples ? 1 : 0);
-            int endSample = startSample + samples;
+            int endSample = startSample + samplesPerThread + (threadId < remainingSamples ? 1 : 0);
 
             RenderTask task = new RenderTask(
                     startSample,
                     endSample,
-                    image,
+                    histograms[threadId % histograms.length],
                     config,
-                    cumulativeWeights,
-                    transforms,
-                    totalWeight,
+                    kernel,
+                    samples,
+                    snapshots,
                     completedSamples,
                     lastLoggedPercent);
 
@@ -65,6 +65,11 @@ public class MultiThreadRenderer extends AbstractRenderer {
             LOGGER.error("Rendering interrupted", e);
             Thread.currentThread().interrupt();
         }
+        snapshots.close();
+
+        FractalImage merged = mergeHistograms(histograms);
+        logIterationUsage(config, kernel, samples.count(), merged);
+        FractalImage image = withCheckpoint(merged, start);
 
         long elapsed = System.currentTimeMillis() - startTime;
         LOGGER.info("Rendering completed in {} ms", elapsed);
@@ -72,14 +77,27 @@ public class MultiThreadRenderer extends AbstractRenderer {
         return image;
     }
 
+    private FractalImage[] createHistograms(FractalConfig config, HistogramMode mode) {
+        FractalImage shared = createSharedHistogram(config, mode);
+        if (shared != null) {
+            return new FractalImage[] {shared};
+        }
+
+        FractalImage[] histograms = new FractalImage[config.threads()];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = createHistogram(config);
+        }
+        return histograms;
+    }
+
     private class RenderTask implements Runnable {
         private final int startSample;
         private final int endSample;
         private final FractalImage image;
         private final FractalConfig config;
-        private final double[] cumulativeWeights;
-        private final Transform[] transforms;
-        private final double totalWeight;
+        private final IterationKernel kernel;
+        private final SampleRanges samples;
+        private final ProgressiveSnapshots snapshots;
         private final AtomicInteger completedSamples;
         private final AtomicInteger lastLoggedPercent;
 
@@ -88,33 +106,39 @@ public class MultiThreadRenderer extends AbstractRenderer {
                 int endSample,
                 FractalImage image,
                 FractalConfig config,
-                double[] cumulativeWeights,
-                Transform[] transforms,
-                double totalWeight,
+                IterationKernel kernel,
+                SampleRanges samples,
+                ProgressiveSnapshots snapshots,
                 AtomicInteger completedSamples,
                 AtomicInteger lastLoggedPercent) {
             this.startSample = startSample;
             this.endSample = endSample;
             this.image = image;
             this.config = config;
-            this.cumulativeWeights = cumulativeWeights;
-            this.transforms = transforms;
-            this.totalWeight = totalWeight;
+            this.kernel = kernel;
+            this.samples = samples;
+            this.snapshots = snapshots;
             this.completedSamples = completedSamples;
             this.lastLoggedPercent = lastLoggedPercent;
         }
 
         @Override
         public void run() {
-            for (int sampleIndex = startSample; sampleIndex < endSample; sampleIndex++) {
-                // Use deterministic Random for each sample based on seed + sample index
-                Random random = new Random(config.seed() + sampleIndex);
-                processSample(random, config, totalWeight, cumulativeWeights, transforms, image);
+            SampleRandom sampleRandom =
+                    SampleRandom.create(config.renderOptions().random(), config.seed());
+            HitSink sink = createSink(config, image);
+            ProgressiveSnapshots.Contributor contributor = snapshots.join(image, sink);
+            for (int from = startSample; from < endSample; from += SAMPLES_PER_BATCH) {
+                int end = Math.min(endSample, from + SAMPLES_PER_BATCH);
+                processSamples(kernel, sampleRandom, samples, from, end, sink, contributor);
 
                 // Update progress
-                int total = completedSamples.incrementAndGet();
-                logProgress(total, config.iterationCount(), lastLoggedPercent);
+                int total = completedSamples.addAndGet(end - from);
+                logProgress(total, samples.count(), lastLoggedPercent);
+                snapshots.checkpoint(contributor, total);
             }
+            flushSink(sink);
+            snapshots.finish(contributor);
         }
     }
 }
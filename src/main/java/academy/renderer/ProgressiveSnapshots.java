@@ -0,0 +1,295 @@
+package academy.renderer;
+
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.HistogramStorage;
+import academy.model.HitSink;
+import academy.model.RenderOptions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes histogram snapshots of a running render without stopping its workers. Once a snapshot is due, an epoch opens
+ * and every active worker adds its private histogram and the samples it finished to the snapshot at its next sample
+ * boundary, then carries on; the last one hands the snapshot to the listener on a background thread. Each thread
+ * therefore contributes a whole number of samples and private histogram snapshots are exact. Histograms are added
+ * outside the lock stripe by stripe, each worker starting at another stripe, so workers reaching the boundary together
+ * add in parallel instead of queueing behind each other. With one histogram shared by all workers the snapshot is a
+ * copy taken once every worker flushed its sink, so pixels may lag behind each other by the hits in flight.
+ */
+final class ProgressiveSnapshots {
+    private static final int ROWS_PER_STRIPE = 32;
+
+    private final SnapshotListener listener;
+    private final FractalImage shared;
+    private final Checkpoint start;
+    private final int width;
+    private final int height;
+    private final HistogramStorage storage;
+    private final int totalSamples;
+    private final int intervalSamples;
+    private final long intervalNanos;
+    private final Object lock = new Object();
+    private final Object[] stripes;
+    private final List<Contributor> finished = new ArrayList<>();
+    private final ExecutorService delivery;
+
+    // Read by workers on every checkpoint, everything else is guarded by lock
+    private volatile int epoch;
+    private volatile long nextDueSamples;
+    private volatile long nextDueNanos;
+    private FractalImage snapshot;
+    private SampleRanges.Builder snapshotSamples;
+    private int joined;
+    private int active;
+    // Active workers yet to contribute to the open epoch, plus one while the opener adds what no worker owns
+    private int remaining;
+    private boolean opening;
+    private boolean delivering;
+
+    // A null shared histogram means that every contributor has its own, a null start that the render is fresh
+    ProgressiveSnapshots(FractalConfig config, SnapshotListener listener, FractalImage shared, Checkpoint start) {
+        RenderOptions options = config.renderOptions();
+        this.listener = listener;
+        this.shared = shared;
+        this.start = start;
+        this.width = config.width();
+        this.height = config.height();
+        this.storage = options.histogramStorage();
+        // Progress passed to checkpoint counts the samples of this run only
+        this.totalSamples = AbstractRenderer.remainingSamples(config, start).count();
+        boolean enabled = listener != SnapshotListener.NONE && options.progressive();
+        this.intervalSamples = enabled ? options.snapshotSamples() : 0;
+        this.intervalNanos = enabled ? TimeUnit.MILLISECONDS.toNanos(options.snapshotMillis()) : 0;
+        this.nextDueSamples = intervalSamples;
+        this.nextDueNanos = System.nanoTime() + intervalNanos;
+        this.stripes = new Object[(height + ROWS_PER_STRIPE - 1) / ROWS_PER_STRIPE];
+        Arrays.setAll(stripes, stripe -> new Object());
+        this.delivery = enabled
+                ? Executors.newSingleThreadExecutor(Thread.ofPlatform().daemon().factory())
+                : null;
+    }
+
+    // Registers an active worker that plots through the given sink into the given histogram
+    Contributor join(FractalImage histogram, HitSink sink) {
+        synchronized (lock) {
+            active++;
+            Contributor contributor = new Contributor(histogram, sink, joined++);
+            // A worker joining mid-epoch has nothing to contribute to it yet
+            contributor.seenEpoch = epoch;
+            return contributor;
+        }
+    }
+
+    // Called by a worker between samples with the number of samples completed by all workers in this run
+    void checkpoint(Contributor contributor, int completedSamples) {
+        if (contributor.seenEpoch != epoch) {
+            contribute(contributor);
+        } else if (isDue(completedSamples)) {
+            open(completedSamples);
+            contribute(contributor);
+        }
+    }
+
+    // Called by a worker once it has no samples left for now. Until it resumes, snapshots read its histogram as is
+    void finish(Contributor contributor) {
+        AbstractRenderer.flushSink(contributor.sink);
+        while (true) {
+            synchronized (lock) {
+                if (contributor.seenEpoch == epoch) {
+                    active--;
+                    finished.add(contributor);
+                    return;
+                }
+            }
+            // An epoch opened before the worker went idle waits for it, it may be followed by another one
+            contribute(contributor);
+        }
+    }
+
+    // Called by a finished worker that picked up more samples, before it plots any of them
+    void resume(Contributor contributor) {
+        synchronized (lock) {
+            // The opener of an epoch may still be reading the histogram
+            boolean interrupted = false;
+            while (contributor.reading) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            finished.remove(contributor);
+            active++;
+            // Whatever it plotted so far is part of the open epoch already
+            contributor.seenEpoch = epoch;
+        }
+    }
+
+    // Waits for the snapshot being delivered, no snapshots are taken afterwards
+    void close() {
+        if (delivery == null) {
+            return;
+        }
+        synchronized (lock) {
+            delivery.shutdown();
+        }
+        try {
+            delivery.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        synchronized (lock) {
+            if (snapshot != null) {
+                snapshot.close();
+            }
+        }
+    }
+
+    // The finished render is the final image, it needs no snapshot
+    private boolean isDue(int completedSamples) {
+        return completedSamples < totalSamples
+                && ((intervalSamples > 0 && completedSamples >= nextDueSamples)
+                        || (intervalNanos > 0 && System.nanoTime() - nextDueNanos >= 0));
+    }
+
+    private void open(int completedSamples) {
+        synchronized (lock) {
+            // Skipped while the previous snapshot is still collected or delivered
+            if (opening || remaining > 0 || delivering || delivery.isShutdown() || !isDue(completedSamples)) {
+                return;
+            }
+            opening = true;
+            if (intervalSamples > 0) {
+                nextDueSamples = completedSamples + (long) intervalSamples;
+            }
+            if (intervalNanos > 0) {
+                nextDueNanos = System.nanoTime() + intervalNanos;
+            }
+            if (snapshot == null) {
+                snapshot = FractalImage.create(width, height, storage);
+            }
+        }
+        // Nobody else touches the snapshot until the epoch opens
+        snapshot.clear();
+
+        List<Contributor> idle;
+        synchronized (lock) {
+            snapshotSamples = new SampleRanges.Builder();
+            if (start != null) {
+                snapshotSamples.addAll(start.completed());
+            }
+            idle = List.copyOf(finished);
+            for (Contributor done : idle) {
+                snapshotSamples.addAll(done.samples.build());
+                done.reading = true;
+            }
+            remaining = active + 1;
+            opening = false;
+            epoch++;
+        }
+
+        // The checkpoint the render started from and idle workers do not change while they are read
+        if (start != null) {
+            add(start.histogram(), 0);
+        }
+        for (Contributor done : idle) {
+            if (shared == null) {
+                add(done.histogram, done.index);
+            }
+        }
+        synchronized (lock) {
+            idle.forEach(done -> done.reading = false);
+            lock.notifyAll();
+        }
+        arrive();
+    }
+
+    private void contribute(Contributor contributor) {
+        // Hits still buffered belong to samples that are already done
+        AbstractRenderer.flushSink(contributor.sink);
+        synchronized (lock) {
+            if (contributor.seenEpoch == epoch) {
+                return;
+            }
+            contributor.seenEpoch = epoch;
+            snapshotSamples.addAll(contributor.samples.build());
+        }
+        if (shared == null) {
+            add(contributor.histogram, contributor.index);
+        }
+        arrive();
+    }
+
+    // Adds a histogram stripe by stripe, starting at a stripe of its own
+    private void add(FractalImage histogram, int offset) {
+        for (int i = 0; i < stripes.length; i++) {
+            int stripe = (offset + i) % stripes.length;
+            int fromRow = stripe * ROWS_PER_STRIPE;
+            synchronized (stripes[stripe]) {
+                snapshot.add(histogram, fromRow, Math.min(height, fromRow + ROWS_PER_STRIPE));
+            }
+        }
+    }
+
+    // The last part of an epoch delivers its snapshot
+    private void arrive() {
+        synchronized (lock) {
+            if (--remaining > 0) {
+                return;
+            }
+            delivering = true;
+        }
+        if (shared != null) {
+            snapshot.add(shared, 0, height);
+        }
+        Snapshot taken = new Snapshot(snapshot, snapshotSamples.build(), shared == null);
+        synchronized (lock) {
+            if (delivery.isShutdown()) {
+                delivering = false;
+                return;
+            }
+            delivery.execute(() -> {
+                try {
+                    listener.onSnapshot(taken);
+                } finally {
+                    synchronized (lock) {
+                        delivering = false;
+                    }
+                }
+            });
+        }
+    }
+
+    static final class Contributor {
+        private final FractalImage histogram;
+        private final HitSink sink;
+        // Spreads the stripe the contributors start adding at
+        private final int index;
+        // Samples this worker finished, touched by the worker itself and by others only while it is finished
+        private final SampleRanges.Builder samples = new SampleRanges.Builder();
+        // Last epoch this worker contributed to, only written by the worker itself under the lock
+        private int seenEpoch;
+        // Set under the lock while an opener adds the histogram of this finished worker
+        private boolean reading;
+
+        private Contributor(FractalImage histogram, HitSink sink, int index) {
+            this.histogram = histogram;
+            this.sink = sink;
+            this.index = index;
+        }
+
+        // Records samples whose hits went to the sink
+        void done(int start, int end) {
+            samples.add(start, end);
+        }
+    }
+}
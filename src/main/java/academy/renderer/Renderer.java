@@ -5,4 +5,12 @@ import academy.model.FractalImage;
 
 public interface Renderer {
     FractalImage render(FractalConfig config);
+
+    // Progressive render, histogram snapshots go to the listener at the interval set in the render options
+    default FractalImage render(FractalConfig config, SnapshotListener listener) {
+        return render(config, null, listener);
+    }
+
+    // Continues from a checkpoint: only the samples it lacks are rendered, its histogram is part of the result
+    FractalImage render(FractalConfig config, Checkpoint start, SnapshotListener listener);
 }
@@ -0,0 +1,16 @@
+package academy.renderer;
+
+import academy.model.FractalConfig;
+
+public class RendererFactory {
+    public static Renderer create(FractalConfig config) {
+        if (config.threads() == 1) {
+            return new SingleThreadRenderer();
+        }
+        return switch (config.renderOptions().renderer()) {
+            case THREAD_POOL -> new MultiThreadRenderer();
+            case FORK_JOIN -> new ForkJoinRenderer();
+            case TILED -> new TiledRenderer();
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package academy.renderer;
+
+import academy.model.RandomType;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Per-thread source of sample generators. The stream returned for a sample depends only on the seed and the sample
+ * index, so the same seed renders the same image for any thread count. The returned generator is reused by the next
+ * call, so one instance must not be shared between threads.
+ */
+@FunctionalInterface
+public interface SampleRandom {
+    RandomGenerator forSample(long sample);
+
+    static SampleRandom create(RandomType type, long seed) {
+        return switch (type) {
+            case LEGACY -> {
+                Random random = new Random();
+                yield sample -> {
+                    random.setSeed(seed + sample);
+                    return random;
+                };
+            }
+            case SPLITMIX -> {
+                SplitMix64 random = new SplitMix64(seed);
+                yield sample -> {
+                    random.reseed(seed, sample);
+                    return random;
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,184 @@
+package academy.renderer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable set of sample indices stored as sorted, disjoint, non-adjacent {@code [start, end)} ranges. Renderers
+ * address the samples by ordinal, the n-th sample of the set, so a resumed render splits only the samples it still
+ * lacks between its workers.
+ */
+public final class SampleRanges {
+    private static final SampleRanges EMPTY = new SampleRanges(new int[0], new int[0]);
+
+    private final int[] starts;
+    private final int[] ends;
+    // Ordinal of the first sample of every range, plus the total count at the end
+    private final int[] offsets;
+
+    private SampleRanges(int[] starts, int[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+        this.offsets = new int[starts.length + 1];
+        for (int i = 0; i < starts.length; i++) {
+            offsets[i + 1] = offsets[i] + ends[i] - starts[i];
+        }
+    }
+
+    public static SampleRanges empty() {
+        return EMPTY;
+    }
+
+    public static SampleRanges of(int start, int end) {
+        if (start < 0 || end < start) {
+            throw new IllegalArgumentException("Invalid sample range [" + start + ", " + end + ")");
+        }
+        return start == end ? EMPTY : new SampleRanges(new int[] {start}, new int[] {end});
+    }
+
+    // Ranges given as start, end pairs in any order, overlapping ones are merged
+    public static SampleRanges fromPairs(int[] pairs) {
+        if (pairs.length % 2 != 0) {
+            throw new IllegalArgumentException(
+                    "Sample ranges need start and end pairs, got " + pairs.length + " values");
+        }
+        Builder builder = new Builder();
+        for (int i = 0; i < pairs.length; i += 2) {
+            builder.add(pairs[i], pairs[i + 1]);
+        }
+        return builder.build();
+    }
+
+    public int count() {
+        return offsets[starts.length];
+    }
+
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+    // Start, end pairs in ascending order
+    public int[] toPairs() {
+        int[] pairs = new int[starts.length * 2];
+        for (int i = 0; i < starts.length; i++) {
+            pairs[i * 2] = starts[i];
+            pairs[i * 2 + 1] = ends[i];
+        }
+        return pairs;
+    }
+
+    // Samples of [0, total) that are not in this set
+    public SampleRanges complement(int total) {
+        Builder builder = new Builder();
+        int from = 0;
+        for (int i = 0; i < starts.length && from < total; i++) {
+            builder.add(from, Math.min(starts[i], total));
+            from = ends[i];
+        }
+        if (from < total) {
+            builder.add(from, total);
+        }
+        return builder.build();
+    }
+
+    public SampleRanges union(SampleRanges other) {
+        Builder builder = new Builder();
+        builder.addAll(this);
+        builder.addAll(other);
+        return builder.build();
+    }
+
+    // Passes the samples with ordinals [fromOrdinal, toOrdinal) to the consumer as contiguous index ranges
+    public void forEach(int fromOrdinal, int toOrdinal, RangeConsumer consumer) {
+        if (fromOrdinal >= toOrdinal) {
+            return;
+        }
+        int range = Arrays.binarySearch(offsets, fromOrdinal);
+        // For an ordinal inside a range the search returns the insertion point after that range's offset
+        range = range >= 0 ? range : -range - 2;
+        int ordinal = fromOrdinal;
+        while (ordinal < toOrdinal) {
+            int start = starts[range] + ordinal - offsets[range];
+            int end = Math.min(ends[range], start + toOrdinal - ordinal);
+            consumer.accept(start, end);
+            ordinal += end - start;
+            range++;
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof SampleRanges ranges
+                && Arrays.equals(starts, ranges.starts)
+                && Arrays.equals(ends, ranges.ends);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(starts) + Arrays.hashCode(ends);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("[");
+        for (int i = 0; i < starts.length; i++) {
+            text.append(i == 0 ? "" : ", ").append(starts[i]).append("..").append(ends[i]);
+        }
+        return text.append(']').toString();
+    }
+
+    @FunctionalInterface
+    public interface RangeConsumer {
+        void accept(int start, int end);
+    }
+
+    /** Collects ranges in any order. Not thread safe, one per worker. */
+    public static final class Builder {
+        private final List<int[]> ranges = new ArrayList<>();
+
+        public Builder add(int start, int end) {
+            if (start < 0 || end < start) {
+                throw new IllegalArgumentException("Invalid sample range [" + start + ", " + end + ")");
+            }
+            if (start == end) {
+                return this;
+            }
+            // Workers mostly finish ranges in order, so the common case extends the last range
+            if (!ranges.isEmpty() && ranges.getLast()[1] == start) {
+                ranges.getLast()[1] = end;
+            } else {
+                ranges.add(new int[] {start, end});
+            }
+            return this;
+        }
+
+        public Builder addAll(SampleRanges samples) {
+            for (int i = 0; i < samples.starts.length; i++) {
+                add(samples.starts[i], samples.ends[i]);
+            }
+            return this;
+        }
+
+        public SampleRanges build() {
+            if (ranges.isEmpty()) {
+                return EMPTY;
+            }
+            int[][] sorted = ranges.toArray(int[][]::new);
+            Arrays.sort(sorted, (left, right) -> Integer.compare(left[0], right[0]));
+            int[] starts = new int[sorted.length];
+            int[] ends = new int[sorted.length];
+            int size = 0;
+            for (int[] range : sorted) {
+                if (size > 0 && range[0] <= ends[size - 1]) {
+                    ends[size - 1] = Math.max(ends[size - 1], range[1]);
+                } else {
+                    starts[size] = range[0];
+                    ends[size] = range[1];
+                    size++;
+                }
+            }
+            return new SampleRanges(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size));
+        }
+    }
+}
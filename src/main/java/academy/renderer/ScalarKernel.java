@@ -0,0 +1,126 @@
+package academy.renderer;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.HitSink;
+import academy.model.Rect;
+import academy.transformation.Transform;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Allocation-free variant of {@link AbstractRenderer#processSample}: the point lives in a two-element array, affine
+ * coefficients and colours are flattened into primitive tables. Random draws and floating point operations follow the
+ * classic loop exactly, so both produce the same image.
+ */
+public final class ScalarKernel implements ChainKernel {
+    static final int COEFFICIENTS = 6;
+    private static final int COLORS = 3;
+
+    private final double[] coefficients;
+    private final int[] colors;
+    private final Transform[] transforms;
+    private final AliasTable affineTable;
+    private final AliasTable transformTable;
+    private final int iterations;
+    private final int skipIterations;
+    private final int width;
+    private final int height;
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+    private final double worldWidth;
+    private final double worldHeight;
+
+    public ScalarKernel(
+            FractalConfig config,
+            Rect world,
+            int skipIterations,
+            Transform[] transforms,
+            AliasTable affineTable,
+            AliasTable transformTable) {
+        this.coefficients = flattenCoefficients(config.affineTransformations());
+        this.colors = flattenColors(config.affineTransformations());
+        this.transforms = transforms.clone();
+        this.affineTable = affineTable;
+        this.transformTable = transformTable;
+        this.iterations = config.iterationsPerSample();
+        this.skipIterations = skipIterations;
+        this.width = config.width();
+        this.height = config.height();
+        this.minX = world.x();
+        this.minY = world.y();
+        this.maxX = world.x() + world.width();
+        this.maxY = world.y() + world.height();
+        this.worldWidth = world.width();
+        this.worldHeight = world.height();
+    }
+
+    // Six coefficients a..f per affine, in list order
+    static double[] flattenCoefficients(List<AffineTransformation> affines) {
+        double[] coefficients = new double[affines.size() * COEFFICIENTS];
+        for (int i = 0; i < affines.size(); i++) {
+            AffineTransformation affine = affines.get(i);
+            int base = i * COEFFICIENTS;
+            coefficients[base] = affine.a();
+            coefficients[base + 1] = affine.b();
+            coefficients[base + 2] = affine.c();
+            coefficients[base + 3] = affine.d();
+            coefficients[base + 4] = affine.e();
+            coefficients[base + 5] = affine.f();
+        }
+        return coefficients;
+    }
+
+    // Red, green and blue per affine, in list order
+    static int[] flattenColors(List<AffineTransformation> affines) {
+        int[] colors = new int[affines.size() * COLORS];
+        for (int i = 0; i < affines.size(); i++) {
+            AffineTransformation affine = affines.get(i);
+            colors[i * COLORS] = affine.red();
+            colors[i * COLORS + 1] = affine.green();
+            colors[i * COLORS + 2] = affine.blue();
+        }
+        return colors;
+    }
+
+    @Override
+    public void processSample(RandomGenerator random, HitSink sink) {
+        // Start with random point in [-1, 1] range
+        double[] point = {random.nextDouble() * 2 - 1, random.nextDouble() * 2 - 1};
+        iterate(random, point, skipIterations, sink);
+    }
+
+    @Override
+    public void iterate(RandomGenerator random, double[] point, int warmUp, HitSink sink) {
+        for (int step = -warmUp; step < iterations; step++) {
+            int affine = affineTable.sample(random);
+            int base = affine * COEFFICIENTS;
+            double px = point[0];
+            double py = point[1];
+            point[0] = coefficients[base] * px + coefficients[base + 1] * py + coefficients[base + 2];
+            point[1] = coefficients[base + 3] * px + coefficients[base + 4] * py + coefficients[base + 5];
+
+            transforms[transformTable.sample(random)].apply(point);
+
+            if (step >= 0) {
+                plot(sink, point[0], point[1], affine);
+            }
+        }
+    }
+
+    // Maps a point to its pixel and adds the colour of the given affine there
+    void plot(HitSink sink, double x, double y, int affine) {
+        int color = affine * COLORS;
+        if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+            // Same expression as the classic loop: a precomputed scale factor would round differently
+            int pixelX = (int) ((x - minX) / worldWidth * width);
+            int pixelY = (int) ((y - minY) / worldHeight * height);
+
+            if (pixelX >= 0 && pixelX < width && pixelY >= 0 && pixelY < height) {
+                sink.hit(pixelY * width + pixelX, colors[color], colors[color + 1], colors[color + 2]);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package academy.renderer;
+
+import academy.model.HitSink;
+import java.util.Arrays;
+
+/**
+ * Stage between a kernel and a histogram that collects hits instead of plotting them one by one. A full buffer is
+ * bucketed by block of the histogram with one counting sort pass and then written block after block, so writes walk the
+ * histogram almost sequentially instead of missing the cache on every hit. Not thread safe, one per render thread.
+ */
+public final class ScatterBuffer implements HitSink {
+    // A block spans 4096 pixels, 128 KB of a packed histogram, small enough to stay in the L2 cache
+    private static final int BLOCK_BITS = 12;
+    private static final int ENTRY = 4;
+
+    private final HitSink target;
+    private final int capacity;
+    private final int blockShift;
+    private final int[] counts;
+    private final int[] entries;
+    private final int[] sorted;
+    private int size;
+
+    public ScatterBuffer(HitSink target, int pixels, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Scatter buffer capacity must be positive, got: " + capacity);
+        }
+        this.target = target;
+        this.capacity = capacity;
+        // More blocks than buffered hits would make the counting pass cost more than it saves
+        int indexBits = 32 - Integer.numberOfLeadingZeros(Math.max(1, pixels - 1));
+        int blockBits = Math.min(indexBits, BLOCK_BITS);
+        while (indexBits - blockBits > 0 && (1 << (indexBits - blockBits)) > capacity) {
+            blockBits++;
+        }
+        this.blockShift = blockBits;
+        this.counts = new int[(1 << (indexBits - blockBits)) + 1];
+        this.entries = new int[capacity * ENTRY];
+        this.sorted = new int[capacity * ENTRY];
+    }
+
+    @Override
+    public void hit(int index, int red, int green, int blue) {
+        int base = size * ENTRY;
+        entries[base] = index;
+        entries[base + 1] = red;
+        entries[base + 2] = green;
+        entries[base + 3] = blue;
+        if (++size == capacity) {
+            flush();
+        }
+    }
+
+    // Writes everything collected so far to the target
+    public void flush() {
+        if (size == 0) {
+            return;
+        }
+
+        // Counting sort by block: histogram of blocks, prefix sums, then a stable scatter
+        Arrays.fill(counts, 0);
+        int end = size * ENTRY;
+        for (int base = 0; base < end; base += ENTRY) {
+            counts[(entries[base] >>> blockShift) + 1]++;
+        }
+        for (int block = 1; block < counts.length; block++) {
+            counts[block] += counts[block - 1];
+        }
+        for (int base = 0; base < end; base += ENTRY) {
+            int to = counts[entries[base] >>> blockShift]++ * ENTRY;
+            sorted[to] = entries[base];
+            sorted[to + 1] = entries[base + 1];
+            sorted[to + 2] = entries[base + 2];
+            sorted[to + 3] = entries[base + 3];
+        }
+
+        for (int base = 0; base < end; base += ENTRY) {
+            target.hit(sorted[base], sorted[base + 1], sorted[base + 2], sorted[base + 3]);
+        }
+        size = 0;
+    }
+}
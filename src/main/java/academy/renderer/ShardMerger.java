@@ -0,0 +1,135 @@
+package academy.renderer;
+
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sums the histograms of shard renders, written in the checkpoint format, into the histogram of the whole render. Shard
+ * files are memory mapped a block of rows at a time and every block is unmapped once it is added, so merging needs
+ * memory for the result only, which may itself live off the heap. Shards must cover every sample of the config exactly
+ * once; hits are integers and samples independent, so the sum equals a single-process render.
+ */
+public final class ShardMerger {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardMerger.class);
+    private static final ValueLayout.OfLong SLOT = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    // Bytes of every shard mapped at once
+    private static final long BLOCK_BYTES = 64L * 1024 * 1024;
+
+    private ShardMerger() {}
+
+    public static FractalImage merge(FractalConfig config, List<Path> shards) throws IOException {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("No shards to merge");
+        }
+        LOGGER.info("Merging {} shards", shards.size());
+        long startTime = System.currentTimeMillis();
+
+        List<FileChannel> channels = new ArrayList<>();
+        try {
+            List<Checkpoint.Header> headers = new ArrayList<>();
+            for (Path shard : shards) {
+                FileChannel channel = FileChannel.open(shard, StandardOpenOption.READ);
+                channels.add(channel);
+                headers.add(readHeader(channel, shard, config));
+            }
+            checkCoverage(headers, config);
+
+            FractalConfig grid = config.histogramConfig();
+            FractalImage merged = FractalImage.create(
+                    grid.width(), grid.height(), config.renderOptions().histogramStorage());
+            try {
+                sumRows(channels, headers, merged);
+            } catch (IOException | RuntimeException e) {
+                merged.close();
+                throw e;
+            }
+
+            LOGGER.info("Merging completed in {} ms", System.currentTimeMillis() - startTime);
+            return merged;
+        } finally {
+            for (FileChannel channel : channels) {
+                channel.close();
+            }
+        }
+    }
+
+    private static Checkpoint.Header readHeader(FileChannel channel, Path shard, FractalConfig config)
+            throws IOException {
+        Checkpoint.Header header = Checkpoint.Header.read(channel, shard);
+        FractalConfig grid = config.histogramConfig();
+        if (header.fingerprint() != Checkpoint.fingerprint(config)
+                || header.width() != grid.width()
+                || header.height() != grid.height()) {
+            throw new IllegalArgumentException("Shard " + shard + " was rendered for a different config");
+        }
+        if (channel.size() < header.dataOffset() + header.histogramBytes()) {
+            throw new IllegalArgumentException("Truncated shard: " + shard);
+        }
+        return header;
+    }
+
+    private static void checkCoverage(List<Checkpoint.Header> headers, FractalConfig config) {
+        SampleRanges.Builder covered = new SampleRanges.Builder();
+        long total = 0;
+        for (Checkpoint.Header header : headers) {
+            covered.addAll(header.completed());
+            total += header.completed().count();
+        }
+        SampleRanges samples = covered.build();
+        if (samples.count() != total) {
+            throw new IllegalArgumentException("Shards overlap, some samples would be counted twice");
+        }
+        if (samples.count() != config.samples()) {
+            throw new IllegalArgumentException(
+                    "Shards cover " + samples.count() + " of " + config.samples() + " samples");
+        }
+    }
+
+    private static void sumRows(List<FileChannel> channels, List<Checkpoint.Header> headers, FractalImage merged)
+            throws IOException {
+        int rowLength = merged.width() * FractalImage.CHANNELS;
+        long rowBytes = (long) rowLength * Long.BYTES;
+        int blockRows = Math.clamp(BLOCK_BYTES / rowBytes, 1, merged.height());
+        long[] sum = new long[rowLength];
+        long[] row = new long[rowLength];
+        MemorySegment[] blocks = new MemorySegment[channels.size()];
+
+        for (int first = 0; first < merged.height(); first += blockRows) {
+            int rows = Math.min(blockRows, merged.height() - first);
+            // Closing the arena unmaps the blocks right away instead of at some garbage collection
+            try (Arena arena = Arena.ofConfined()) {
+                for (int shard = 0; shard < blocks.length; shard++) {
+                    blocks[shard] = channels.get(shard)
+                            .map(
+                                    FileChannel.MapMode.READ_ONLY,
+                                    headers.get(shard).dataOffset() + first * rowBytes,
+                                    rows * rowBytes,
+                                    arena);
+                }
+                for (int y = 0; y < rows; y++) {
+                    Arrays.fill(sum, 0);
+                    for (MemorySegment block : blocks) {
+                        MemorySegment.copy(block, SLOT, y * rowBytes, row, 0, rowLength);
+                        for (int i = 0; i < rowLength; i++) {
+                            sum[i] += row[i];
+                        }
+                    }
+                    merged.writeRow(first + y, sum);
+                }
+            }
+        }
+    }
+}
@@ -2,33 +2,66 @@ package academy.renderer;
 
 import academy.model.FractalConfig;
 import academy.model.FractalImage;
-import academy.transformation.Transform;
-import java.util.Random;
+import academy.model.HitSink;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SingleThreadRenderer extends AbstractRenderer {
 
     @Override
-    public FractalImage render(FractalConfig config) {
+    protected FractalImage renderHistogram(
+            FractalConfig config, IterationKernel kernel, Checkpoint start, SnapshotListener listener) {
         LOGGER.info("Starting single-threaded rendering");
         long startTime = System.currentTimeMillis();
 
-        FractalImage image = new FractalImage(config.width(), config.height());
+        FractalImage image = createHistogram(config);
+        plot(config, kernel, image, start, listener);
 
-        double totalWeight = config.totalWeight();
-        // Pre-calculate cumulative weights for weighted random selection
-        double[] cumulativeWeights = buildCumulativeWeights(config);
-        Transform[] transforms = buildTransforms(config);
+        long elapsed = System.currentTimeMillis() - startTime;
+        LOGGER.info("Rendering completed in {} ms", elapsed);
 
-        for (int sample = 0; sample < config.iterationCount(); sample++) {
-            // Use deterministic Random for each sample based on seed + sample index
-            Random random = new Random(config.seed() + sample);
-            processSample(random, config, totalWeight, cumulativeWeights, transforms, image);
-            logSimpleProgress(sample, config.iterationCount());
+        return withCheckpoint(image, start);
+    }
+
+    // Renders into a cleared histogram of the grid size of the config, as animations recycle histograms between frames
+    public void renderInto(FractalConfig config, FractalImage target) {
+        FractalConfig histogramConfig = config.histogramConfig();
+        if (target.width() != histogramConfig.width() || target.height() != histogramConfig.height()) {
+            throw new IllegalArgumentException("Histogram of " + target.width() + "x" + target.height()
+                    + " does not match the grid of " + histogramConfig.width() + "x" + histogramConfig.height());
         }
+        plot(histogramConfig, createKernel(histogramConfig), target, null, SnapshotListener.NONE);
+    }
 
-        long elapsed = System.currentTimeMillis() - startTime;
-        LOGGER.info("Rendering completed in {} ms", elapsed);
+    private void plot(
+            FractalConfig config,
+            IterationKernel kernel,
+            FractalImage image,
+            Checkpoint start,
+            SnapshotListener listener) {
+        SampleRandom sampleRandom = SampleRandom.create(config.renderOptions().random(), config.seed());
+        HitSink sink = createSink(config, image);
+        ProgressiveSnapshots snapshots = new ProgressiveSnapshots(config, listener, null, start);
+        ProgressiveSnapshots.Contributor contributor = snapshots.join(image, sink);
 
-        return image;
+        // Samples go to the kernel in tenths of the total, or in small batches to checkpoint for snapshots
+        SampleRanges samples = remainingSamples(config, start);
+        int totalSamples = samples.count();
+        int blockSize = Math.max(1, totalSamples / 10);
+        if (config.renderOptions().progressive()) {
+            blockSize = Math.min(blockSize, SAMPLES_PER_BATCH);
+        }
+        AtomicInteger lastLoggedPercent = new AtomicInteger(0);
+        for (int from = 0; from < totalSamples; from += blockSize) {
+            int end = Math.min(totalSamples, from + blockSize);
+            processSamples(kernel, sampleRandom, samples, from, end, sink, contributor);
+            snapshots.checkpoint(contributor, end);
+            if (end < totalSamples) {
+                logProgress(end, totalSamples, lastLoggedPercent);
+            }
+        }
+        flushSink(sink);
+        snapshots.finish(contributor);
+        snapshots.close();
+        logIterationUsage(config, kernel, totalSamples, image);
     }
 }
@@ -0,0 +1,9 @@
+package academy.renderer;
+
+import academy.model.FractalImage;
+
+/**
+ * Histogram of a running render and the samples it holds. Exact snapshots hold precisely those samples; snapshots of a
+ * histogram shared by all workers may miss hits that were in flight.
+ */
+public record Snapshot(FractalImage image, SampleRanges completed, boolean exact) {}
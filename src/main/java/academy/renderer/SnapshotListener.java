@@ -0,0 +1,10 @@
+package academy.renderer;
+
+/** Receives histogram snapshots that a progressive render takes while its workers keep running. */
+@FunctionalInterface
+public interface SnapshotListener {
+    SnapshotListener NONE = snapshot -> {};
+
+    // Called on a background thread, one snapshot at a time; the image is reused once the call returns
+    void onSnapshot(Snapshot snapshot);
+}
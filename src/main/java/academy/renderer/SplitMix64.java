@@ -0,0 +1,63 @@
+package academy.renderer;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * SplitMix64 generator (Steele, Lea, Flood). Plain field updates instead of the CAS loop of {@link java.util.Random},
+ * and a stream for any (seed, sample) pair can be derived directly, which keeps renders independent of how samples are
+ * split between threads. Not thread safe.
+ */
+public final class SplitMix64 implements RandomGenerator {
+    static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    static final long MIX_MULTIPLIER_1 = 0xbf58476d1ce4e5b9L;
+    static final long MIX_MULTIPLIER_2 = 0x94d049bb133111ebL;
+    static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long state;
+
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    public static SplitMix64 forSample(long seed, long sample) {
+        SplitMix64 random = new SplitMix64(0);
+        random.reseed(seed, sample);
+        return random;
+    }
+
+    // Jumps to the stream of the given sample without allocating a new generator
+    public void reseed(long seed, long sample) {
+        state = stateFor(seed, sample);
+    }
+
+    // State right after reseeding, for code that steps many streams at once
+    static long stateFor(long seed, long sample) {
+        return mix64(seed + (sample + 1) * GOLDEN_GAMMA);
+    }
+
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix64(state);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive, got: " + bound);
+        }
+        // Lemire's multiply-shift: the bias is below 2^-32 for the small bounds used by the renderer
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * MIX_MULTIPLIER_1;
+        z = (z ^ (z >>> 27)) * MIX_MULTIPLIER_2;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,240 @@
+package academy.renderer;
+
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.HitSink;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renderer with a single histogram split into horizontal tiles, one per worker. A worker plots points of its own tile
+ * directly and routes the others in batches to bounded per-tile queues; every tile is written only by its owner, so the
+ * histogram needs neither locks nor per-thread copies.
+ */
+public class TiledRenderer extends AbstractRenderer {
+    // Points collected for a foreign tile before the batch is handed to its owner
+    private static final int BATCH_SIZE = 512;
+    // Batches a tile may have pending; a producer that hits the bound drains its own tile meanwhile
+    private static final int QUEUE_CAPACITY = 16;
+    // Samples are handed out in chunks so that workers finish at about the same time
+    private static final int CHUNKS_PER_THREAD = 64;
+
+    @Override
+    protected FractalImage renderHistogram(
+            FractalConfig config, IterationKernel kernel, Checkpoint start, SnapshotListener listener) {
+        int threads = config.threads();
+        LOGGER.info("Starting tiled rendering with {} threads", threads);
+        long startTime = System.currentTimeMillis();
+
+        TileContext context = new TileContext(config, kernel, threads, start, listener);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int tile = 0; tile < threads; tile++) {
+                int owner = tile;
+                workers.add(executor.submit(() -> context.work(owner)));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            LOGGER.error("Rendering interrupted", e);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tile worker failed", e.getCause());
+        } finally {
+            context.aborted.set(true);
+            executor.shutdownNow();
+            context.snapshots.close();
+        }
+        logIterationUsage(config, context.kernel, context.samples.count(), context.image);
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        LOGGER.info("Rendering completed in {} ms", elapsed);
+
+        return withCheckpoint(context.image, start);
+    }
+
+    private final class TileContext {
+        private final FractalConfig config;
+        private final IterationKernel kernel;
+        private final SampleRanges samples;
+        private final FractalImage image;
+        private final ProgressiveSnapshots snapshots;
+        private final int tiles;
+        private final int tilePixels;
+        private final int chunk;
+        private final List<Queue<Batch>> queues = new ArrayList<>();
+        private final Queue<Batch> spares = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger nextSample = new AtomicInteger(0);
+        private final AtomicInteger finishedProducers = new AtomicInteger(0);
+        private final AtomicInteger completedSamples = new AtomicInteger(0);
+        private final AtomicInteger lastLoggedPercent = new AtomicInteger(0);
+        // Set when a worker fails or the render is over, releases workers waiting for each other
+        private final AtomicBoolean aborted = new AtomicBoolean(false);
+
+        TileContext(
+                FractalConfig config, IterationKernel kernel, int tiles, Checkpoint start, SnapshotListener listener) {
+            this.config = config;
+            this.kernel = kernel;
+            this.samples = remainingSamples(config, start);
+            this.image = createHistogram(config);
+            // Batches still queued for other tiles are missing from a snapshot, like hits in flight
+            this.snapshots = new ProgressiveSnapshots(config, listener, image, start);
+            this.tiles = tiles;
+            int rowsPerTile = Math.ceilDiv(config.height(), tiles);
+            this.tilePixels = rowsPerTile * config.width();
+            this.chunk = Math.max(1, samples.count() / (tiles * CHUNKS_PER_THREAD));
+            for (int i = 0; i < tiles; i++) {
+                queues.add(new ArrayBlockingQueue<>(QUEUE_CAPACITY));
+            }
+        }
+
+        void work(int owner) {
+            try {
+                produceAndDrain(owner);
+            } catch (RuntimeException e) {
+                aborted.set(true);
+                throw e;
+            }
+        }
+
+        private void produceAndDrain(int owner) {
+            TileRouter router = new TileRouter(owner);
+            SampleRandom sampleRandom =
+                    SampleRandom.create(config.renderOptions().random(), config.seed());
+            HitSink sink = createSink(config, router);
+            ProgressiveSnapshots.Contributor contributor = snapshots.join(image, sink);
+            int total = samples.count();
+
+            int from;
+            while ((from = nextSample.getAndAdd(chunk)) < total) {
+                int end = Math.min(total, from + chunk);
+                processSamples(kernel, sampleRandom, samples, from, end, sink, contributor);
+                drain(owner);
+                int completed = completedSamples.addAndGet(end - from);
+                logProgress(completed, total, lastLoggedPercent);
+                snapshots.checkpoint(contributor, completed);
+            }
+
+            flushSink(sink);
+            snapshots.finish(contributor);
+            router.flush();
+            finishedProducers.incrementAndGet();
+
+            // Other workers may still be sending batches into this tile
+            while (finishedProducers.get() < tiles) {
+                if (!drain(owner)) {
+                    awaitProgress();
+                }
+            }
+            drain(owner);
+        }
+
+        boolean drain(int tile) {
+            Queue<Batch> queue = queues.get(tile);
+            boolean drained = false;
+            Batch batch;
+            while ((batch = queue.poll()) != null) {
+                batch.applyTo(image);
+                spares.offer(batch);
+                drained = true;
+            }
+            return drained;
+        }
+
+        void send(int owner, int tile, Batch batch) {
+            Queue<Batch> queue = queues.get(tile);
+            // Draining our own tile while waiting keeps workers that wait for each other from deadlocking
+            while (!queue.offer(batch)) {
+                if (!drain(owner)) {
+                    awaitProgress();
+                }
+            }
+        }
+
+        Batch acquire() {
+            Batch batch = spares.poll();
+            return batch != null ? batch : new Batch();
+        }
+
+        void awaitProgress() {
+            if (aborted.get()) {
+                throw new IllegalStateException("Tiled render was aborted");
+            }
+            Thread.yield();
+        }
+
+        private final class TileRouter implements HitSink {
+            private final int owner;
+            private final Batch[] pending;
+
+            TileRouter(int owner) {
+                this.owner = owner;
+                this.pending = new Batch[tiles];
+                for (int i = 0; i < tiles; i++) {
+                    pending[i] = i == owner ? null : acquire();
+                }
+            }
+
+            @Override
+            public void hit(int index, int red, int green, int blue) {
+                int tile = index / tilePixels;
+                if (tile == owner) {
+                    image.hit(index, red, green, blue);
+                    return;
+                }
+                Batch batch = pending[tile];
+                if (batch.add(index, red, green, blue)) {
+                    send(owner, tile, batch);
+                    pending[tile] = acquire();
+                }
+            }
+
+            void flush() {
+                for (int tile = 0; tile < tiles; tile++) {
+                    Batch batch = pending[tile];
+                    if (batch != null && batch.size > 0) {
+                        send(owner, tile, batch);
+                    }
+                    pending[tile] = null;
+                }
+            }
+        }
+    }
+
+    // Pixel index and colour of up to BATCH_SIZE points, reused once applied
+    private static final class Batch {
+        private static final int ENTRY = 4;
+
+        private final int[] entries = new int[BATCH_SIZE * ENTRY];
+        private int size;
+
+        // Returns true once the batch is full
+        boolean add(int index, int red, int green, int blue) {
+            int base = size * ENTRY;
+            entries[base] = index;
+            entries[base + 1] = red;
+            entries[base + 2] = green;
+            entries[base + 3] = blue;
+            return ++size == BATCH_SIZE;
+        }
+
+        void applyTo(FractalImage image) {
+            int end = size * ENTRY;
+            for (int base = 0; base < end; base += ENTRY) {
+                image.hit(entries[base], entries[base + 1], entries[base + 2], entries[base + 3]);
+            }
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package academy.renderer;
+
+import academy.model.FractalConfig;
+import academy.model.HitSink;
+import academy.model.RandomType;
+import academy.model.Rect;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import academy.transformation.Transform;
+import java.util.random.RandomGenerator;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernel on the incubating Vector API: one vector lane per sample, so {@link #lanes()} walkers iterate in lockstep
+ * with their coordinates held in structure-of-arrays form. Every lane reproduces the random stream its sample has in
+ * {@link ScalarKernel}; SplitMix64 streams and alias table lookups are stepped for all lanes at once. Affine steps,
+ * {@code linear}, {@code spherical} and {@code sinusoidal} run on whole vectors under per-lane masks, other variations
+ * fall back to the scalar code lane by lane. Vector sine may differ from {@link Math#sin} in the last bit, so images
+ * agree with the scalar kernel statistically rather than exactly.
+ */
+public final class VectorKernel implements IterationKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> STATE_SPECIES = VectorSpecies.of(long.class, SPECIES.vectorShape());
+    private static final VectorSpecies<Integer> INDEX_SPECIES =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(SPECIES.length() * Integer.SIZE));
+    private static final int LANES = SPECIES.length();
+    private static final double SPHERICAL_EPSILON = 1e-10;
+
+    private final ScalarKernel scalar;
+    private final double[] coefficients;
+    private final Transform[] transforms;
+    private final TransformationType[] types;
+    private final AliasTable affineTable;
+    private final AliasTable transformTable;
+    private final RandomType randomType;
+    private final long seed;
+    private final int iterations;
+    private final int skipIterations;
+
+    public VectorKernel(
+            FractalConfig config,
+            Rect world,
+            int skipIterations,
+            Transform[] transforms,
+            AliasTable affineTable,
+            AliasTable transformTable) {
+        this.scalar = new ScalarKernel(config, world, skipIterations, transforms, affineTable, transformTable);
+        this.coefficients = ScalarKernel.flattenCoefficients(config.affineTransformations());
+        this.transforms = transforms.clone();
+        this.types =
+                config.weightedFunctions().stream().map(WeightedFunction::type).toArray(TransformationType[]::new);
+        this.affineTable = affineTable;
+        this.transformTable = transformTable;
+        this.randomType = config.renderOptions().random();
+        this.seed = config.seed();
+        this.iterations = config.iterationsPerSample();
+        this.skipIterations = skipIterations;
+    }
+
+    public static int lanes() {
+        return LANES;
+    }
+
+    @Override
+    public void processSample(RandomGenerator random, HitSink sink) {
+        scalar.processSample(random, sink);
+    }
+
+    @Override
+    public void processSamples(SampleRandom sampleRandom, int start, int end, HitSink sink) {
+        int vectorEnd = start + (end - start) / LANES * LANES;
+        if (vectorEnd > start) {
+            Walkers walkers = new Walkers(sampleRandom);
+            for (int first = start; first < vectorEnd; first += LANES) {
+                walkers.run(first, sink);
+            }
+        }
+        // Remainder that does not fill all lanes
+        for (int sample = vectorEnd; sample < end; sample++) {
+            scalar.processSample(sampleRandom.forSample(sample), sink);
+        }
+    }
+
+    // SplitMix64 finaliser on every lane, see SplitMix64.mix64
+    private static LongVector mix64(LongVector z) {
+        LongVector mixed = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 30))
+                .mul(SplitMix64.MIX_MULTIPLIER_1);
+        mixed = mixed.lanewise(VectorOperators.XOR, mixed.lanewise(VectorOperators.LSHR, 27))
+                .mul(SplitMix64.MIX_MULTIPLIER_2);
+        return mixed.lanewise(VectorOperators.XOR, mixed.lanewise(VectorOperators.LSHR, 31));
+    }
+
+    // SplitMix64.nextDouble on every lane, for a state that was already advanced
+    private static DoubleVector uniform(LongVector state) {
+        DoubleVector bits =
+                (DoubleVector) mix64(state).lanewise(VectorOperators.LSHR, 11).convert(VectorOperators.L2D, 0);
+        return bits.mul(SplitMix64.DOUBLE_UNIT);
+    }
+
+    // AliasTable.sample(double) on every lane, the picked indices are written to the given array
+    private static void sample(AliasTable table, DoubleVector uniform, int[] cells, int[] picked) {
+        DoubleVector scaled = uniform.mul(table.size());
+        IntVector cell = (IntVector) scaled.convertShape(VectorOperators.D2I, INDEX_SPECIES, 0);
+        DoubleVector whole = (DoubleVector) cell.convertShape(VectorOperators.I2D, SPECIES, 0);
+        cell.intoArray(cells, 0);
+        DoubleVector probability = DoubleVector.fromArray(SPECIES, table.probabilities(), 0, cells, 0);
+        IntVector alias = IntVector.fromArray(INDEX_SPECIES, table.aliases(), 0, cells, 0);
+        VectorMask<Integer> keep =
+                scaled.sub(whole).compare(VectorOperators.LT, probability).cast(INDEX_SPECIES);
+        alias.blend(cell, keep).intoArray(picked, 0);
+    }
+
+    // Per-call lane state, so one kernel can be shared by all render threads
+    private final class Walkers {
+        private final boolean vectorRandom = randomType == RandomType.SPLITMIX;
+        private final SampleRandom[] sampleRandoms = new SampleRandom[LANES];
+        private final RandomGenerator[] randoms = new RandomGenerator[LANES];
+        private final long[] states = new long[LANES];
+        private final double[] xs = new double[LANES];
+        private final double[] ys = new double[LANES];
+        private final int[] cells = new int[LANES];
+        private final int[] affines = new int[LANES];
+        private final int[] affineOffsets = new int[LANES];
+        private final int[] variations = new int[LANES];
+        private final double[] point = new double[2];
+
+        Walkers(SampleRandom sampleRandom) {
+            // Streams other than SplitMix64 are drawn lane by lane, each lane needs its own generator
+            if (!vectorRandom) {
+                sampleRandoms[0] = sampleRandom;
+                for (int lane = 1; lane < LANES; lane++) {
+                    sampleRandoms[lane] = SampleRandom.create(randomType, seed);
+                }
+            }
+        }
+
+        void run(int firstSample, HitSink sink) {
+            LongVector state = null;
+            DoubleVector x;
+            DoubleVector y;
+            // Start with random point in [-1, 1] range
+            if (vectorRandom) {
+                for (int lane = 0; lane < LANES; lane++) {
+                    states[lane] = SplitMix64.stateFor(seed, firstSample + (long) lane);
+                }
+                state = LongVector.fromArray(STATE_SPECIES, states, 0).add(SplitMix64.GOLDEN_GAMMA);
+                x = uniform(state).mul(2.0).sub(1.0);
+                state = state.add(SplitMix64.GOLDEN_GAMMA);
+                y = uniform(state).mul(2.0).sub(1.0);
+            } else {
+                for (int lane = 0; lane < LANES; lane++) {
+                    RandomGenerator random = sampleRandoms[lane].forSample(firstSample + (long) lane);
+                    randoms[lane] = random;
+                    xs[lane] = random.nextDouble() * 2 - 1;
+                    ys[lane] = random.nextDouble() * 2 - 1;
+                }
+                x = DoubleVector.fromArray(SPECIES, xs, 0);
+                y = DoubleVector.fromArray(SPECIES, ys, 0);
+            }
+
+            for (int step = -skipIterations; step < iterations; step++) {
+                // Every lane draws its affine first and its variation second, as in the scalar kernel
+                if (vectorRandom) {
+                    state = state.add(SplitMix64.GOLDEN_GAMMA);
+                    sample(affineTable, uniform(state), cells, affines);
+                    state = state.add(SplitMix64.GOLDEN_GAMMA);
+                    sample(transformTable, uniform(state), cells, variations);
+                } else {
+                    for (int lane = 0; lane < LANES; lane++) {
+                        affines[lane] = affineTable.sample(randoms[lane]);
+                        variations[lane] = transformTable.sample(randoms[lane]);
+                    }
+                }
+                for (int lane = 0; lane < LANES; lane++) {
+                    affineOffsets[lane] = affines[lane] * ScalarKernel.COEFFICIENTS;
+                }
+
+                // Gather the coefficients of every lane's affine, same operation order as the scalar kernel
+                DoubleVector a = DoubleVector.fromArray(SPECIES, coefficients, 0, affineOffsets, 0);
+                DoubleVector b = DoubleVector.fromArray(SPECIES, coefficients, 1, affineOffsets, 0);
+                DoubleVector c = DoubleVector.fromArray(SPECIES, coefficients, 2, affineOffsets, 0);
+                DoubleVector d = DoubleVector.fromArray(SPECIES, coefficients, 3, affineOffsets, 0);
+                DoubleVector e = DoubleVector.fromArray(SPECIES, coefficients, 4, affineOffsets, 0);
+                DoubleVector f = DoubleVector.fromArray(SPECIES, coefficients, 5, affineOffsets, 0);
+                DoubleVector nx = a.mul(x).add(b.mul(y)).add(c);
+                DoubleVector ny = d.mul(x).add(e.mul(y)).add(f);
+                x = nx;
+                y = ny;
+
+                IntVector drawn = IntVector.fromArray(INDEX_SPECIES, variations, 0);
+                for (int variation = 0; variation < transforms.length; variation++) {
+                    VectorMask<Double> mask =
+                            drawn.compare(VectorOperators.EQ, variation).cast(SPECIES);
+                    if (!mask.anyTrue()) {
+                        continue;
+                    }
+                    switch (types[variation]) {
+                        case LINEAR -> {
+                            // Identity
+                        }
+                        case SINUSOIDAL -> {
+                            x = x.blend(x.lanewise(VectorOperators.SIN), mask);
+                            y = y.blend(y.lanewise(VectorOperators.SIN), mask);
+                        }
+                        case SPHERICAL -> {
+                            DoubleVector r2 = x.mul(x).add(y.mul(y));
+                            VectorMask<Double> apply = mask.andNot(r2.compare(VectorOperators.LT, SPHERICAL_EPSILON));
+                            x = x.blend(x.div(r2), apply);
+                            y = y.blend(y.div(r2), apply);
+                        }
+                        default -> {
+                            x.intoArray(xs, 0);
+                            y.intoArray(ys, 0);
+                            applyScalar(transforms[variation], mask);
+                            x = DoubleVector.fromArray(SPECIES, xs, 0);
+                            y = DoubleVector.fromArray(SPECIES, ys, 0);
+                        }
+                    }
+                }
+
+                if (step >= 0) {
+                    x.intoArray(xs, 0);
+                    y.intoArray(ys, 0);
+                    for (int lane = 0; lane < LANES; lane++) {
+                        scalar.plot(sink, xs[lane], ys[lane], affines[lane]);
+                    }
+                }
+            }
+        }
+
+        private void applyScalar(Transform transform, VectorMask<Double> mask) {
+            for (int lane = 0; lane < LANES; lane++) {
+                if (mask.laneIsSet(lane)) {
+                    point[0] = xs[lane];
+                    point[1] = ys[lane];
+                    transform.apply(point);
+                    xs[lane] = point[0];
+                    ys[lane] = point[1];
+                }
+            }
+        }
+    }
+}
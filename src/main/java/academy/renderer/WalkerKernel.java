@@ -0,0 +1,103 @@
+package academy.renderer;
+
+import academy.model.HitSink;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+/**
+ * Persistent walkers: chains go on from sample to sample, so the warm-up is paid once per chain instead of once per
+ * sample. Samples are grouped into fixed blocks of {@link #SAMPLES_PER_WALKER} samples per walker; within a block the
+ * walkers take the samples in turn, every chain starts from the random point of its first sample in the block and
+ * starts over from a fresh one after it diverges to infinity or NaN. Where a chain stands therefore depends only on the
+ * sample index, never on which thread renders it: a thread that picks up a range in the middle of a block first replays
+ * the earlier samples of the block without plotting them. The image is the same for any split of the samples between
+ * threads, tasks, shards or resumed runs.
+ */
+public final class WalkerKernel implements IterationKernel {
+    // Samples each walker iterates per block before the block starts over
+    static final int SAMPLES_PER_WALKER = 16;
+    private static final HitSink DISCARD = (index, red, green, blue) -> {};
+
+    private final ChainKernel chain;
+    private final int walkers;
+    private final int skipIterations;
+    private final int blockSize;
+    // Walkers of the block a thread is in, positioned at the next sample of that thread
+    private final Map<Thread, Pool> pools = new ConcurrentHashMap<>();
+    private final LongAdder started = new LongAdder();
+
+    public WalkerKernel(ChainKernel chain, int walkers, int skipIterations) {
+        if (walkers <= 0) {
+            throw new IllegalArgumentException("Walker count must be positive, got: " + walkers);
+        }
+        this.chain = chain;
+        this.walkers = walkers;
+        this.skipIterations = skipIterations;
+        this.blockSize = Math.multiplyExact(walkers, SAMPLES_PER_WALKER);
+    }
+
+    // A sample without its index cannot be placed in a block, it runs as a chain of its own
+    @Override
+    public void processSample(RandomGenerator random, HitSink sink) {
+        started.increment();
+        chain.processSample(random, sink);
+    }
+
+    @Override
+    public void processSamples(SampleRandom sampleRandom, int start, int end, HitSink sink) {
+        Pool pool = pools.computeIfAbsent(Thread.currentThread(), thread -> new Pool(walkers));
+        if (start < end && pool.nextSample != start) {
+            // Replays the block up to the first sample, as the walkers would stand after rendering it in order
+            pool.nextSample = start - start % blockSize;
+            while (pool.nextSample < start) {
+                step(pool, sampleRandom.forSample(pool.nextSample), DISCARD);
+            }
+        }
+        for (int sample = start; sample < end; sample++) {
+            step(pool, sampleRandom.forSample(sample), sink);
+        }
+    }
+
+    private void step(Pool pool, RandomGenerator random, HitSink sink) {
+        int offset = pool.nextSample % blockSize;
+        if (offset == 0) {
+            Arrays.fill(pool.points, null);
+        }
+        int walker = offset % walkers;
+        double[] point = pool.points[walker];
+        int warmUp = 0;
+        if (point == null) {
+            // Start with random point in [-1, 1] range
+            point = new double[] {random.nextDouble() * 2 - 1, random.nextDouble() * 2 - 1};
+            pool.points[walker] = point;
+            warmUp = skipIterations;
+            started.increment();
+        }
+
+        chain.iterate(random, point, warmUp, sink);
+
+        if (!Double.isFinite(point[0]) || !Double.isFinite(point[1])) {
+            // A diverged chain never comes back, the next sample it gets starts over
+            pool.points[walker] = null;
+        }
+        pool.nextSample++;
+    }
+
+    @Override
+    public long chainsStarted(long samples) {
+        return started.sum();
+    }
+
+    // Chains of one thread, null until started
+    private static final class Pool {
+        private final double[][] points;
+        private int nextSample = -1;
+
+        Pool(int walkers) {
+            this.points = new double[walkers][];
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package academy.service;
+
+import academy.model.FractalConfig;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** One submitted render. Its parts are shards of the samples, encoding the PNG counts as one more step. */
+public final class RenderJob {
+    private final String id;
+    private final String key;
+    private final FractalConfig config;
+    private final int parts;
+    private final boolean cached;
+    private final AtomicInteger completedSteps = new AtomicInteger(0);
+    private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+    private volatile State state;
+
+    RenderJob(String id, String key, FractalConfig config, int parts) {
+        this.id = id;
+        this.key = key;
+        this.config = config;
+        this.parts = parts;
+        this.cached = false;
+        this.state = State.QUEUED;
+    }
+
+    // A job answered from the cache, done as soon as it is created
+    RenderJob(String id, String key, FractalConfig config, byte[] png) {
+        this.id = id;
+        this.key = key;
+        this.config = config;
+        this.parts = 0;
+        this.cached = true;
+        this.state = State.DONE;
+        result.complete(png);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public boolean cached() {
+        return cached;
+    }
+
+    // Fraction of the steps done, 1 once the image is ready
+    public double progress() {
+        if (state == State.DONE) {
+            return 1;
+        }
+        return (double) completedSteps.get() / (parts + 1);
+    }
+
+    // Message of the failure, null unless the job failed
+    public String error() {
+        if (state != State.FAILED) {
+            return null;
+        }
+        Throwable cause = result.exceptionNow();
+        return cause.getMessage() != null
+                ? cause.getMessage()
+                : cause.getClass().getSimpleName();
+    }
+
+    // PNG of a finished job, null before
+    public byte[] image() {
+        return state == State.DONE ? result.join() : null;
+    }
+
+    // Completes with the PNG or with the failure of the render
+    public CompletableFuture<byte[]> result() {
+        return result.copy();
+    }
+
+    String key() {
+        return key;
+    }
+
+    FractalConfig config() {
+        return config;
+    }
+
+    int parts() {
+        return parts;
+    }
+
+    void start() {
+        state = State.RUNNING;
+    }
+
+    // Returns true for the step that completes the last part
+    boolean partDone() {
+        return completedSteps.incrementAndGet() == parts;
+    }
+
+    boolean failed() {
+        return result.isCompletedExceptionally();
+    }
+
+    void complete(byte[] png) {
+        completedSteps.incrementAndGet();
+        state = State.DONE;
+        result.complete(png);
+    }
+
+    void fail(Throwable cause) {
+        if (result.completeExceptionally(cause)) {
+            state = State.FAILED;
+        }
+    }
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+}
@@ -0,0 +1,190 @@
+package academy.service;
+
+import academy.config.ConfigLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * HTTP front of a render service.
+ *
+ * <ul>
+ *   <li>{@code POST /jobs} with a config in the schema of the JSON config file answers 202 and the job id
+ *   <li>{@code GET /jobs/{id}} answers the status, progress and error of the job
+ *   <li>{@code GET /jobs/{id}/image} answers the PNG, or 409 while the job is not done
+ * </ul>
+ *
+ * <p>There is no authentication while submitted configs compile to bytecode and may claim the whole memory budget, so
+ * the server listens on the loopback interface unless another address is given.
+ */
+public class RenderServer implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RenderServer.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String JOBS = "/jobs";
+    private static final String IMAGE = "/image";
+    // Configs are small, anything larger is not one
+    private static final int MAX_CONFIG_BYTES = 1024 * 1024;
+
+    private final RenderService service;
+    private final HttpServer server;
+    private final ExecutorService handlers;
+
+    // Port 0 picks a free port
+    public RenderServer(RenderService service, int port) throws IOException {
+        this(service, InetAddress.getLoopbackAddress(), port);
+    }
+
+    public RenderServer(RenderService service, InetAddress address, int port) throws IOException {
+        this.service = service;
+        this.server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        // Handlers only parse and copy bytes, renders run on the service workers
+        this.handlers = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(handlers);
+        server.createContext(JOBS, this::handle);
+    }
+
+    public void start() {
+        server.start();
+        InetSocketAddress address = address();
+        if (!address.getAddress().isLoopbackAddress()) {
+            LOGGER.warn("Render service has no authentication and listens on {}", address);
+        }
+        LOGGER.info("Render service listening on {}", address);
+    }
+
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    public int port() {
+        return address().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if (JOBS.equals(path) || (JOBS + "/").equals(path)) {
+                if ("POST".equals(method)) {
+                    submit(exchange);
+                } else {
+                    sendError(exchange, 405, "Use POST to submit a job");
+                }
+                return;
+            }
+            if (!path.startsWith(JOBS + "/")) {
+                sendError(exchange, 404, "Unknown path: " + path);
+                return;
+            }
+            if (!"GET".equals(method)) {
+                sendError(exchange, 405, "Use GET to read a job");
+                return;
+            }
+            String rest = path.substring(JOBS.length() + 1);
+            boolean image = rest.endsWith(IMAGE);
+            String id = image ? rest.substring(0, rest.length() - IMAGE.length()) : rest;
+            Optional<RenderJob> job = id.contains("/") ? Optional.empty() : service.job(id);
+            if (job.isEmpty()) {
+                sendError(exchange, 404, "Unknown job: " + id);
+            } else if (image) {
+                sendImage(exchange, job.get());
+            } else {
+                sendJson(exchange, 200, status(job.get()));
+            }
+        } catch (RuntimeException e) {
+            LOGGER.atWarn().setCause(e).log("Failed to handle {}", exchange.getRequestURI());
+            // No response yet: answer the failure instead of dropping the connection
+            if (exchange.getResponseCode() == -1) {
+                sendError(exchange, 500, "Internal error: " + e.getClass().getSimpleName());
+            }
+        }
+    }
+
+    private void submit(HttpExchange exchange) throws IOException {
+        String json;
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] bytes = body.readNBytes(MAX_CONFIG_BYTES + 1);
+            if (bytes.length > MAX_CONFIG_BYTES) {
+                sendError(exchange, 413, "Config is larger than " + MAX_CONFIG_BYTES + " bytes");
+                return;
+            }
+            json = new String(bytes, StandardCharsets.UTF_8);
+        }
+        RenderJob job;
+        try {
+            job = service.submit(ConfigLoader.fromJson(json));
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        } catch (RuntimeException | StackOverflowError e) {
+            // A config that breaks loading in another way, e.g. an expression too large or too deep to compile
+            LOGGER.atWarn().setCause(e).log("Failed to load a submitted config");
+            sendError(exchange, 400, "Config cannot be loaded: " + e.getClass().getSimpleName());
+            return;
+        }
+        exchange.getResponseHeaders().set("Location", JOBS + "/" + job.id());
+        sendJson(exchange, 202, status(job));
+    }
+
+    private static void sendImage(HttpExchange exchange, RenderJob job) throws IOException {
+        byte[] png = job.image();
+        if (png == null) {
+            sendError(exchange, 409, "Job " + job.id() + " is " + state(job));
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "image/png");
+        exchange.sendResponseHeaders(200, png.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(png);
+        }
+    }
+
+    private static Map<String, Object> status(RenderJob job) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("id", job.id());
+        status.put("status", state(job));
+        status.put("progress", job.progress());
+        status.put("cached", job.cached());
+        if (job.error() != null) {
+            status.put("error", job.error());
+        }
+        return status;
+    }
+
+    private static String state(RenderJob job) {
+        return job.state().name().toLowerCase(Locale.ROOT);
+    }
+
+    private static void sendError(HttpExchange exchange, int code, String message) throws IOException {
+        sendJson(exchange, code, Map.of("error", String.valueOf(message)));
+    }
+
+    private static void sendJson(HttpExchange exchange, int code, Object value) throws IOException {
+        byte[] json = MAPPER.writeValueAsBytes(value);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, json.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(json);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package academy.service;
+
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.Shard;
+import academy.processor.ImageProcessor;
+import academy.renderer.SingleThreadRenderer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Renders submitted configs on a pool of workers that lives as long as the service. Jobs start in submission order once
+ * the memory of their histograms fits the budget; every job is split into shards of its samples, so workers pick up
+ * parts of several jobs and a running job reports progress part by part. Finished PNGs are cached by a hash of
+ * everything the image depends on, a repeated config is answered from the cache or joins the job already rendering it.
+ */
+public class RenderService implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RenderService.class);
+    private static final long BYTES_IN_MB = 1024 * 1024;
+    // Parts per worker, enough for progress and for jobs to share the pool
+    private static final int PARTS_PER_WORKER = 4;
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+
+    private final int workers;
+    private final int budgetMb;
+    private final ExecutorService pool;
+    private final Semaphore memory;
+    private final BlockingQueue<RenderJob> queue = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+    private final Cache<String, byte[]> images;
+    private final Cache<String, RenderJob> jobs;
+    // Jobs queued or rendering by config key, so that a repeated config does not render twice
+    private final Map<String, RenderJob> inFlight = new ConcurrentHashMap<>();
+    private final ImageProcessor processor = new ImageProcessor();
+
+    public RenderService(int workers, long memoryBudgetBytes, long cacheBytes) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive, got: " + workers);
+        }
+        if (memoryBudgetBytes < BYTES_IN_MB) {
+            throw new IllegalArgumentException("Memory budget must be at least 1 MB, got: " + memoryBudgetBytes);
+        }
+        if (cacheBytes < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative, got: " + cacheBytes);
+        }
+        this.workers = workers;
+        this.budgetMb = (int) Math.min(Integer.MAX_VALUE, memoryBudgetBytes / BYTES_IN_MB);
+        this.pool = Executors.newFixedThreadPool(workers);
+        this.memory = new Semaphore(budgetMb, true);
+        this.images = Caffeine.newBuilder()
+                .maximumWeight(cacheBytes)
+                .weigher((String key, byte[] png) -> png.length)
+                .build();
+        this.jobs = Caffeine.newBuilder().expireAfterAccess(JOB_RETENTION).build();
+        this.dispatcher = Thread.ofPlatform().name("render-dispatcher").daemon().start(this::dispatch);
+    }
+
+    public RenderJob submit(FractalConfig config) {
+        String key = cacheKey(config);
+        byte[] cached = images.getIfPresent(key);
+        if (cached != null) {
+            LOGGER.info("Config {} served from the cache", key);
+            return register(new RenderJob(newId(), key, config, cached));
+        }
+
+        int permits = permits(config);
+        if (permits > budgetMb) {
+            throw new IllegalArgumentException(
+                    "Render needs " + permits + " MB of histograms, the budget is " + budgetMb + " MB");
+        }
+        int parts = config.convergent() ? 1 : (int) Math.min((long) workers * PARTS_PER_WORKER, config.samples());
+        RenderJob job = inFlight.computeIfAbsent(key, unused -> {
+            RenderJob created = new RenderJob(newId(), key, config, parts);
+            queue.add(created);
+            return created;
+        });
+        return register(job);
+    }
+
+    public Optional<RenderJob> job(String id) {
+        return Optional.ofNullable(jobs.getIfPresent(id));
+    }
+
+    // Identifies everything the image depends on: not the output path, the thread count nor how it is rendered
+    public static String cacheKey(FractalConfig config) {
+        String state = String.join(
+                "|",
+                String.valueOf(config.width()),
+                String.valueOf(config.height()),
+                String.valueOf(config.seed()),
+                String.valueOf(config.samples()),
+                String.valueOf(config.iterationsPerSample()),
+                config.affineTransformations().toString(),
+                config.weightedFunctions().toString(),
+                String.valueOf(config.gammaCorrection()),
+                String.valueOf(config.gamma()),
+                String.valueOf(config.supersample()),
+                config.downsampleFilter().name(),
+                config.densityEstimation().toString(),
+                String.valueOf(config.convergenceThreshold()),
+                config.renderOptions().random().name(),
+                config.renderOptions().kernel().name(),
+                String.valueOf(config.renderOptions().walkers()));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(state.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        dispatcher.interrupt();
+        pool.shutdownNow();
+        try {
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private RenderJob register(RenderJob job) {
+        jobs.put(job.id(), job);
+        return job;
+    }
+
+    // Histogram of the job plus one part histogram for every worker that may render it at once, or the two round
+    // histograms of a convergent render
+    private int permits(FractalConfig config) {
+        FractalConfig grid = config.histogramConfig();
+        long bytes = FractalImage.bytesFor(grid.width(), grid.height());
+        long histograms = config.convergent() ? 3 : 1 + Math.min(workers, config.samples());
+        long megabytes = (bytes * histograms + BYTES_IN_MB - 1) / BYTES_IN_MB;
+        return (int) Math.min(Integer.MAX_VALUE, megabytes);
+    }
+
+    // Starts queued jobs in order, the next one waits until the memory of the previous ones is free
+    private void dispatch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                RenderJob job = queue.take();
+                int permits = permits(job.config());
+                memory.acquire(permits);
+                try {
+                    start(job, permits);
+                } catch (RuntimeException | OutOfMemoryError e) {
+                    // A histogram that does not fit fails its job, the next jobs may still fit
+                    memory.release(permits);
+                    finish(job, null, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void start(RenderJob job, int permits) {
+        FractalConfig config = job.config();
+        FractalConfig grid = config.histogramConfig();
+        FractalImage histogram = FractalImage.create(
+                grid.width(), grid.height(), config.renderOptions().histogramStorage());
+        LOGGER.info("Starting job {} in {} parts", job.id(), job.parts());
+        job.start();
+        for (int part = 1; part <= job.parts(); part++) {
+            Shard shard = new Shard(part, job.parts());
+            pool.execute(() -> renderPart(job, shard, histogram, permits));
+        }
+    }
+
+    private void renderPart(RenderJob job, Shard shard, FractalImage histogram, int permits) {
+        try {
+            if (!job.failed()) {
+                try (FractalImage partial = render(job.config(), shard, histogram)) {
+                    synchronized (histogram) {
+                        histogram.add(partial, 0, histogram.height());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            job.fail(e);
+        } catch (Error e) {
+            // The job fails like on any other error, the worker thread still sees the error once the part is counted
+            job.fail(e);
+            throw e;
+        } finally {
+            if (job.partDone()) {
+                finishLastPart(job, histogram, permits);
+            }
+        }
+    }
+
+    // The worker that finishes the last part encodes the image, whatever happened to the other parts
+    private void finishLastPart(RenderJob job, FractalImage histogram, int permits) {
+        try {
+            finish(job, job.failed() ? null : encode(job, histogram), null);
+        } catch (IOException | RuntimeException e) {
+            finish(job, null, e);
+        } catch (Error e) {
+            finish(job, null, e);
+            throw e;
+        } finally {
+            histogram.close();
+            memory.release(permits);
+        }
+    }
+
+    // Rounds of a convergent render build on each other, such a job is a single part
+    private static FractalImage render(FractalConfig config, Shard shard, FractalImage histogram) {
+        if (config.convergent()) {
+            return new SingleThreadRenderer().render(config);
+        }
+        FractalImage partial = FractalImage.create(
+                histogram.width(), histogram.height(), config.renderOptions().histogramStorage());
+        try {
+            new SingleThreadRenderer()
+                    .renderInto(
+                            config.withRenderOptions(config.renderOptions().toBuilder()
+                                    .shard(shard)
+                                    .build()),
+                            partial);
+        } catch (RuntimeException e) {
+            partial.close();
+            throw e;
+        }
+        return partial;
+    }
+
+    private byte[] encode(RenderJob job, FractalImage histogram) throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        processor.write(histogram, png, job.config());
+        return png.toByteArray();
+    }
+
+    private void finish(RenderJob job, byte[] png, Throwable failure) {
+        if (png != null) {
+            images.put(job.key(), png);
+            job.complete(png);
+            LOGGER.info("Job {} done, {} bytes", job.id(), png.length);
+        } else {
+            if (failure != null) {
+                job.fail(failure);
+            }
+            LOGGER.warn("Job {} failed: {}", job.id(), job.error());
+        }
+        inFlight.remove(job.key(), job);
+    }
+
+    private static String newId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,13 @@
+package academy.transformation;
+
+import academy.model.Point;
+
+/** Base class of the variations {@link ExpressionCompiler} generates, they only implement the in-place form. */
+public abstract class CompiledTransform implements Transform {
+    @Override
+    public Point apply(Point point) {
+        double[] xy = {point.x(), point.y()};
+        apply(xy);
+        return new Point(xy[0], xy[1], point.r(), point.g(), point.b());
+    }
+}
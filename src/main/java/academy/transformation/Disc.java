@@ -13,4 +13,18 @@ public class Disc implements Transform {
         double y = factor * Math.cos(Math.PI * r);
         return new Point(x, y, point.r(), point.g(), point.b());
     }
+
+    @Override
+    public void apply(double[] point) {
+        transform(point);
+    }
+
+    public static void transform(double[] point) {
+        double x = point[0];
+        double y = point[1];
+        double factor = Math.atan2(y, x) / Math.PI;
+        double r = Math.sqrt(x * x + y * y);
+        point[0] = factor * Math.sin(Math.PI * r);
+        point[1] = factor * Math.cos(Math.PI * r);
+    }
 }
@@ -0,0 +1,249 @@
+package academy.transformation;
+
+import academy.model.CustomVariation;
+import academy.transformation.ExpressionParser.Binary;
+import academy.transformation.ExpressionParser.Call;
+import academy.transformation.ExpressionParser.Constant;
+import academy.transformation.ExpressionParser.Negate;
+import academy.transformation.ExpressionParser.Node;
+import academy.transformation.ExpressionParser.Read;
+import academy.transformation.ExpressionParser.Variable;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.lang.invoke.MethodHandles;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.objectweb.asm.ClassTooLargeException;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodTooLargeException;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Compiles custom variations to bytecode of a {@link CompiledTransform} subclass and defines it as a hidden class, so
+ * the JIT inlines and optimises them like the handwritten variations instead of walking a syntax tree per point. The
+ * generated {@code apply(double[])} is straight-line code: {@code r}, {@code r2} and {@code theta} are computed only if
+ * used and subexpressions occurring more than once are evaluated once. Recently used variations are kept compiled; the
+ * cache is bounded, so the hidden classes of evicted ones can be unloaded in a long-running service.
+ */
+public final class ExpressionCompiler {
+    private static final String CLASS_NAME = "academy/transformation/CustomVariation";
+    private static final String SUPER_NAME = "academy/transformation/CompiledTransform";
+    private static final String MATH = "java/lang/Math";
+    private static final String UNARY = "(D)D";
+    private static final String BINARY = "(DD)D";
+    // Locals: this, the point array, then two slots per double
+    private static final int POINT = 1;
+    private static final int FIRST_DOUBLE = 2;
+
+    private static final int MAX_COMPILED = 256;
+
+    private static final Cache<CustomVariation, Transform> COMPILED =
+            Caffeine.newBuilder().maximumSize(MAX_COMPILED).build();
+
+    private ExpressionCompiler() {}
+
+    public static Transform compile(CustomVariation variation) {
+        return COMPILED.get(variation, ExpressionCompiler::define);
+    }
+
+    private static Transform define(CustomVariation variation) {
+        byte[] bytes;
+        try {
+            bytes = generate(ExpressionParser.parse(variation.x()), ExpressionParser.parse(variation.y()));
+        } catch (MethodTooLargeException | ClassTooLargeException e) {
+            throw new IllegalArgumentException("Custom variation is too large to compile", e);
+        }
+        try {
+            Class<?> type =
+                    MethodHandles.lookup().defineHiddenClass(bytes, true).lookupClass();
+            return (Transform) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot define compiled variation " + variation, e);
+        }
+    }
+
+    static byte[] generate(Node x, Node y) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(
+                Opcodes.V21,
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+                CLASS_NAME,
+                null,
+                SUPER_NAME,
+                null);
+
+        MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, SUPER_NAME, "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        MethodVisitor apply = writer.visitMethod(Opcodes.ACC_PUBLIC, "apply", "([D)V", null, null);
+        apply.visitCode();
+        new Body(apply, x, y).emit();
+        apply.visitMaxs(0, 0);
+        apply.visitEnd();
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static final class Body {
+        private final MethodVisitor method;
+        private final Node x;
+        private final Node y;
+        private final Set<Variable> used = EnumSet.noneOf(Variable.class);
+        private final Map<Node, Integer> occurrences = new HashMap<>();
+        private final Map<Variable, Integer> variableSlots = new HashMap<>();
+        private final Map<Node, Integer> sharedSlots = new HashMap<>();
+        private int nextSlot = FIRST_DOUBLE;
+
+        Body(MethodVisitor method, Node x, Node y) {
+            this.method = method;
+            this.x = x;
+            this.y = y;
+            count(x);
+            count(y);
+        }
+
+        // Counts distinct occurrences, children of a repeated node are only counted once
+        private void count(Node node) {
+            switch (node) {
+                case Constant constant -> {
+                    // Loaded with ldc, never worth a local
+                }
+                case Read read -> used.add(read.variable());
+                case Negate negate -> countComposite(node, negate.operand());
+                case Binary binary -> countComposite(node, binary.left(), binary.right());
+                case Call call -> countComposite(node, call.arguments().toArray(Node[]::new));
+            }
+        }
+
+        private void countComposite(Node node, Node... children) {
+            if (occurrences.merge(node, 1, Integer::sum) == 1) {
+                for (Node child : children) {
+                    count(child);
+                }
+            }
+        }
+
+        void emit() {
+            // Same operation order as the handwritten variations, so results match them bit for bit
+            loadPointComponent(0, Variable.X);
+            loadPointComponent(1, Variable.Y);
+            if (used.contains(Variable.R2) || used.contains(Variable.R)) {
+                square(Variable.X);
+                square(Variable.Y);
+                method.visitInsn(Opcodes.DADD);
+                if (used.contains(Variable.R2)) {
+                    method.visitInsn(Opcodes.DUP2);
+                    store(Variable.R2);
+                }
+                if (used.contains(Variable.R)) {
+                    invokeMath("sqrt", UNARY);
+                    store(Variable.R);
+                } else {
+                    method.visitInsn(Opcodes.POP2);
+                }
+            }
+            if (used.contains(Variable.THETA)) {
+                load(Variable.Y);
+                load(Variable.X);
+                invokeMath("atan2", BINARY);
+                store(Variable.THETA);
+            }
+
+            // The new x is kept in a local until y, which may still read the old x, is computed
+            emit(x);
+            int newX = allocate();
+            method.visitVarInsn(Opcodes.DSTORE, newX);
+            method.visitVarInsn(Opcodes.ALOAD, POINT);
+            method.visitInsn(Opcodes.ICONST_1);
+            emit(y);
+            method.visitInsn(Opcodes.DASTORE);
+            method.visitVarInsn(Opcodes.ALOAD, POINT);
+            method.visitInsn(Opcodes.ICONST_0);
+            method.visitVarInsn(Opcodes.DLOAD, newX);
+            method.visitInsn(Opcodes.DASTORE);
+            method.visitInsn(Opcodes.RETURN);
+        }
+
+        private void emit(Node node) {
+            Integer slot = sharedSlots.get(node);
+            if (slot != null) {
+                method.visitVarInsn(Opcodes.DLOAD, slot);
+                return;
+            }
+
+            switch (node) {
+                case Constant constant -> method.visitLdcInsn(constant.value());
+                case Read read -> load(read.variable());
+                case Negate negate -> {
+                    emit(negate.operand());
+                    method.visitInsn(Opcodes.DNEG);
+                }
+                case Binary binary -> {
+                    emit(binary.left());
+                    emit(binary.right());
+                    method.visitInsn(
+                            switch (binary.operator()) {
+                                case ADD -> Opcodes.DADD;
+                                case SUBTRACT -> Opcodes.DSUB;
+                                case MULTIPLY -> Opcodes.DMUL;
+                                case DIVIDE -> Opcodes.DDIV;
+                            });
+                }
+                case Call call -> {
+                    call.arguments().forEach(this::emit);
+                    invokeMath(call.function().methodName(), call.function().arity() == 1 ? UNARY : BINARY);
+                }
+            }
+
+            // Code is straight-line, so the first evaluation of a repeated node always runs before the others
+            if (occurrences.getOrDefault(node, 0) > 1) {
+                int shared = allocate();
+                method.visitInsn(Opcodes.DUP2);
+                method.visitVarInsn(Opcodes.DSTORE, shared);
+                sharedSlots.put(node, shared);
+            }
+        }
+
+        private void loadPointComponent(int index, Variable variable) {
+            method.visitVarInsn(Opcodes.ALOAD, POINT);
+            method.visitInsn(index == 0 ? Opcodes.ICONST_0 : Opcodes.ICONST_1);
+            method.visitInsn(Opcodes.DALOAD);
+            store(variable);
+        }
+
+        private void square(Variable variable) {
+            load(variable);
+            load(variable);
+            method.visitInsn(Opcodes.DMUL);
+        }
+
+        private void load(Variable variable) {
+            method.visitVarInsn(Opcodes.DLOAD, variableSlots.get(variable));
+        }
+
+        private void store(Variable variable) {
+            int slot = allocate();
+            method.visitVarInsn(Opcodes.DSTORE, slot);
+            variableSlots.put(variable, slot);
+        }
+
+        private void invokeMath(String name, String descriptor) {
+            method.visitMethodInsn(Opcodes.INVOKESTATIC, MATH, name, descriptor, false);
+        }
+
+        private int allocate() {
+            int slot = nextSlot;
+            nextSlot += 2;
+            return slot;
+        }
+    }
+}
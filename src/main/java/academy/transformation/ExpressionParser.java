@@ -0,0 +1,281 @@
+package academy.transformation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Recursive descent parser for custom variation expressions. Supports numbers, the variables {@code x}, {@code y},
+ * {@code r}, {@code r2} and {@code theta}, the constants {@code pi} and {@code e}, the operators {@code + - * / ^}
+ * (power binds tighter than unary minus and is right associative) and the functions of {@link Function}. Length and
+ * nesting are limited, so that neither the parser nor the compiler recurses without bound.
+ */
+final class ExpressionParser {
+    static final int MAX_LENGTH = 4096;
+    static final int MAX_DEPTH = 64;
+
+    private final String source;
+    private int position;
+    private int depth;
+
+    private ExpressionParser(String source) {
+        this.source = source;
+    }
+
+    static Node parse(String source) {
+        if (source.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Expression is longer than " + MAX_LENGTH + " characters: " + source.length());
+        }
+        ExpressionParser parser = new ExpressionParser(source);
+        Node node = parser.sum();
+        parser.skipSpaces();
+        if (parser.position < source.length()) {
+            throw parser.error("unexpected '" + source.charAt(parser.position) + "'");
+        }
+        return node;
+    }
+
+    // sum := product (('+' | '-') product)*
+    private Node sum() {
+        Node node = product();
+        while (true) {
+            if (accept('+')) {
+                node = new Binary(Operator.ADD, node, product());
+            } else if (accept('-')) {
+                node = new Binary(Operator.SUBTRACT, node, product());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    // product := unary (('*' | '/') unary)*
+    private Node product() {
+        Node node = unary();
+        while (true) {
+            if (accept('*')) {
+                node = new Binary(Operator.MULTIPLY, node, unary());
+            } else if (accept('/')) {
+                node = new Binary(Operator.DIVIDE, node, unary());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    // unary := '-' unary | power
+    // Every nesting (parentheses, arguments, unary minus, exponents) passes here, so its depth is counted here
+    private Node unary() {
+        if (++depth > MAX_DEPTH) {
+            throw error("nested deeper than " + MAX_DEPTH + " levels");
+        }
+        Node node = accept('-') ? new Negate(unary()) : power();
+        depth--;
+        return node;
+    }
+
+    // power := primary ('^' unary)?
+    private Node power() {
+        Node base = primary();
+        if (accept('^')) {
+            return new Call(Function.POW, List.of(base, unary()));
+        }
+        return base;
+    }
+
+    // primary := number | name | name '(' arguments ')' | '(' sum ')'
+    private Node primary() {
+        skipSpaces();
+        if (position >= source.length()) {
+            throw error("unexpected end of expression");
+        }
+        char current = source.charAt(position);
+        if (accept('(')) {
+            Node node = sum();
+            expect(')');
+            return node;
+        }
+        if (Character.isDigit(current) || current == '.') {
+            return number();
+        }
+        if (Character.isLetter(current)) {
+            return name();
+        }
+        throw error("unexpected '" + current + "'");
+    }
+
+    private Node number() {
+        int start = position;
+        while (position < source.length()
+                && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+            position++;
+        }
+        // Exponent, as in 1e-3
+        if (position < source.length() && (source.charAt(position) == 'e' || source.charAt(position) == 'E')) {
+            int mark = position++;
+            if (position < source.length() && (source.charAt(position) == '+' || source.charAt(position) == '-')) {
+                position++;
+            }
+            if (position < source.length() && Character.isDigit(source.charAt(position))) {
+                while (position < source.length() && Character.isDigit(source.charAt(position))) {
+                    position++;
+                }
+            } else {
+                position = mark;
+            }
+        }
+        String text = source.substring(start, position);
+        try {
+            return new Constant(Double.parseDouble(text));
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("invalid number '" + text + "'");
+        }
+    }
+
+    private Node name() {
+        int start = position;
+        while (position < source.length() && Character.isLetterOrDigit(source.charAt(position))) {
+            position++;
+        }
+        String name = source.substring(start, position).toLowerCase(Locale.ROOT);
+
+        if (accept('(')) {
+            Function function = Function.fromName(name);
+            if (function == null) {
+                position = start;
+                throw error("unknown function '" + name + "'");
+            }
+            List<Node> arguments = new ArrayList<>();
+            if (!accept(')')) {
+                do {
+                    arguments.add(sum());
+                } while (accept(','));
+                expect(')');
+            }
+            if (arguments.size() != function.arity()) {
+                position = start;
+                throw error(name + " takes " + function.arity() + " argument(s), got " + arguments.size());
+            }
+            return new Call(function, List.copyOf(arguments));
+        }
+
+        return switch (name) {
+            case "pi" -> new Constant(Math.PI);
+            case "e" -> new Constant(Math.E);
+            case "x" -> new Read(Variable.X);
+            case "y" -> new Read(Variable.Y);
+            case "r" -> new Read(Variable.R);
+            case "r2" -> new Read(Variable.R2);
+            case "theta" -> new Read(Variable.THETA);
+            default -> {
+                position = start;
+                throw error("unknown variable '" + name + "'");
+            }
+        };
+    }
+
+    private void skipSpaces() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private boolean accept(char expected) {
+        skipSpaces();
+        if (position < source.length() && source.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!accept(expected)) {
+            throw error("expected '" + expected + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(
+                "Invalid expression '" + source + "' at position " + position + ": " + message);
+    }
+
+    sealed interface Node permits Constant, Read, Negate, Binary, Call {}
+
+    record Constant(double value) implements Node {}
+
+    record Read(Variable variable) implements Node {}
+
+    record Negate(Node operand) implements Node {}
+
+    record Binary(Operator operator, Node left, Node right) implements Node {}
+
+    record Call(Function function, List<Node> arguments) implements Node {}
+
+    enum Variable {
+        X,
+        Y,
+        // Distance to the origin and its square
+        R,
+        R2,
+        // Angle atan2(y, x)
+        THETA
+    }
+
+    enum Operator {
+        ADD,
+        SUBTRACT,
+        MULTIPLY,
+        DIVIDE
+    }
+
+    // Functions of java.lang.Math taking and returning doubles
+    enum Function {
+        SIN(1),
+        COS(1),
+        TAN(1),
+        ASIN(1),
+        ACOS(1),
+        ATAN(1),
+        SINH(1),
+        COSH(1),
+        TANH(1),
+        SQRT(1),
+        CBRT(1),
+        ABS(1),
+        EXP(1),
+        LOG(1),
+        FLOOR(1),
+        CEIL(1),
+        ATAN2(2),
+        POW(2),
+        HYPOT(2),
+        MIN(2),
+        MAX(2);
+
+        private final int arity;
+
+        Function(int arity) {
+            this.arity = arity;
+        }
+
+        int arity() {
+            return arity;
+        }
+
+        String methodName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        static Function fromName(String name) {
+            for (Function function : values()) {
+                if (function.methodName().equals(name)) {
+                    return function;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -11,4 +11,18 @@ public class Heart implements Transform {
         double y = -r * Math.cos(theta * r);
         return new Point(x, y, point.r(), point.g(), point.b());
     }
+
+    @Override
+    public void apply(double[] point) {
+        transform(point);
+    }
+
+    public static void transform(double[] point) {
+        double x = point[0];
+        double y = point[1];
+        double r = Math.sqrt(x * x + y * y);
+        double theta = Math.atan2(y, x);
+        point[0] = r * Math.sin(theta * r);
+        point[1] = -r * Math.cos(theta * r);
+    }
 }
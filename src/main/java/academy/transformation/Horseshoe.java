@@ -14,4 +14,20 @@ public class Horseshoe implements Transform {
         double y = 2 * point.x() * point.y() / r;
         return new Point(x, y, point.r(), point.g(), point.b());
     }
+
+    @Override
+    public void apply(double[] point) {
+        transform(point);
+    }
+
+    public static void transform(double[] point) {
+        double x = point[0];
+        double y = point[1];
+        double r = Math.sqrt(x * x + y * y);
+        if (r < 1e-10) {
+            return;
+        }
+        point[0] = (x - y) * (x + y) / r;
+        point[1] = 2 * x * y / r;
+    }
 }
@@ -15,4 +15,21 @@ public class Hyperbolic implements Transform {
         double y = r * Math.cos(theta);
         return new Point(x, y, point.r(), point.g(), point.b());
     }
+
+    @Override
+    public void apply(double[] point) {
+        transform(point);
+    }
+
+    public static void transform(double[] point) {
+        double x = point[0];
+        double y = point[1];
+        double r = Math.sqrt(x * x + y * y);
+        if (r < 1e-10) {
+            return;
+        }
+        double theta = Math.atan2(y, x);
+        point[0] = Math.sin(theta) / r;
+        point[1] = r * Math.cos(theta);
+    }
 }
@@ -7,4 +7,9 @@ public class Linear implements Transform {
     public Point apply(Point point) {
         return point;
     }
+
+    @Override
+    public void apply(double[] point) {
+        // Identity: nothing to change
+    }
 }
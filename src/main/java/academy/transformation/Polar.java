@@ -12,4 +12,16 @@ public class Polar implements Transform {
         double y = r - 1;
         return new Point(x, y, point.r(), point.g(), point.b());
     }
+
+    @Override
+    public void apply(double[] point) {
+        transform(point);
+    }
+
+    public static void transform(double[] point) {
+        double x = point[0];
+        double y = point[1];
+        point[0] = Math.atan2(y, x) / Math.PI;
+        point[1] = Math.sqrt(x * x + y * y) - 1;
+    }
 }
@@ -9,4 +9,14 @@ public class Sinusoidal implements Transform {
         double y = Math.sin(point.y());
         return new Point(x, y, point.r(), point.g(), point.b());
     }
+
+    @Override
+    public void apply(double[] point) {
+        transform(point);
+    }
+
+    public static void transform(double[] point) {
+        point[0] = Math.sin(point[0]);
+        point[1] = Math.sin(point[1]);
+    }
 }
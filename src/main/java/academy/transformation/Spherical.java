@@ -14,4 +14,18 @@ public class Spherical implements Transform {
         double y = point.y() / r2;
         return new Point(x, y, point.r(), point.g(), point.b());
     }
+
+    @Override
+    public void apply(double[] point) {
+        transform(point);
+    }
+
+    public static void transform(double[] point) {
+        double r2 = point[0] * point[0] + point[1] * point[1];
+        if (r2 < 1e-10) {
+            return;
+        }
+        point[0] = point[0] / r2;
+        point[1] = point[1] / r2;
+    }
 }
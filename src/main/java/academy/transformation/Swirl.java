@@ -13,4 +13,19 @@ public class Swirl implements Transform {
         double y = point.x() * cosR2 + point.y() * sinR2;
         return new Point(x, y, point.r(), point.g(), point.b());
     }
+
+    @Override
+    public void apply(double[] point) {
+        transform(point);
+    }
+
+    public static void transform(double[] point) {
+        double x = point[0];
+        double y = point[1];
+        double r2 = x * x + y * y;
+        double sinR2 = Math.sin(r2);
+        double cosR2 = Math.cos(r2);
+        point[0] = x * sinR2 - y * cosR2;
+        point[1] = x * cosR2 + y * sinR2;
+    }
 }
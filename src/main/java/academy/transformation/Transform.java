@@ -4,4 +4,8 @@ import academy.model.Point;
 
 public interface Transform {
     Point apply(Point point);
+
+    // Same mapping applied in place to {x, y}, for kernels that avoid allocating points. Built-in variations also
+    // provide it as a static transform(double[]), which kernels can call without a virtual dispatch
+    void apply(double[] point);
 }
@@ -1,8 +1,16 @@
 package academy.transformation;
 
 import academy.model.TransformationType;
+import academy.model.WeightedFunction;
 
 public class TransformFactory {
+    public static Transform create(WeightedFunction function) {
+        if (function.type() == TransformationType.CUSTOM) {
+            return ExpressionCompiler.compile(function.custom());
+        }
+        return create(function.type());
+    }
+
     public static Transform create(TransformationType type) {
         return switch (type) {
             case LINEAR -> new Linear();
@@ -15,6 +23,7 @@ public class TransformFactory {
             case HEART -> new Heart();
             case SPIRAL -> new Spiral();
             case HYPERBOLIC -> new Hyperbolic();
+            case CUSTOM -> throw new IllegalArgumentException("Custom variations are compiled from their expressions");
         };
     }
 }
@@ -0,0 +1,75 @@
+package academy.benchmark;
+
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JVM and machine a JMH result was measured on. JDK, VM and JVM arguments come from the result itself; JMH does not
+ * record the number of processors, so the gate adds it to every run when it saves a baseline and takes its own count
+ * for a fresh result, which it checks on the machine that has just run the benchmarks.
+ */
+public record BenchmarkEnvironment(String jdkVersion, String vmName, List<String> jvmArgs, int processors) {
+    static final String PROCESSORS_FIELD = "availableProcessors";
+    // Processor count of a result that does not record one
+    static final int UNKNOWN = 0;
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .enable(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS)
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .build();
+
+    // Environment of the first run, a JMH invocation uses the same JVM for all of them
+    public static BenchmarkEnvironment read(Path path, int defaultProcessors) throws IOException {
+        JsonNode run = runs(path).path(0);
+        List<String> jvmArgs = new ArrayList<>();
+        run.path("jvmArgs").forEach(arg -> jvmArgs.add(arg.asText()));
+        return new BenchmarkEnvironment(
+                run.path("jdkVersion").asText(),
+                run.path("vmName").asText(),
+                jvmArgs,
+                run.path(PROCESSORS_FIELD).asInt(defaultProcessors));
+    }
+
+    // Copies a result to the baseline with the processor count added to every run
+    public static void record(Path results, Path baseline, int processors) throws IOException {
+        JsonNode runs = runs(results);
+        runs.forEach(run -> ((ObjectNode) run).put(PROCESSORS_FIELD, processors));
+        MAPPER.writeValue(baseline.toFile(), runs);
+    }
+
+    // Differences from another environment, empty when a comparison is meaningful
+    public List<String> differences(BenchmarkEnvironment other) {
+        List<String> differences = new ArrayList<>();
+        if (!jdkVersion.equals(other.jdkVersion)) {
+            differences.add("JDK " + jdkVersion + " vs " + other.jdkVersion);
+        }
+        if (!vmName.equals(other.vmName)) {
+            differences.add("VM " + vmName + " vs " + other.vmName);
+        }
+        if (!jvmArgs.equals(other.jvmArgs)) {
+            differences.add("JVM arguments " + jvmArgs + " vs " + other.jvmArgs);
+        }
+        if (processors != other.processors) {
+            differences.add("processors " + describe(processors) + " vs " + describe(other.processors));
+        }
+        return differences;
+    }
+
+    private static String describe(int processors) {
+        return processors == UNKNOWN ? "unknown" : String.valueOf(processors);
+    }
+
+    private static JsonNode runs(Path path) throws IOException {
+        JsonNode root = MAPPER.readTree(path.toFile());
+        if (root == null || !root.isArray()) {
+            throw new IllegalArgumentException("Not a JMH JSON result: " + path);
+        }
+        return root;
+    }
+}
@@ -0,0 +1,62 @@
+package academy.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BenchmarkEnvironmentTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_shouldTakeProcessorCountFromResultOrDefault() throws IOException {
+        // Arrange
+        Path result = tempDir.resolve("result.json");
+        Files.writeString(
+                result,
+                """
+                [
+                  {
+                    "benchmark": "academy.renderer.RegressionBenchmark.render",
+                    "jvmArgs": ["--add-modules=jdk.incubator.vector", "-Dlog4j2.level=WARN"],
+                    "jdkVersion": "24.0.2",
+                    "vmName": "OpenJDK 64-Bit Server VM"
+                  }
+                ]
+                """);
+        Path baseline = tempDir.resolve("baseline.json");
+
+        // Act
+        BenchmarkEnvironment fresh = BenchmarkEnvironment.read(result, 16);
+        BenchmarkEnvironment.record(result, baseline, 8);
+        BenchmarkEnvironment recorded = BenchmarkEnvironment.read(baseline, 16);
+
+        // Assert
+        List<String> jvmArgs = List.of("--add-modules=jdk.incubator.vector", "-Dlog4j2.level=WARN");
+        assertThat(fresh).isEqualTo(new BenchmarkEnvironment("24.0.2", "OpenJDK 64-Bit Server VM", jvmArgs, 16));
+        assertThat(recorded).isEqualTo(new BenchmarkEnvironment("24.0.2", "OpenJDK 64-Bit Server VM", jvmArgs, 8));
+    }
+
+    @Test
+    void differences_shouldListEveryMismatch() {
+        // Arrange
+        BenchmarkEnvironment baseline =
+                new BenchmarkEnvironment("21.0.1", "OpenJDK 64-Bit Server VM", List.of("--enable-preview"), 1);
+        BenchmarkEnvironment current = new BenchmarkEnvironment("24.0.2", "OpenJDK 64-Bit Server VM", List.of(), 8);
+
+        // Act
+        List<String> differences = baseline.differences(current);
+        List<String> none = current.differences(current);
+
+        // Assert
+        assertThat(differences)
+                .containsExactly("JDK 21.0.1 vs 24.0.2", "JVM arguments [--enable-preview] vs []", "processors 1 vs 8");
+        assertThat(none).isEmpty();
+    }
+}
@@ -0,0 +1,84 @@
+package academy.benchmark;
+
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * One metric of one benchmark in a JMH JSON result: the score with its confidence interval, which JMH computes at 99.9%
+ * over the measurement iterations of all forks. The primary metric is named after the benchmark mode; of the secondary
+ * metrics only the allocation per operation of the GC profiler is read.
+ */
+public record BenchmarkScore(
+        String benchmark,
+        String params,
+        String metric,
+        String unit,
+        double score,
+        double low,
+        double high,
+        boolean higherIsBetter) {
+    static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final String THROUGHPUT_MODE = "thrpt";
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .enable(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS)
+            .build();
+
+    // Identifies the same measurement in another run
+    public String key() {
+        return benchmark + " " + params + " " + metric;
+    }
+
+    public static List<BenchmarkScore> read(Path path) throws IOException {
+        JsonNode root = MAPPER.readTree(path.toFile());
+        if (root == null || !root.isArray()) {
+            throw new IllegalArgumentException("Not a JMH JSON result: " + path);
+        }
+        List<BenchmarkScore> scores = new ArrayList<>();
+        for (JsonNode run : root) {
+            String benchmark = run.path("benchmark").asText();
+            String mode = run.path("mode").asText();
+            String params = params(run.path("params"));
+            scores.add(score(benchmark, params, mode, run.path("primaryMetric"), THROUGHPUT_MODE.equals(mode)));
+
+            for (Map.Entry<String, JsonNode> metric :
+                    run.path("secondaryMetrics").properties()) {
+                // Older JMH versions prefix secondary metric names with a middle dot
+                if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                    scores.add(score(benchmark, params, ALLOCATION_METRIC, metric.getValue(), false));
+                }
+            }
+        }
+        return scores;
+    }
+
+    // Parameters in declaration order, "-" for a benchmark without any
+    private static String params(JsonNode params) {
+        StringJoiner joiner = new StringJoiner(",");
+        params.properties()
+                .forEach(param ->
+                        joiner.add(param.getKey() + "=" + param.getValue().asText()));
+        return joiner.length() == 0 ? "-" : joiner.toString();
+    }
+
+    // NaN bounds, as JMH writes for a single iteration, leave the interval unknown
+    private static BenchmarkScore score(
+            String benchmark, String params, String metric, JsonNode node, boolean higherIsBetter) {
+        JsonNode confidence = node.path("scoreConfidence");
+        return new BenchmarkScore(
+                benchmark,
+                params,
+                metric,
+                node.path("scoreUnit").asText(),
+                node.path("score").asDouble(Double.NaN),
+                confidence.path(0).asDouble(Double.NaN),
+                confidence.path(1).asDouble(Double.NaN),
+                higherIsBetter);
+    }
+}
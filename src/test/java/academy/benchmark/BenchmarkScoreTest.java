@@ -0,0 +1,102 @@
+package academy.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BenchmarkScoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_shouldReturnPrimaryAndAllocationMetrics() throws IOException {
+        // Arrange
+        Path result = tempDir.resolve("result.json");
+        Files.writeString(
+                result,
+                """
+                [
+                  {
+                    "benchmark": "academy.renderer.RegressionBenchmark.render",
+                    "mode": "thrpt",
+                    "params": {"threads": "4"},
+                    "primaryMetric": {"score": 12.5, "scoreConfidence": [11.5, 13.5], "scoreUnit": "ops/min"},
+                    "secondaryMetrics": {
+                      "gc.alloc.rate": {"score": 3.0, "scoreConfidence": [2.0, 4.0], "scoreUnit": "MB/sec"},
+                      "gc.alloc.rate.norm": {"score": 1000.0, "scoreConfidence": [990.0, 1010.0], "scoreUnit": "B/op"}
+                    }
+                  }
+                ]
+                """);
+
+        // Act
+        List<BenchmarkScore> scores = BenchmarkScore.read(result);
+
+        // Assert
+        assertThat(scores)
+                .containsExactly(
+                        new BenchmarkScore(
+                                "academy.renderer.RegressionBenchmark.render",
+                                "threads=4",
+                                "thrpt",
+                                "ops/min",
+                                12.5,
+                                11.5,
+                                13.5,
+                                true),
+                        new BenchmarkScore(
+                                "academy.renderer.RegressionBenchmark.render",
+                                "threads=4",
+                                "gc.alloc.rate.norm",
+                                "B/op",
+                                1000.0,
+                                990.0,
+                                1010.0,
+                                false));
+    }
+
+    @Test
+    void read_shouldAcceptNanBoundsAndMissingParams() throws IOException {
+        // Arrange
+        Path result = tempDir.resolve("result.json");
+        Files.writeString(
+                result,
+                """
+                [
+                  {
+                    "benchmark": "academy.model.PointBenchmark.apply",
+                    "mode": "avgt",
+                    "primaryMetric": {"score": 5.0, "scoreConfidence": ["NaN", "NaN"], "scoreUnit": "ns/op"}
+                  }
+                ]
+                """);
+
+        // Act
+        BenchmarkScore score = BenchmarkScore.read(result).getFirst();
+
+        // Assert
+        assertThat(score.params()).isEqualTo("-");
+        assertThat(score.higherIsBetter()).isFalse();
+        assertThat(score.low()).isNaN();
+        assertThat(score.high()).isNaN();
+    }
+
+    @Test
+    void read_shouldRejectNonArray() throws IOException {
+        // Arrange
+        Path result = tempDir.resolve("result.json");
+        Files.writeString(result, "{}");
+
+        // Act & Assert
+        assertThatThrownBy(() -> BenchmarkScore.read(result))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Not a JMH JSON result");
+    }
+}
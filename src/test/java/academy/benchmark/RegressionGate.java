@@ -0,0 +1,239 @@
+package academy.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Compares a JMH result with the committed baseline and fails when a metric got worse by more than the threshold while
+ * its confidence interval no longer overlaps the baseline one, so noise alone does not fail a build. Throughput is
+ * better when higher, times and allocation per operation when lower. A baseline metric missing from the result fails as
+ * well, metrics new in the result are only listed. Writes the comparison as a text table and as CSV. Scores are only
+ * compared when the baseline was measured on the same JDK, VM, JVM arguments and number of processors, otherwise the
+ * gate fails and asks for the baseline to be recorded again. Without a baseline the gate is skipped.
+ */
+@Command(
+        name = "regression-gate",
+        mixinStandardHelpOptions = true,
+        description = "Compares a JMH JSON result with a baseline and fails on regressions")
+public class RegressionGate implements Callable<Integer> {
+    private static final Logger LOGGER = LogManager.getLogger(RegressionGate.class);
+
+    @Option(
+            names = {"--baseline"},
+            required = true,
+            description = "Baseline JMH JSON result")
+    private Path baseline;
+
+    @Option(
+            names = {"--results"},
+            required = true,
+            description = "JMH JSON result to check")
+    private Path results;
+
+    @Option(
+            names = {"--threshold"},
+            description = "Largest tolerated relative change for the worse (default: 0.10)")
+    private double threshold = 0.10;
+
+    @Option(
+            names = {"--report"},
+            description = "Report path without extension, .txt and .csv are written (default: perf-report)")
+    private Path report = Path.of("perf-report");
+
+    @Option(
+            names = {"--update"},
+            arity = "0..1",
+            description = "Replace the baseline with the results instead of comparing (default: false)")
+    private boolean update;
+
+    @Option(
+            names = {"--processors"},
+            description = "Processors of the machine that ran the benchmarks (default: this machine)")
+    private int processors = Runtime.getRuntime().availableProcessors();
+
+    public static void main(String[] args) {
+        System.exit(new CommandLine(new RegressionGate()).execute(args));
+    }
+
+    @Override
+    public Integer call() throws IOException {
+        if (update) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            BenchmarkEnvironment.record(results, baseline, processors);
+            LOGGER.info("Baseline {} updated from {}", baseline, results);
+            return 0;
+        }
+        if (!Files.exists(baseline)) {
+            String skipped = "Performance regression gate: SKIPPED, no baseline " + baseline
+                    + ", record one in this environment with -Dperf.update=true";
+            Files.write(Path.of(report + ".txt"), List.of(skipped), StandardCharsets.UTF_8);
+            LOGGER.warn(skipped);
+            return 0;
+        }
+
+        List<String> differences = BenchmarkEnvironment.read(baseline, BenchmarkEnvironment.UNKNOWN)
+                .differences(BenchmarkEnvironment.read(results, processors));
+        if (!differences.isEmpty()) {
+            List<String> lines = new ArrayList<>();
+            lines.add("Performance regression gate: FAILED, the baseline was measured in another environment"
+                    + " (baseline vs current)");
+            differences.forEach(difference -> lines.add("  " + difference));
+            lines.add("Record the baseline again in this environment with -Dperf.update=true");
+            Files.write(Path.of(report + ".txt"), lines, StandardCharsets.UTF_8);
+            lines.forEach(LOGGER::error);
+            return 1;
+        }
+
+        List<Comparison> comparisons = compare(BenchmarkScore.read(baseline), BenchmarkScore.read(results), threshold);
+        List<String> table = table(comparisons, threshold);
+        Files.write(Path.of(report + ".txt"), table, StandardCharsets.UTF_8);
+        Files.write(Path.of(report + ".csv"), csv(comparisons), StandardCharsets.UTF_8);
+        table.forEach(LOGGER::info);
+        return comparisons.stream().anyMatch(comparison -> comparison.verdict().failed()) ? 1 : 0;
+    }
+
+    // Baseline metrics in their order, then metrics only the results have
+    static List<Comparison> compare(List<BenchmarkScore> baseline, List<BenchmarkScore> current, double threshold) {
+        Map<String, BenchmarkScore> remaining = new LinkedHashMap<>();
+        current.forEach(score -> remaining.put(score.key(), score));
+        List<Comparison> comparisons = new ArrayList<>();
+        for (BenchmarkScore before : baseline) {
+            BenchmarkScore after = remaining.remove(before.key());
+            comparisons.add(new Comparison(before, after, verdict(before, after, threshold)));
+        }
+        remaining.values().forEach(after -> comparisons.add(new Comparison(null, after, Verdict.NEW)));
+        return comparisons;
+    }
+
+    static Verdict verdict(BenchmarkScore before, BenchmarkScore after, double threshold) {
+        if (after == null) {
+            return Verdict.MISSING;
+        }
+        double worse = worsening(before, after);
+        // Intervals that are unknown count as separated, the threshold alone decides then
+        if (worse > threshold
+                && !(before.higherIsBetter() ? after.high() >= before.low() : after.low() <= before.high())) {
+            return Verdict.REGRESSED;
+        }
+        if (worse < -threshold
+                && !(before.higherIsBetter() ? after.low() <= before.high() : after.high() >= before.low())) {
+            return Verdict.IMPROVED;
+        }
+        return Verdict.UNCHANGED;
+    }
+
+    // Relative change for the worse, negative for an improvement
+    static double worsening(BenchmarkScore before, BenchmarkScore after) {
+        double change = after.score() - before.score();
+        if (before.score() == 0) {
+            return change == 0
+                    ? 0
+                    : Math.copySign(Double.POSITIVE_INFINITY, before.higherIsBetter() ? -change : change);
+        }
+        double relative = change / Math.abs(before.score());
+        return before.higherIsBetter() ? -relative : relative;
+    }
+
+    static List<String> table(List<Comparison> comparisons, double threshold) {
+        long failed = comparisons.stream()
+                .filter(comparison -> comparison.verdict().failed())
+                .count();
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(
+                Locale.ROOT,
+                "Performance regression gate: %s (%d of %d metrics failed, threshold %.0f%%)",
+                failed == 0 ? "PASSED" : "FAILED",
+                failed,
+                comparisons.size(),
+                threshold * 100));
+        String format = "%-45s %-16s %-20s %-28s %-28s %-9s %s";
+        lines.add(String.format(
+                Locale.ROOT, format, "Benchmark", "Params", "Metric", "Baseline", "Current", "Change", "Verdict"));
+        for (Comparison comparison : comparisons) {
+            BenchmarkScore any = comparison.before() != null ? comparison.before() : comparison.after();
+            lines.add(String.format(
+                    Locale.ROOT,
+                    format,
+                    any.benchmark(),
+                    any.params(),
+                    any.metric(),
+                    describe(comparison.before()),
+                    describe(comparison.after()),
+                    change(comparison),
+                    comparison.verdict()));
+        }
+        return lines;
+    }
+
+    static List<String> csv(List<Comparison> comparisons) {
+        List<String> lines = new ArrayList<>();
+        lines.add("benchmark,params,metric,unit,baseline,baseline_low,baseline_high,current,current_low,current_high,"
+                + "change_percent,verdict");
+        for (Comparison comparison : comparisons) {
+            BenchmarkScore any = comparison.before() != null ? comparison.before() : comparison.after();
+            lines.add(String.join(
+                    ",",
+                    any.benchmark(),
+                    '"' + any.params() + '"',
+                    any.metric(),
+                    any.unit(),
+                    values(comparison.before()),
+                    values(comparison.after()),
+                    change(comparison),
+                    comparison.verdict().name()));
+        }
+        return lines;
+    }
+
+    private static String describe(BenchmarkScore score) {
+        if (score == null) {
+            return "-";
+        }
+        return String.format(
+                Locale.ROOT, "%.3f ± %.3f %s", score.score(), (score.high() - score.low()) / 2, score.unit());
+    }
+
+    private static String values(BenchmarkScore score) {
+        if (score == null) {
+            return ",,";
+        }
+        return String.format(Locale.ROOT, "%s,%s,%s", score.score(), score.low(), score.high());
+    }
+
+    // Signed change of the score, as a percentage of the baseline
+    private static String change(Comparison comparison) {
+        if (comparison.before() == null || comparison.after() == null) {
+            return "";
+        }
+        double relative = (comparison.after().score() - comparison.before().score())
+                / Math.abs(comparison.before().score());
+        return String.format(Locale.ROOT, "%+.1f%%", relative * 100);
+    }
+
+    record Comparison(BenchmarkScore before, BenchmarkScore after, Verdict verdict) {}
+
+    enum Verdict {
+        UNCHANGED,
+        IMPROVED,
+        REGRESSED,
+        MISSING,
+        NEW;
+
+        boolean failed() {
+            return this == REGRESSED || this == MISSING;
+        }
+    }
+}
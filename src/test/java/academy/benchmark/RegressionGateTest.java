@@ -0,0 +1,278 @@
+package academy.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import academy.benchmark.RegressionGate.Comparison;
+import academy.benchmark.RegressionGate.Verdict;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+
+class RegressionGateTest {
+    private static final String BENCHMARK = "academy.renderer.RegressionBenchmark.render";
+    private static final String JDK = "24.0.2";
+    private static final String VM = "OpenJDK 64-Bit Server VM";
+    private static final String JVM_ARG = "--add-modules=jdk.incubator.vector";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void verdict_shouldFlagThroughputDropBeyondThreshold() {
+        // Arrange
+        BenchmarkScore before = throughput(100, 98, 102);
+        BenchmarkScore after = throughput(80, 78, 82);
+
+        // Act
+        Verdict verdict = RegressionGate.verdict(before, after, 0.10);
+
+        // Assert
+        assertThat(verdict).isEqualTo(Verdict.REGRESSED);
+    }
+
+    @Test
+    void verdict_shouldIgnoreDropWithinOverlappingIntervals() {
+        // Arrange
+        BenchmarkScore before = throughput(100, 70, 130);
+        BenchmarkScore after = throughput(80, 60, 100);
+
+        // Act
+        Verdict verdict = RegressionGate.verdict(before, after, 0.10);
+
+        // Assert
+        assertThat(verdict).isEqualTo(Verdict.UNCHANGED);
+    }
+
+    @Test
+    void verdict_shouldIgnoreDropWithinThreshold() {
+        // Arrange
+        BenchmarkScore before = throughput(100, 99, 101);
+        BenchmarkScore after = throughput(95, 94, 96);
+
+        // Act
+        Verdict verdict = RegressionGate.verdict(before, after, 0.10);
+
+        // Assert
+        assertThat(verdict).isEqualTo(Verdict.UNCHANGED);
+    }
+
+    @Test
+    void verdict_shouldTreatAllocationGrowthAsRegression() {
+        // Arrange
+        BenchmarkScore before = allocation(1000, 990, 1010);
+        BenchmarkScore after = allocation(1500, 1490, 1510);
+
+        // Act
+        Verdict verdict = RegressionGate.verdict(before, after, 0.10);
+
+        // Assert
+        assertThat(verdict).isEqualTo(Verdict.REGRESSED);
+    }
+
+    @Test
+    void verdict_shouldReportImprovementAndGrowthFromZero() {
+        // Act & Assert
+        assertThat(RegressionGate.verdict(throughput(100, 98, 102), throughput(150, 148, 152), 0.10))
+                .isEqualTo(Verdict.IMPROVED);
+        assertThat(RegressionGate.verdict(allocation(0, 0, 0), allocation(64, 64, 64), 0.10))
+                .isEqualTo(Verdict.REGRESSED);
+        assertThat(RegressionGate.verdict(allocation(0, 0, 0), allocation(0, 0, 0), 0.10))
+                .isEqualTo(Verdict.UNCHANGED);
+    }
+
+    @Test
+    void compare_shouldReportMissingAndNewMetrics() {
+        // Arrange
+        BenchmarkScore kept = throughput(100, 98, 102);
+        BenchmarkScore removed = allocation(1000, 990, 1010);
+        BenchmarkScore added = new BenchmarkScore(BENCHMARK, "threads=8", "thrpt", "ops/min", 50, 49, 51, true);
+
+        // Act
+        List<Comparison> comparisons = RegressionGate.compare(List.of(kept, removed), List.of(kept, added), 0.10);
+
+        // Assert
+        assertThat(comparisons)
+                .extracting(Comparison::verdict)
+                .containsExactly(Verdict.UNCHANGED, Verdict.MISSING, Verdict.NEW);
+    }
+
+    @Test
+    void call_shouldFailOnRegressionAndWriteReports() throws IOException {
+        // Arrange
+        Path baseline = write("baseline.json", 100, 98, 102);
+        Path results = write("results.json", 70, 69, 71);
+        Path report = tempDir.resolve("perf-report");
+
+        // Act
+        int exitCode = new CommandLine(new RegressionGate())
+                .execute(
+                        "--baseline", baseline.toString(),
+                        "--results", results.toString(),
+                        "--report", report.toString());
+
+        // Assert
+        assertThat(exitCode).isEqualTo(1);
+        assertThat(Files.readString(tempDir.resolve("perf-report.txt")))
+                .contains("FAILED")
+                .contains("-30.0%")
+                .contains("REGRESSED");
+        assertThat(Files.readAllLines(tempDir.resolve("perf-report.csv")))
+                .hasSize(2)
+                .last()
+                .asString()
+                .startsWith(
+                        BENCHMARK + ",\"threads=4\",thrpt,ops/min,100.0,98.0,102.0,70.0,69.0,71.0,-30.0%,REGRESSED");
+    }
+
+    @Test
+    void call_shouldPassWithinThresholdAndUpdateBaseline() throws IOException {
+        // Arrange
+        Path baseline = write("baseline.json", 100, 98, 102);
+        Path results = write("results.json", 97, 96, 98);
+        Path report = tempDir.resolve("perf-report");
+
+        // Act
+        int checked = new CommandLine(new RegressionGate())
+                .execute(
+                        "--baseline", baseline.toString(),
+                        "--results", results.toString(),
+                        "--report", report.toString());
+        int updated = new CommandLine(new RegressionGate())
+                .execute(
+                        "--baseline",
+                        baseline.toString(),
+                        "--results",
+                        results.toString(),
+                        "--processors",
+                        "8",
+                        "--update");
+
+        // Assert
+        assertThat(checked).isZero();
+        assertThat(updated).isZero();
+        assertThat(BenchmarkScore.read(baseline)).isEqualTo(BenchmarkScore.read(results));
+        assertThat(BenchmarkEnvironment.read(baseline, BenchmarkEnvironment.UNKNOWN))
+                .isEqualTo(new BenchmarkEnvironment(JDK, VM, List.of(JVM_ARG), 8));
+    }
+
+    @Test
+    void call_shouldRefuseBaselineFromAnotherJdk() throws IOException {
+        // Arrange
+        Path baseline = write("baseline.json", "21.0.1", 4, 100, 98, 102);
+        Path results = write("results.json", 100, 98, 102);
+        Path report = tempDir.resolve("perf-report");
+
+        // Act
+        int exitCode = new CommandLine(new RegressionGate())
+                .execute(
+                        "--baseline", baseline.toString(),
+                        "--results", results.toString(),
+                        "--report", report.toString());
+
+        // Assert
+        assertThat(exitCode).isEqualTo(1);
+        assertThat(Files.readString(tempDir.resolve("perf-report.txt")))
+                .contains("FAILED")
+                .contains("JDK 21.0.1 vs " + JDK)
+                .contains("-Dperf.update=true");
+        assertThat(tempDir.resolve("perf-report.csv")).doesNotExist();
+    }
+
+    @Test
+    void call_shouldRefuseBaselineFromMachineWithOtherProcessorCount() throws IOException {
+        // Arrange
+        Path recorded = write("recorded.json", JDK, 4, 100, 98, 102);
+        Path unrecorded = write("unrecorded.json", JDK, BenchmarkEnvironment.UNKNOWN, 100, 98, 102);
+        Path results = write("results.json", JDK, BenchmarkEnvironment.UNKNOWN, 100, 98, 102);
+
+        // Act
+        int otherCount = new CommandLine(new RegressionGate())
+                .execute(
+                        "--baseline", recorded.toString(),
+                        "--results", results.toString(),
+                        "--report", tempDir.resolve("other").toString(),
+                        "--processors", "8");
+        int unknownCount = new CommandLine(new RegressionGate())
+                .execute(
+                        "--baseline", unrecorded.toString(),
+                        "--results", results.toString(),
+                        "--report", tempDir.resolve("unknown").toString(),
+                        "--processors", "4");
+
+        // Assert
+        assertThat(otherCount).isEqualTo(1);
+        assertThat(unknownCount).isEqualTo(1);
+        assertThat(Files.readString(tempDir.resolve("other.txt"))).contains("processors 4 vs 8");
+        assertThat(Files.readString(tempDir.resolve("unknown.txt"))).contains("processors unknown vs 4");
+    }
+
+    @Test
+    void call_shouldSkipWithoutBaseline() throws IOException {
+        // Arrange
+        Path results = write("results.json", 100, 98, 102);
+
+        // Act
+        int exitCode = new CommandLine(new RegressionGate())
+                .execute(
+                        "--baseline", tempDir.resolve("baseline.json").toString(),
+                        "--results", results.toString(),
+                        "--report", tempDir.resolve("perf-report").toString());
+
+        // Assert
+        assertThat(exitCode).isZero();
+        assertThat(Files.readString(tempDir.resolve("perf-report.txt")))
+                .contains("SKIPPED")
+                .contains("-Dperf.update=true");
+        assertThat(tempDir.resolve("perf-report.csv")).doesNotExist();
+    }
+
+    private Path write(String name, double score, double low, double high) throws IOException {
+        return write(name, JDK, 4, score, low, high);
+    }
+
+    // A processor count of UNKNOWN leaves it out, as in a result written by JMH
+    private Path write(String name, String jdkVersion, int processors, double score, double low, double high)
+            throws IOException {
+        Path path = tempDir.resolve(name);
+        Files.writeString(
+                path,
+                """
+                [
+                  {
+                    "benchmark": "%s",
+                    "mode": "thrpt",
+                    "jvmArgs": ["%s"],
+                    "jdkVersion": "%s",
+                    "vmName": "%s",%s
+                    "params": {"threads": "4"},
+                    "primaryMetric": {"score": %s, "scoreConfidence": [%s, %s], "scoreUnit": "ops/min"}
+                  }
+                ]
+                """
+                        .formatted(
+                                BENCHMARK,
+                                JVM_ARG,
+                                jdkVersion,
+                                VM,
+                                processors == BenchmarkEnvironment.UNKNOWN
+                                        ? ""
+                                        : "\n    \"availableProcessors\": " + processors + ",",
+                                score,
+                                low,
+                                high));
+        return path;
+    }
+
+    private static BenchmarkScore throughput(double score, double low, double high) {
+        return new BenchmarkScore(BENCHMARK, "threads=4", "thrpt", "ops/min", score, low, high, true);
+    }
+
+    private static BenchmarkScore allocation(double score, double low, double high) {
+        return new BenchmarkScore(
+                BENCHMARK, "threads=4", BenchmarkScore.ALLOCATION_METRIC, "B/op", score, low, high, false);
+    }
+}
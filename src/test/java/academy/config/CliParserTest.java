@@ -60,6 +60,16 @@ class CliParserTest {
         assertThat(result).hasSize(3);
     }
 
+    @Test
+    void parseAffineParams_shouldParseOptionalWeight() {
+        // Act
+        List<AffineTransformation> result = CliParser.parseAffineParams("1,0,0,0,1,0,2.5/0.5,0,0,0,0.5,0", 123L);
+
+        // Assert
+        assertThat(result.get(0).weight()).isEqualTo(2.5);
+        assertThat(result.get(1).weight()).isEqualTo(1.0);
+    }
+
     @Test
     void parseAffineParams_shouldThrowExceptionForInvalidCoeffCount() {
         // Arrange
@@ -3,7 +3,14 @@ package academy.config;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import academy.model.CustomVariation;
+import academy.model.DensityEstimation;
+import academy.model.DownsampleFilter;
 import academy.model.FractalConfig;
+import academy.model.HistogramMode;
+import academy.model.HistogramStorage;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -35,7 +42,7 @@ class ConfigLoaderTest {
         assertThat(config.width()).isEqualTo(800);
         assertThat(config.height()).isEqualTo(600);
         assertThat(config.seed()).isEqualTo(999L);
-        assertThat(config.iterationCount()).isEqualTo(5000);
+        assertThat(config.samples()).isEqualTo(5000);
         assertThat(config.outputPath()).isEqualTo("custom.png");
         assertThat(config.threads()).isEqualTo(2);
         assertThat(config.gammaCorrection()).isFalse();
@@ -51,7 +58,7 @@ class ConfigLoaderTest {
         assertThat(config.width()).isEqualTo(1920);
         assertThat(config.height()).isEqualTo(1080);
         assertThat(config.seed()).isEqualTo(5L);
-        assertThat(config.iterationCount()).isEqualTo(2500);
+        assertThat(config.samples()).isEqualTo(2500);
         assertThat(config.outputPath()).isEqualTo("result.png");
         assertThat(config.threads()).isEqualTo(1);
         assertThat(config.gammaCorrection()).isTrue();
@@ -89,7 +96,7 @@ class ConfigLoaderTest {
         // Assert
         assertThat(config.width()).isEqualTo(640);
         assertThat(config.height()).isEqualTo(480);
-        assertThat(config.iterationCount()).isEqualTo(3000);
+        assertThat(config.samples()).isEqualTo(3000);
         assertThat(config.seed()).isEqualTo(12345L);
         assertThat(config.threads()).isEqualTo(4);
     }
@@ -154,7 +161,7 @@ class ConfigLoaderTest {
                     ],
                     "affine_params": [
                         {"a": 0.5, "b": 0.3, "c": 0.1, "d": 0.2, "e": 0.6, "f": 0.05},
-                        {"a": -0.5, "b": 0.5, "c": 0.2, "d": 0.3, "e": -0.4, "f": 0.1}
+                        {"a": -0.5, "b": 0.5, "c": 0.2, "d": 0.3, "e": -0.4, "f": 0.1, "weight": 3.0}
                     ]
                 }
                 """;
@@ -167,6 +174,227 @@ class ConfigLoaderTest {
 
         // Assert
         assertThat(config.affineTransformations()).hasSize(2);
+        assertThat(config.affineTransformations().get(0).weight()).isEqualTo(1.0);
+        assertThat(config.affineTransformations().get(1).weight()).isEqualTo(3.0);
         assertThat(config.weightedFunctions()).hasSize(2);
     }
+
+    @Test
+    void configLoader_shouldLoadCustomFunctionsFromJson() throws IOException {
+        // Arrange
+        String jsonContent =
+                """
+                {
+                    "functions": [
+                        {"name": "swirl", "weight": 1.0},
+                        {"name": "custom", "weight": 2.0, "x": "sin(x) / r", "y": "cos(y) * r"},
+                        {"x": "y", "y": "x"}
+                    ]
+                }
+                """;
+        Path configPath = tempDir.resolve("config.json");
+        Files.writeString(configPath, jsonContent);
+
+        // Act
+        FractalConfig config =
+                ConfigLoader.load(configPath.toString(), null, null, null, null, null, null, null, null, null, null);
+
+        // Assert
+        assertThat(config.weightedFunctions())
+                .containsExactly(
+                        new WeightedFunction(TransformationType.SWIRL, 1.0),
+                        WeightedFunction.custom(new CustomVariation("sin(x) / r", "cos(y) * r"), 2.0),
+                        WeightedFunction.custom(new CustomVariation("y", "x"), 1.0));
+    }
+
+    @Test
+    void configLoader_shouldRejectInvalidCustomFunction() throws IOException {
+        // Arrange
+        String jsonContent =
+                """
+                {"functions": [{"name": "custom", "x": "sin(x", "y": "y"}]}
+                """;
+        Path configPath = tempDir.resolve("config.json");
+        Files.writeString(configPath, jsonContent);
+
+        // Act & Assert
+        assertThatThrownBy(() -> ConfigLoader.load(
+                        configPath.toString(), null, null, null, null, null, null, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expected ')'");
+    }
+
+    @Test
+    void configLoader_shouldLoadRenderOptionsWithCliPriority() throws IOException {
+        // Arrange
+        String jsonContent =
+                """
+                {
+                    "render": {
+                        "histogram_mode": "shared",
+                        "histogram_storage": "off-heap",
+                        "memory_budget_mb": 64,
+                        "scatter_buffer": 4096
+                    }
+                }
+                """;
+        Path configPath = tempDir.resolve("config.json");
+        Files.writeString(configPath, jsonContent);
+        JsonConfig.RenderConfig cli = new JsonConfig.RenderConfig();
+        cli.memoryBudgetMb = 16L;
+
+        // Act
+        FractalConfig config = ConfigLoader.load(
+                configPath.toString(), null, null, null, null, null, null, null, null, null, null, cli);
+
+        // Assert
+        assertThat(config.renderOptions().histogramMode()).isEqualTo(HistogramMode.SHARED); // From JSON
+        assertThat(config.renderOptions().histogramStorage()).isEqualTo(HistogramStorage.OFF_HEAP); // From JSON
+        assertThat(config.renderOptions().memoryBudgetBytes()).isEqualTo(16L * 1024 * 1024); // From CLI
+        assertThat(config.renderOptions().scatterBufferSize()).isEqualTo(4096); // From JSON
+    }
+
+    @Test
+    void configLoader_shouldLoadOutputSettingsWithCliPriority() throws IOException {
+        // Arrange
+        String jsonContent =
+                """
+                {
+                    "render": {
+                        "supersample": 2,
+                        "downsample_filter": "gaussian",
+                        "de_max_radius": 9.0,
+                        "de_curve": 0.5
+                    }
+                }
+                """;
+        Path configPath = tempDir.resolve("config.json");
+        Files.writeString(configPath, jsonContent);
+        JsonConfig.RenderConfig cli = new JsonConfig.RenderConfig();
+        cli.supersample = 4;
+        cli.deMinRadius = 1.0;
+
+        // Act
+        FractalConfig config = ConfigLoader.load(
+                configPath.toString(), null, null, null, null, null, null, null, null, null, null, cli);
+        FractalConfig defaults = ConfigLoader.load(null, null, null, null, null, null, null, null, null, null, null);
+
+        // Assert
+        assertThat(config.supersample()).isEqualTo(4); // From CLI
+        assertThat(config.downsampleFilter()).isEqualTo(DownsampleFilter.GAUSSIAN); // From JSON
+        assertThat(defaults.supersample()).isEqualTo(1);
+        assertThat(defaults.downsampleFilter()).isEqualTo(DownsampleFilter.BOX);
+        assertThat(config.densityEstimation()).isEqualTo(new DensityEstimation(9.0, 1.0, 0.5));
+        assertThat(defaults.densityEstimation()).isEqualTo(DensityEstimation.NONE);
+    }
+
+    @Test
+    void configLoader_shouldUsePrivateHistogramsByDefault() {
+        // Act
+        FractalConfig config = ConfigLoader.load(null, null, null, null, null, null, null, null, null, null, null);
+
+        // Assert
+        assertThat(config.renderOptions().histogramMode()).isEqualTo(HistogramMode.PRIVATE);
+    }
+
+    @Test
+    void fromJson_shouldReadConfigTextWithDefaults() {
+        // Arrange
+        String json =
+                """
+                {
+                    "size": {"width": 320, "height": 240},
+                    "seed": 7,
+                    "render": {"supersample": 2}
+                }
+                """;
+
+        // Act
+        FractalConfig config = ConfigLoader.fromJson(json);
+
+        // Assert
+        assertThat(config.width()).isEqualTo(320);
+        assertThat(config.height()).isEqualTo(240);
+        assertThat(config.seed()).isEqualTo(7L);
+        assertThat(config.supersample()).isEqualTo(2);
+        assertThat(config.samples()).isEqualTo(2500);
+    }
+
+    @Test
+    void fromJson_shouldRejectMalformedJson() {
+        // Act & Assert
+        assertThatThrownBy(() -> ConfigLoader.fromJson("{\"size\": "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid JSON config");
+    }
+
+    @Test
+    void fromJson_shouldReadConvergenceThresholdFromRenderSection() {
+        // Act
+        FractalConfig config = ConfigLoader.fromJson("{\"render\": {\"convergence_threshold\": 0.05}}");
+        FractalConfig defaults = ConfigLoader.fromJson("{}");
+
+        // Assert
+        assertThat(config.convergenceThreshold()).isEqualTo(0.05);
+        assertThat(defaults.convergent()).isFalse();
+    }
+
+    @Test
+    void fromJson_shouldUseIterationCountForSamplesAndChainLength() {
+        // Act
+        FractalConfig config = ConfigLoader.fromJson("{\"iteration_count\": 3000}");
+
+        // Assert
+        assertThat(config.samples()).isEqualTo(3000);
+        assertThat(config.iterationsPerSample()).isEqualTo(3000);
+    }
+
+    @Test
+    void fromJson_shouldReadSamplesAndIterationsPerSample() {
+        // Act
+        FractalConfig config = ConfigLoader.fromJson(
+                "{\"iteration_count\": 3000, \"samples\": 20000, \"iterations_per_sample\": 100}");
+
+        // Assert
+        assertThat(config.samples()).isEqualTo(20000);
+        assertThat(config.iterationsPerSample()).isEqualTo(100);
+        assertThat(config.totalPoints()).isEqualTo(2_000_000L);
+    }
+
+    @Test
+    void configLoader_shouldPrioritizeCliSamplesOverJson() throws IOException {
+        // Arrange
+        Path configPath = tempDir.resolve("config.json");
+        Files.writeString(configPath, "{\"samples\": 20000, \"iterations_per_sample\": 100}");
+
+        // Act
+        FractalConfig config = ConfigLoader.load(
+                configPath.toString(), null, null, null, null, 500, null, null, null, null, null, null, null, null);
+        FractalConfig fromIterationCount = ConfigLoader.load(
+                configPath.toString(), null, null, null, 700, null, 50, null, null, null, null, null, null, null);
+
+        // Assert
+        assertThat(config.samples()).isEqualTo(500);
+        assertThat(config.iterationsPerSample()).isEqualTo(100);
+        assertThat(fromIterationCount.samples()).isEqualTo(700);
+        assertThat(fromIterationCount.iterationsPerSample()).isEqualTo(50);
+    }
+
+    @Test
+    void configLoader_shouldLoadWalkersWithCliPriority() {
+        // Arrange
+        JsonConfig.RenderConfig cli = new JsonConfig.RenderConfig();
+        cli.walkers = 8;
+
+        // Act
+        FractalConfig fromJson = ConfigLoader.fromJson("{\"render\": {\"walkers\": 16}}");
+        FractalConfig fromCli =
+                ConfigLoader.load(null, null, null, null, null, null, null, null, null, null, null, cli);
+        FractalConfig defaults = ConfigLoader.fromJson("{}");
+
+        // Assert
+        assertThat(fromJson.renderOptions().walkers()).isEqualTo(16);
+        assertThat(fromCli.renderOptions().walkers()).isEqualTo(8);
+        assertThat(defaults.renderOptions().walkers()).isZero();
+    }
 }
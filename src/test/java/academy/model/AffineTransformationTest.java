@@ -1,6 +1,7 @@
 package academy.model;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.within;
 
 import org.junit.jupiter.api.Test;
@@ -79,4 +80,41 @@ class AffineTransformationTest {
         assertThat(affine.green()).isEqualTo(0);
         assertThat(affine.blue()).isEqualTo(0);
     }
+
+    @Test
+    void affineTransformation_shouldDefaultWeightToOne() {
+        // Act
+        AffineTransformation affine = new AffineTransformation(1.0, 0.0, 0.0, 0.0, 1.0, 0.0);
+
+        // Assert
+        assertThat(affine.weight()).isEqualTo(1.0);
+    }
+
+    @Test
+    void affineTransformation_shouldRejectNonPositiveWeight() {
+        // Act & Assert
+        assertThatThrownBy(() -> new AffineTransformation(1.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0, 0, 0, 0.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("weight must be positive");
+    }
+
+    @Test
+    void affineTransformation_shouldInterpolateCoefficientsColorsAndWeight() {
+        // Arrange
+        AffineTransformation from = new AffineTransformation(0.0, 1.0, 0.3, 0.0, 1.0, 0.0, 0, 100, 255, 1.0);
+        AffineTransformation to = new AffineTransformation(1.0, 0.0, 0.7, 0.0, 1.0, 0.0, 255, 100, 0, 3.0);
+
+        // Act
+        AffineTransformation middle = from.interpolate(to, 0.5);
+
+        // Assert
+        assertThat(middle.a()).isEqualTo(0.5);
+        assertThat(middle.b()).isEqualTo(0.5);
+        assertThat(middle.c()).isCloseTo(0.5, within(1e-12));
+        assertThat(middle.red()).isEqualTo(128);
+        assertThat(middle.green()).isEqualTo(100);
+        assertThat(middle.weight()).isEqualTo(2.0);
+        assertThat(from.interpolate(to, 0.0)).isEqualTo(from);
+        assertThat(from.interpolate(to, 1.0)).isEqualTo(to);
+    }
 }
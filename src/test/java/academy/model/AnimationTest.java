@@ -0,0 +1,67 @@
+package academy.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AnimationTest {
+
+    @Test
+    void animation_shouldPlaceKeyframesEvenlyAndBlendBetweenThem() {
+        // Arrange
+        FractalConfig first = createKeyframe(0.0, 1.0, 100);
+        FractalConfig second = createKeyframe(1.0, 3.0, 200);
+        FractalConfig third = createKeyframe(0.5, 2.0, 300);
+        Animation animation = new Animation(List.of(first, second, third), 5);
+
+        // Act
+        FractalConfig start = animation.frame(0);
+        FractalConfig between = animation.frame(1);
+        FractalConfig middle = animation.frame(2);
+        FractalConfig end = animation.frame(4);
+
+        // Assert
+        assertThat(start.affineTransformations()).isEqualTo(first.affineTransformations());
+        assertThat(middle.affineTransformations()).isEqualTo(second.affineTransformations());
+        assertThat(end.affineTransformations()).isEqualTo(third.affineTransformations());
+        assertThat(between.affineTransformations().getFirst().c()).isEqualTo(0.5);
+        assertThat(between.weightedFunctions().getFirst().weight()).isEqualTo(2.0);
+        // Everything else comes from the first keyframe
+        assertThat(end.samples()).isEqualTo(100);
+    }
+
+    @Test
+    void animation_shouldRejectKeyframesWithDifferentVariations() {
+        // Arrange
+        FractalConfig first = createKeyframe(0.0, 1.0, 100);
+        FractalConfig other = first.withTransformations(
+                first.affineTransformations(), List.of(new WeightedFunction(TransformationType.SWIRL, 1.0)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> new Animation(List.of(first, other), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("same variations");
+    }
+
+    @Test
+    void animation_shouldRejectTooFewKeyframesOrFrames() {
+        // Arrange
+        FractalConfig keyframe = createKeyframe(0.0, 1.0, 100);
+
+        // Act & Assert
+        assertThatThrownBy(() -> new Animation(List.of(keyframe), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at least two keyframes");
+        assertThatThrownBy(() -> new Animation(List.of(keyframe, keyframe, keyframe), 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at least as many frames");
+    }
+
+    private FractalConfig createKeyframe(double shift, double weight, int iterations) {
+        List<AffineTransformation> affines = List.of(new AffineTransformation(0.5, 0.0, shift, 0.0, 0.5, 0.0));
+        List<WeightedFunction> functions = List.of(new WeightedFunction(TransformationType.LINEAR, weight));
+        return new FractalConfig(100, 100, 1L, iterations, "output.png", 1, affines, functions, true, 2.2);
+    }
+}
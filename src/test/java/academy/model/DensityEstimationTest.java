@@ -0,0 +1,37 @@
+package academy.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class DensityEstimationTest {
+
+    @Test
+    void densityEstimation_shouldNarrowKernelWithHitCount() {
+        // Arrange
+        DensityEstimation estimation = new DensityEstimation(9.0, 0.5, 0.5);
+
+        // Act & Assert
+        assertThat(estimation.radius(1)).isEqualTo(9.0);
+        assertThat(estimation.radius(9)).isCloseTo(3.0, within(1e-9));
+        assertThat(estimation.radius(1_000_000)).isEqualTo(0.5);
+        assertThat(estimation.enabled()).isTrue();
+        assertThat(DensityEstimation.NONE.enabled()).isFalse();
+    }
+
+    @Test
+    void densityEstimation_shouldRejectInvalidSettings() {
+        // Act & Assert
+        assertThatThrownBy(() -> new DensityEstimation(-1.0, 0.0, 0.4))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cannot be negative");
+        assertThatThrownBy(() -> new DensityEstimation(2.0, 3.0, 0.4))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cannot be greater than max radius");
+        assertThatThrownBy(() -> new DensityEstimation(9.0, 0.0, 0.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("curve must be positive");
+    }
+}
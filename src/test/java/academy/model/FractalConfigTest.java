@@ -23,7 +23,7 @@ class FractalConfigTest {
         assertThat(config.width()).isEqualTo(1920);
         assertThat(config.height()).isEqualTo(1080);
         assertThat(config.seed()).isEqualTo(123L);
-        assertThat(config.iterationCount()).isEqualTo(2500);
+        assertThat(config.samples()).isEqualTo(2500);
         assertThat(config.outputPath()).isEqualTo("output.png");
         assertThat(config.threads()).isEqualTo(4);
         assertThat(config.gammaCorrection()).isTrue();
@@ -146,4 +146,96 @@ class FractalConfigTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Gamma must be positive");
     }
+
+    @Test
+    void config_shouldRenderSupersampledHistogramOnFinerGrid() {
+        // Arrange
+        List<AffineTransformation> affines = List.of(new AffineTransformation(1.0, 0.0, 0.0, 0.0, 1.0, 0.0));
+        List<WeightedFunction> functions = List.of(new WeightedFunction(TransformationType.LINEAR, 1.0));
+        FractalConfig config = new FractalConfig(100, 50, 123L, 1000, "output.png", 1, affines, functions, true, 2.2)
+                .withSupersample(3, DownsampleFilter.GAUSSIAN);
+
+        // Act
+        FractalConfig histogramConfig = config.histogramConfig();
+
+        // Assert
+        assertThat(histogramConfig.width()).isEqualTo(300);
+        assertThat(histogramConfig.height()).isEqualTo(150);
+        assertThat(histogramConfig.supersample()).isEqualTo(1);
+        assertThat(histogramConfig.samples()).isEqualTo(1000);
+        assertThat(config.withSupersample(1, DownsampleFilter.BOX)
+                        .histogramConfig()
+                        .width())
+                .isEqualTo(100);
+    }
+
+    @Test
+    void config_shouldThrowExceptionForNonPositiveSupersample() {
+        // Arrange
+        List<AffineTransformation> affines = List.of(new AffineTransformation(1.0, 0.0, 0.0, 0.0, 1.0, 0.0));
+        List<WeightedFunction> functions = List.of(new WeightedFunction(TransformationType.LINEAR, 1.0));
+        FractalConfig config = new FractalConfig(100, 100, 123L, 1000, "output.png", 1, affines, functions, true, 2.2);
+
+        // Act & Assert
+        assertThatThrownBy(() -> config.withSupersample(0, DownsampleFilter.BOX))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Supersample");
+    }
+
+    @Test
+    void config_shouldRejectInvalidConvergenceThreshold() {
+        // Arrange
+        List<AffineTransformation> affines = List.of(new AffineTransformation(1.0, 0.0, 0.0, 0.0, 1.0, 0.0));
+        List<WeightedFunction> functions = List.of(new WeightedFunction(TransformationType.LINEAR, 1.0));
+        FractalConfig config = new FractalConfig(100, 100, 123L, 1000, "output.png", 1, affines, functions, true, 2.2);
+        FractalConfig sharded = config.withRenderOptions(
+                config.renderOptions().toBuilder().shard(new Shard(1, 2)).build());
+
+        // Act & Assert
+        assertThat(config.convergent()).isFalse();
+        assertThat(config.withConvergenceThreshold(0.1).convergent()).isTrue();
+        assertThatThrownBy(() -> config.withConvergenceThreshold(-0.1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Convergence threshold");
+        assertThatThrownBy(() -> config.withConvergenceThreshold(Double.NaN))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sharded.withConvergenceThreshold(0.1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("shards");
+    }
+
+    @Test
+    void config_shouldUseOneCountForSamplesAndChainLengthByDefault() {
+        // Arrange
+        List<AffineTransformation> affines = List.of(new AffineTransformation(1.0, 0.0, 0.0, 0.0, 1.0, 0.0));
+        List<WeightedFunction> functions = List.of(new WeightedFunction(TransformationType.LINEAR, 1.0));
+
+        // Act
+        FractalConfig config = new FractalConfig(100, 100, 123L, 1000, "output.png", 1, affines, functions, true, 2.2);
+        FractalConfig decoupled = config.withSampling(4000, 100);
+
+        // Assert
+        assertThat(config.samples()).isEqualTo(1000);
+        assertThat(config.iterationsPerSample()).isEqualTo(1000);
+        assertThat(config.totalPoints()).isEqualTo(1_000_000L);
+        assertThat(decoupled.samples()).isEqualTo(4000);
+        assertThat(decoupled.iterationsPerSample()).isEqualTo(100);
+        assertThat(decoupled.totalPoints()).isEqualTo(400_000L);
+    }
+
+    @Test
+    void config_shouldThrowExceptionForNonPositiveSampling() {
+        // Arrange
+        List<AffineTransformation> affines = List.of(new AffineTransformation(1.0, 0.0, 0.0, 0.0, 1.0, 0.0));
+        List<WeightedFunction> functions = List.of(new WeightedFunction(TransformationType.LINEAR, 1.0));
+        FractalConfig config = new FractalConfig(100, 100, 123L, 1000, "output.png", 1, affines, functions, true, 2.2);
+
+        // Act & Assert
+        assertThatThrownBy(() -> config.withSampling(0, 100))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Sample count must be positive");
+        assertThatThrownBy(() -> config.withSampling(100, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Iteration count must be positive");
+    }
 }
@@ -1,6 +1,7 @@
 package academy.model;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.junit.jupiter.api.Test;
 
@@ -9,7 +10,7 @@ class FractalImageTest {
     @Test
     void fractalImage_shouldCreateWithCorrectDimensions() {
         // Act
-        FractalImage image = new FractalImage(1920, 1080);
+        FractalImage image = new HeapFractalImage(1920, 1080);
 
         // Assert
         assertThat(image.width()).isEqualTo(1920);
@@ -19,7 +20,7 @@ class FractalImageTest {
     @Test
     void fractalImage_shouldReturnValidPixelWithinBounds() {
         // Arrange
-        FractalImage image = new FractalImage(100, 100);
+        FractalImage image = new HeapFractalImage(100, 100);
 
         // Act
         Pixel pixel = image.pixel(50, 50);
@@ -31,7 +32,7 @@ class FractalImageTest {
     @Test
     void fractalImage_shouldReturnNullForPixelOutOfBounds() {
         // Arrange
-        FractalImage image = new FractalImage(100, 100);
+        FractalImage image = new HeapFractalImage(100, 100);
 
         // Act & Assert
         assertThat(image.pixel(-1, 50)).isNull();
@@ -41,29 +42,107 @@ class FractalImageTest {
     }
 
     @Test
-    void fractalImage_shouldReturnSamePixelInstance() {
+    void fractalImage_shouldAccumulateHitsIntoPixel() {
         // Arrange
-        FractalImage image = new FractalImage(100, 100);
+        FractalImage image = new HeapFractalImage(100, 100);
 
         // Act
-        Pixel pixel1 = image.pixel(50, 50);
-        Pixel pixel2 = image.pixel(50, 50);
+        image.hit(50, 50, 255, 128, 64);
+        image.hit(50, 50, 100, 50, 25);
+        Pixel pixel = image.pixel(50, 50);
+
+        // Assert
+        assertThat(pixel.getHitCount()).isEqualTo(2);
+        assertThat(pixel.getR()).isEqualTo(355.0);
+        assertThat(pixel.getG()).isEqualTo(178.0);
+        assertThat(pixel.getB()).isEqualTo(89.0);
+        assertThat(image.pixel(49, 50).isHit()).isFalse();
+    }
+
+    @Test
+    void fractalImage_shouldFindMaxHitCount() {
+        // Arrange
+        FractalImage image = new HeapFractalImage(10, 10);
+
+        // Act
+        image.hit(1, 1, 0, 0, 0);
+        image.hit(7, 3, 0, 0, 0);
+        image.hit(7, 3, 0, 0, 0);
 
         // Assert
-        assertThat(pixel1).isSameAs(pixel2);
+        assertThat(image.maxHitCount()).isEqualTo(2);
+        assertThat(image.hitCount(3 * 10 + 7)).isEqualTo(2);
     }
 
     @Test
-    void fractalImage_shouldReturnAllPixelsViaData() {
+    void fractalImage_shouldStoreChannelsInPackedData() {
         // Arrange
-        FractalImage image = new FractalImage(10, 10);
+        HeapFractalImage image = new HeapFractalImage(10, 10);
 
         // Act
-        Pixel[] data = image.getData();
+        image.hit(5, 5, 10, 20, 30);
+        long[] data = image.data();
 
         // Assert
-        assertThat(data).hasSize(100); // 10 * 10 = 100
-        assertThat(data[0]).isNotNull();
-        assertThat(data[55]).isNotNull(); // row 5, col 5 = 5*10 + 5 = 55
+        assertThat(data).hasSize(100 * FractalImage.CHANNELS); // 10 * 10 = 100 pixels
+        int base = 55 * FractalImage.CHANNELS; // row 5, col 5 = 5*10 + 5 = 55
+        assertThat(data[base + FractalImage.HITS]).isEqualTo(1);
+        assertThat(data[base + FractalImage.RED]).isEqualTo(10);
+        assertThat(data[base + FractalImage.GREEN]).isEqualTo(20);
+        assertThat(data[base + FractalImage.BLUE]).isEqualTo(30);
+    }
+
+    @Test
+    void fractalImage_shouldAddRowsOfAnotherImage() {
+        // Arrange
+        FractalImage target = new HeapFractalImage(4, 4);
+        FractalImage source = new HeapFractalImage(4, 4);
+        target.hit(0, 0, 1, 1, 1);
+        source.hit(0, 0, 2, 2, 2);
+        source.hit(3, 3, 5, 5, 5);
+
+        // Act
+        target.add(source, 0, 2);
+
+        // Assert
+        assertThat(target.pixel(0, 0).getHitCount()).isEqualTo(2);
+        assertThat(target.pixel(0, 0).getR()).isEqualTo(3.0);
+        assertThat(target.pixel(3, 3).isHit()).isFalse(); // row 3 is outside of the merged range
+        assertThat(target.totalHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void fractalImage_shouldRejectAddingImageOfDifferentSize() {
+        // Arrange
+        FractalImage target = new HeapFractalImage(4, 4);
+        FractalImage source = new HeapFractalImage(4, 5);
+
+        // Act & Assert
+        assertThatThrownBy(() -> target.add(source, 0, 4)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fractalImage_shouldReadAndWriteRows() {
+        // Arrange
+        FractalImage image = new HeapFractalImage(2, 2);
+        long[] row = {1, 10, 20, 30, 2, 40, 50, 60};
+        long[] copy = new long[row.length];
+
+        // Act
+        image.writeRow(1, row);
+        image.readRow(1, copy);
+
+        // Assert
+        assertThat(copy).isEqualTo(row);
+        assertThat(image.hitCount(3)).isEqualTo(2);
+        assertThat(image.hitCount(0)).isZero();
+    }
+
+    @Test
+    void fractalImage_shouldRejectSizeBeyondIntPixelIndex() {
+        // Act & Assert
+        assertThatThrownBy(() -> FractalImage.create(50_000, 50_000, HistogramStorage.OFF_HEAP))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("int pixel index");
     }
 }
@@ -0,0 +1,18 @@
+package academy.model;
+
+/** Test helpers reading histograms of any storage. */
+public final class Histograms {
+    private Histograms() {}
+
+    // All channels of the histogram in the packed layout, row after row
+    public static long[] channels(FractalImage image) {
+        int rowLength = image.width() * FractalImage.CHANNELS;
+        long[] channels = new long[image.height() * rowLength];
+        long[] row = new long[rowLength];
+        for (int y = 0; y < image.height(); y++) {
+            image.readRow(y, row);
+            System.arraycopy(row, 0, channels, y * rowLength, rowLength);
+        }
+        return channels;
+    }
+}
@@ -0,0 +1,83 @@
+package academy.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class OffHeapFractalImageTest {
+
+    @ParameterizedTest
+    @EnumSource(
+            value = HistogramStorage.class,
+            names = {"OFF_HEAP", "MAPPED"})
+    void offHeapImage_shouldMatchHeapImage(HistogramStorage storage) {
+        // Arrange
+        FractalImage heap = new HeapFractalImage(30, 20);
+        try (FractalImage offHeap = FractalImage.create(30, 20, storage)) {
+            // Act
+            for (int i = 0; i < 500; i++) {
+                int x = (i * 7) % 30;
+                int y = (i * 13) % 20;
+                heap.hit(x, y, i % 256, 2 * i % 256, 3 * i % 256);
+                offHeap.hit(x, y, i % 256, 2 * i % 256, 3 * i % 256);
+            }
+
+            // Assert
+            assertThat(offHeap).isInstanceOf(OffHeapFractalImage.class);
+            assertThat(offHeap.maxHitCount()).isEqualTo(heap.maxHitCount());
+            assertThat(offHeap.pixel(7, 13)).usingRecursiveComparison().isEqualTo(heap.pixel(7, 13));
+            assertThat(offHeap.pixel(30, 0)).isNull();
+            long[] expected = new long[30 * FractalImage.CHANNELS];
+            long[] actual = new long[30 * FractalImage.CHANNELS];
+            for (int y = 0; y < 20; y++) {
+                heap.readRow(y, expected);
+                offHeap.readRow(y, actual);
+                assertThat(actual).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void add_shouldMergeHeapAndOffHeapHistograms() {
+        // Arrange
+        FractalImage heap = new HeapFractalImage(10, 10);
+        heap.hit(1, 1, 10, 20, 30);
+        try (FractalImage first = new OffHeapFractalImage(10, 10, HistogramStorage.OFF_HEAP);
+                FractalImage second = new OffHeapFractalImage(10, 10, HistogramStorage.OFF_HEAP)) {
+            first.hit(1, 1, 1, 2, 3);
+            second.hit(1, 1, 100, 100, 100);
+            second.hit(9, 9, 5, 5, 5);
+
+            // Act
+            first.add(second, 0, 10);
+            first.add(heap, 0, 5);
+            heap.add(second, 5, 10);
+
+            // Assert
+            assertThat(first.pixel(1, 1)).usingRecursiveComparison().isEqualTo(new Pixel(3, 111, 122, 133));
+            assertThat(first.hitCount(9 * 10 + 9)).isEqualTo(1);
+            assertThat(heap.pixel(9, 9)).usingRecursiveComparison().isEqualTo(new Pixel(1, 5, 5, 5));
+            assertThat(heap.pixel(1, 1).getHitCount()).isEqualTo(1);
+            assertThat(first.totalHitCount()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void writeRowAndClear_shouldReplaceContents() {
+        // Arrange
+        try (FractalImage image = new OffHeapFractalImage(4, 2, HistogramStorage.MAPPED)) {
+            long[] row = {1, 2, 3, 4, 0, 0, 0, 0, 5, 6, 7, 8, 0, 0, 0, 0};
+
+            // Act
+            image.writeRow(1, row);
+            Pixel written = image.pixel(2, 1);
+            image.clear();
+
+            // Assert
+            assertThat(written).usingRecursiveComparison().isEqualTo(new Pixel(5, 6, 7, 8));
+            assertThat(image.maxHitCount()).isZero();
+        }
+    }
+}
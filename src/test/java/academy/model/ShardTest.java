@@ -0,0 +1,40 @@
+package academy.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class ShardTest {
+
+    @Test
+    void shard_shouldSplitSamplesIntoContiguousRanges() {
+        // Arrange
+        Shard first = Shard.fromString("1/3");
+        Shard second = Shard.fromString("2/3");
+        Shard third = Shard.fromString(" 3 / 3 ");
+
+        // Act & Assert
+        assertThat(first.startSample(10)).isZero();
+        assertThat(first.endSample(10)).isEqualTo(second.startSample(10));
+        assertThat(second.endSample(10)).isEqualTo(third.startSample(10));
+        assertThat(third.endSample(10)).isEqualTo(10);
+        assertThat(Shard.ALL.startSample(10)).isZero();
+        assertThat(Shard.ALL.endSample(10)).isEqualTo(10);
+        assertThat(second).hasToString("2/3");
+    }
+
+    @Test
+    void shard_shouldRejectInvalidShards() {
+        // Act & Assert
+        assertThatThrownBy(() -> Shard.fromString("0/3"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("1 <= i <= N");
+        assertThatThrownBy(() -> Shard.fromString("4/3"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("1 <= i <= N");
+        assertThatThrownBy(() -> Shard.fromString("two"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("i/N");
+    }
+}
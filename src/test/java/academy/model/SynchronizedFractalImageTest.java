@@ -0,0 +1,36 @@
+package academy.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SynchronizedFractalImageTest {
+
+    @Test
+    void synchronizedImage_shouldAccumulateHitsFromAllThreads() throws InterruptedException {
+        // Arrange
+        FractalImage image = new SynchronizedFractalImage(4, 4);
+        int threadCount = 10;
+        int hitsPerThread = 1000;
+        Thread[] threads = new Thread[threadCount];
+
+        // Act
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < hitsPerThread; j++) {
+                    image.hit(j % 4, 1, 1, 2, 3);
+                }
+            });
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        Pixel pixel = image.pixel(0, 1);
+        assertThat(pixel.getHitCount()).isEqualTo(threadCount * hitsPerThread / 4);
+        assertThat(pixel.getB()).isEqualTo(3.0 * threadCount * hitsPerThread / 4);
+    }
+}
@@ -0,0 +1,109 @@
+package academy.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import academy.model.DensityEstimation;
+import academy.model.FractalImage;
+import academy.model.HeapFractalImage;
+import academy.model.HistogramStorage;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class DensityEstimationFilterTest {
+
+    @Test
+    void filter_shouldSpreadSparsePixelAndKeepItsHits() {
+        // Arrange
+        DensityEstimationFilter filter = new DensityEstimationFilter(new DensityEstimation(9.0, 0.0, 0.4), 1);
+        FractalImage image = new HeapFractalImage(40, 40);
+        image.hit(20, 20, 200, 100, 0);
+
+        // Act
+        try (FractalImage filtered = filter.apply(image, HistogramStorage.HEAP)) {
+            // Assert
+            assertThat(channel(filtered, 20, 20, FractalImage.HITS)).isLessThan(DensityEstimationFilter.HIT_SCALE);
+            assertThat(channel(filtered, 25, 20, FractalImage.HITS)).isPositive();
+            assertThat(channel(filtered, 30, 20, FractalImage.HITS)).isZero();
+            assertThat((double) totalHits(filtered) / DensityEstimationFilter.HIT_SCALE)
+                    .isCloseTo(1.0, within(1e-3));
+            // Colour stays in proportion to the hits
+            assertThat(channel(filtered, 25, 20, FractalImage.RED))
+                    .isCloseTo(channel(filtered, 25, 20, FractalImage.HITS) * 200, within(200L));
+        }
+    }
+
+    @Test
+    void filter_shouldKeepDensePixelSharp() {
+        // Arrange
+        DensityEstimationFilter filter = new DensityEstimationFilter(new DensityEstimation(9.0, 0.0, 0.4), 1);
+        FractalImage image = new HeapFractalImage(40, 40);
+        for (int i = 0; i < 10_000; i++) {
+            image.hit(20, 20, 10, 20, 30);
+        }
+
+        // Act
+        try (FractalImage filtered = filter.apply(image, HistogramStorage.HEAP)) {
+            // Assert
+            assertThat(channel(filtered, 20, 20, FractalImage.HITS))
+                    .isEqualTo(10_000 * DensityEstimationFilter.HIT_SCALE);
+            assertThat(channel(filtered, 20, 20, FractalImage.BLUE))
+                    .isEqualTo(30 * 10_000 * DensityEstimationFilter.HIT_SCALE);
+            assertThat(channel(filtered, 21, 20, FractalImage.HITS)).isZero();
+        }
+    }
+
+    @Test
+    void filter_shouldGiveSameResultAcrossTilesAndStorages() {
+        // Arrange
+        DensityEstimationFilter filter = new DensityEstimationFilter(new DensityEstimation(12.0, 0.0, 0.3), 1);
+        FractalImage image = new HeapFractalImage(50, 300);
+        Random random = new Random(7);
+        for (int i = 0; i < 3_000; i++) {
+            image.hit(random.nextInt(50), random.nextInt(300), 255, 128, 64);
+        }
+
+        // Act
+        try (FractalImage heap = filter.apply(image, HistogramStorage.HEAP);
+                FractalImage offHeap = filter.apply(image, HistogramStorage.OFF_HEAP)) {
+            // Assert
+            long[] heapRow = new long[50 * FractalImage.CHANNELS];
+            long[] offHeapRow = new long[50 * FractalImage.CHANNELS];
+            for (int y = 0; y < 300; y++) {
+                heap.readRow(y, heapRow);
+                offHeap.readRow(y, offHeapRow);
+                assertThat(offHeapRow).isEqualTo(heapRow);
+            }
+            // Only the hits scattered past the borders are lost
+            assertThat((double) totalHits(heap) / DensityEstimationFilter.HIT_SCALE)
+                    .isCloseTo(3_000.0, within(300.0));
+        }
+    }
+
+    @Test
+    void filter_shouldRejectDisabledEstimation() {
+        // Act & Assert
+        assertThatThrownBy(() -> new DensityEstimationFilter(DensityEstimation.NONE, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("disabled");
+    }
+
+    private static long channel(FractalImage image, int x, int y, int channel) {
+        long[] row = new long[image.width() * FractalImage.CHANNELS];
+        image.readRow(y, row);
+        return row[x * FractalImage.CHANNELS + channel];
+    }
+
+    private static long totalHits(FractalImage image) {
+        long[] row = new long[image.width() * FractalImage.CHANNELS];
+        long total = 0;
+        for (int y = 0; y < image.height(); y++) {
+            image.readRow(y, row);
+            for (int x = 0; x < image.width(); x++) {
+                total += row[x * FractalImage.CHANNELS + FractalImage.HITS];
+            }
+        }
+        return total;
+    }
+}
@@ -1,13 +1,24 @@
 package academy.processor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import academy.model.AffineTransformation;
+import academy.model.DensityEstimation;
+import academy.model.DownsampleFilter;
+import academy.model.FractalConfig;
 import academy.model.FractalImage;
-import academy.model.Pixel;
+import academy.model.HeapFractalImage;
+import academy.model.HistogramStorage;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import javax.imageio.ImageIO;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -69,7 +80,7 @@ class ImageProcessorTest {
     void imageProcessor_shouldHandleEmptyImage() throws IOException {
         // Arrange
         ImageProcessor processor = new ImageProcessor();
-        FractalImage image = new FractalImage(50, 50);
+        FractalImage image = new HeapFractalImage(50, 50);
         Path outputPath = tempDir.resolve("empty.png");
 
         // Act
@@ -102,11 +113,10 @@ class ImageProcessorTest {
     void imageProcessor_shouldClampColorValues() throws IOException {
         // Arrange
         ImageProcessor processor = new ImageProcessor();
-        FractalImage image = new FractalImage(10, 10);
+        FractalImage image = new HeapFractalImage(10, 10);
 
         // Add pixel with high color values
-        Pixel pixel = image.pixel(5, 5);
-        pixel.hit(300, 400, 500); // Values exceeding 255
+        image.hit(5, 5, 300, 400, 500); // Values exceeding 255
 
         Path outputPath = tempDir.resolve("clamped.png");
 
@@ -129,17 +139,163 @@ class ImageProcessorTest {
         assertThat(b).isLessThanOrEqualTo(255);
     }
 
+    @Test
+    void imageProcessor_shouldWriteSamePixelsForOffHeapHistogram() throws IOException {
+        // Arrange
+        ImageProcessor processor = new ImageProcessor();
+        FractalImage heap = createTestImage(60, 40);
+        Path heapPath = tempDir.resolve("heap.png");
+        Path offHeapPath = tempDir.resolve("off-heap.png");
+
+        try (FractalImage offHeap = FractalImage.create(60, 40, HistogramStorage.OFF_HEAP)) {
+            offHeap.add(heap, 0, heap.height());
+
+            // Act
+            processor.save(heap, heapPath, true, 2.2);
+            processor.save(offHeap, offHeapPath, true, 2.2);
+        }
+
+        // Assert
+        BufferedImage expected = ImageIO.read(heapPath.toFile());
+        BufferedImage actual = ImageIO.read(offHeapPath.toFile());
+        assertThat(actual.getRGB(0, 0, 60, 40, null, 0, 60)).isEqualTo(expected.getRGB(0, 0, 60, 40, null, 0, 60));
+        assertThat(expected.getRGB(10, 20) & 0xFFFFFF).isNotZero();
+    }
+
+    @Test
+    void imageProcessor_shouldScaleSupersampledHistogramDown() throws IOException {
+        // Arrange
+        ImageProcessor processor = new ImageProcessor();
+        FractalImage image = new HeapFractalImage(60, 40);
+        // Left half of every 2x2 block is red, the right half is black
+        for (int y = 0; y < 40; y++) {
+            for (int x = 0; x < 60; x += 2) {
+                image.hit(x, y, 200, 0, 0);
+            }
+        }
+        Path boxPath = tempDir.resolve("box.png");
+        Path gaussianPath = tempDir.resolve("gaussian.png");
+
+        // Act
+        processor.save(image, boxPath, false, 2.2, 2, DownsampleFilter.BOX);
+        processor.save(image, gaussianPath, false, 2.2, 2, DownsampleFilter.GAUSSIAN);
+
+        // Assert
+        BufferedImage box = ImageIO.read(boxPath.toFile());
+        BufferedImage gaussian = ImageIO.read(gaussianPath.toFile());
+        assertThat(box.getWidth()).isEqualTo(30);
+        assertThat(box.getHeight()).isEqualTo(20);
+        assertThat(box.getRGB(0, 0, 30, 20, null, 0, 30)).containsOnly(0xFF640000);
+        assertThat(gaussian.getWidth()).isEqualTo(30);
+        assertThat(gaussian.getRGB(15, 10) & 0xFFFFFF).isEqualTo(0x640000);
+    }
+
+    @Test
+    void imageProcessor_shouldRejectHistogramNotDivisibleBySupersample() {
+        // Arrange
+        ImageProcessor processor = new ImageProcessor();
+        FractalImage image = new HeapFractalImage(61, 40);
+
+        // Act & Assert
+        assertThatThrownBy(() -> processor.save(image, tempDir.resolve("odd.png"), false, 2.2, 2, DownsampleFilter.BOX))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("supersample factor 2");
+    }
+
+    @Test
+    void imageProcessor_shouldFillSparseRegionsWithDensityEstimation() throws IOException {
+        // Arrange
+        ImageProcessor processor = new ImageProcessor();
+        FractalImage image = createTestImage(60, 40);
+        FractalConfig config = new FractalConfig(
+                        60,
+                        40,
+                        1L,
+                        1,
+                        "result.png",
+                        1,
+                        List.of(new AffineTransformation(1.0, 0.0, 0.0, 0.0, 1.0, 0.0)),
+                        List.of(new WeightedFunction(TransformationType.LINEAR, 1.0)),
+                        true,
+                        2.2)
+                .withDensityEstimation(new DensityEstimation(3.0, 0.0, 0.4));
+        Path plainPath = tempDir.resolve("plain.png");
+        Path filteredPath = tempDir.resolve("filtered.png");
+
+        // Act
+        processor.save(image, plainPath, config.withDensityEstimation(DensityEstimation.NONE));
+        processor.save(image, filteredPath, config);
+
+        // Assert
+        BufferedImage plain = ImageIO.read(plainPath.toFile());
+        BufferedImage filtered = ImageIO.read(filteredPath.toFile());
+        assertThat(filtered.getWidth()).isEqualTo(60);
+        assertThat(plain.getRGB(11, 21) & 0xFFFFFF).isZero();
+        assertThat(filtered.getRGB(11, 21) & 0xFFFFFF).isNotZero();
+    }
+
+    @Test
+    void write_shouldEncodeSameImageAsSave() throws IOException {
+        // Arrange
+        ImageProcessor processor = new ImageProcessor();
+        FractalImage image = createTestImage(60, 40);
+        FractalConfig config = new FractalConfig(
+                60,
+                40,
+                1L,
+                1,
+                "result.png",
+                1,
+                List.of(new AffineTransformation(1.0, 0.0, 0.0, 0.0, 1.0, 0.0)),
+                List.of(new WeightedFunction(TransformationType.LINEAR, 1.0)),
+                true,
+                2.2);
+        Path outputPath = tempDir.resolve("saved.png");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        // Act
+        processor.save(image, outputPath, config);
+        processor.write(image, stream, config);
+
+        // Assert
+        BufferedImage saved = ImageIO.read(outputPath.toFile());
+        BufferedImage written = ImageIO.read(new ByteArrayInputStream(stream.toByteArray()));
+        assertThat(written.getWidth()).isEqualTo(60);
+        for (int y = 0; y < 40; y++) {
+            for (int x = 0; x < 60; x++) {
+                assertThat(written.getRGB(x, y)).isEqualTo(saved.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    void snapshotPath_shouldNumberSnapshotsNextToOutput() {
+        // Act
+        Path snapshot = ImageProcessor.snapshotPath(tempDir.resolve("result.png"), 3);
+        Path withoutExtension = ImageProcessor.snapshotPath(tempDir.resolve("result"), 12);
+
+        // Assert
+        assertThat(snapshot).isEqualTo(tempDir.resolve("result.snapshot-0003.png"));
+        assertThat(withoutExtension).isEqualTo(tempDir.resolve("result.snapshot-0012.png"));
+    }
+
+    @Test
+    void framePath_shouldNumberFramesNextToOutput() {
+        // Act
+        Path frame = ImageProcessor.framePath(tempDir.resolve("result.png"), 0);
+
+        // Assert
+        assertThat(frame).isEqualTo(tempDir.resolve("result.frame-0000.png"));
+    }
+
     private FractalImage createTestImage(int width, int height) {
-        FractalImage image = new FractalImage(width, height);
+        FractalImage image = new HeapFractalImage(width, height);
 
         // Add some sample hits
         for (int y = 0; y < height; y += 10) {
             for (int x = 0; x < width; x += 10) {
-                Pixel pixel = image.pixel(x, y);
-                if (pixel != null) {
-                    pixel.hit(255, 128, 64);
-                    pixel.hit(100, 200, 150);
-                }
+                image.hit(x, y, 255, 128, 64);
+                image.hit(x, y, 100, 200, 150);
             }
         }
 
@@ -0,0 +1,99 @@
+package academy.renderer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class AliasTableTest {
+
+    private static final int DRAWS = 1_000_000;
+
+    @Test
+    void aliasTable_shouldSampleAccordingToWeights() {
+        // Arrange
+        double[] weights = {3.0, 1.0, 0.5, 0.25, 5.25};
+        AliasTable table = new AliasTable(weights);
+
+        // Act
+        double[] frequencies = sampleFrequencies(table);
+
+        // Assert
+        assertThat(frequencies[0]).isCloseTo(0.30, within(0.003));
+        assertThat(frequencies[1]).isCloseTo(0.10, within(0.003));
+        assertThat(frequencies[2]).isCloseTo(0.05, within(0.003));
+        assertThat(frequencies[3]).isCloseTo(0.025, within(0.003));
+        assertThat(frequencies[4]).isCloseTo(0.525, within(0.003));
+    }
+
+    @Test
+    void aliasTable_shouldMatchManyWeightsWithChiSquare() {
+        // Arrange
+        double[] weights = new double[30];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1.0 + (i * 7 % 11);
+            sum += weights[i];
+        }
+        AliasTable table = new AliasTable(weights);
+
+        // Act
+        double[] frequencies = sampleFrequencies(table);
+
+        // Assert
+        double chiSquare = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double expected = weights[i] / sum * DRAWS;
+            double observed = frequencies[i] * DRAWS;
+            chiSquare += (observed - expected) * (observed - expected) / expected;
+        }
+        // 99.9% quantile of chi-square with 29 degrees of freedom
+        assertThat(chiSquare).isLessThan(58.3);
+    }
+
+    @Test
+    void aliasTable_shouldAlwaysReturnOnlyIndexForSingleWeight() {
+        // Arrange
+        AliasTable table = new AliasTable(new double[] {0.7});
+
+        // Act & Assert
+        assertThat(table.sample(0.0)).isZero();
+        assertThat(table.sample(0.999_999)).isZero();
+        assertThat(table.size()).isEqualTo(1);
+    }
+
+    @Test
+    void aliasTable_shouldSplitUniformWeightsEvenly() {
+        // Arrange
+        AliasTable table = new AliasTable(new double[] {1.0, 1.0, 1.0, 1.0});
+
+        // Act & Assert
+        assertThat(table.sample(0.1)).isZero();
+        assertThat(table.sample(0.3)).isEqualTo(1);
+        assertThat(table.sample(0.6)).isEqualTo(2);
+        assertThat(table.sample(0.9)).isEqualTo(3);
+    }
+
+    @Test
+    void aliasTable_shouldRejectInvalidWeights() {
+        // Act & Assert
+        assertThatThrownBy(() -> new AliasTable(new double[0])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[] {1.0, 0.0})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[] {Double.NaN}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private double[] sampleFrequencies(AliasTable table) {
+        SplitMix64 random = new SplitMix64(2024L);
+        int[] counts = new int[table.size()];
+        for (int i = 0; i < DRAWS; i++) {
+            counts[table.sample(random)]++;
+        }
+        double[] frequencies = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            frequencies[i] = (double) counts[i] / DRAWS;
+        }
+        return frequencies;
+    }
+}
@@ -0,0 +1,73 @@
+package academy.renderer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import academy.model.AffineTransformation;
+import academy.model.Animation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class AnimationRendererTest {
+
+    @Test
+    void animationRenderer_shouldWriteEveryFrameWithRecycledHistograms() throws IOException {
+        // Arrange
+        FractalConfig first = createKeyframe(0.0);
+        Animation animation = new Animation(List.of(first, createKeyframe(0.5)), 8);
+        FractalImage expectedFirst = new SingleThreadRenderer().render(first);
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        Set<FractalImage> histograms = Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<>()));
+        Map<Integer, long[]> rows = Collections.synchronizedMap(new HashMap<>());
+
+        // Act
+        new AnimationRenderer().render(animation, (index, config, histogram) -> {
+            written.add(index);
+            histograms.add(histogram);
+            long[] row = new long[histogram.width() * FractalImage.CHANNELS];
+            histogram.readRow(40, row);
+            rows.put(index, row);
+        });
+
+        // Assert
+        assertThat(written).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7);
+        // Two workers and the writer share three histograms
+        assertThat(histograms).hasSizeLessThanOrEqualTo(3);
+        long[] expectedRow = new long[expectedFirst.width() * FractalImage.CHANNELS];
+        expectedFirst.readRow(40, expectedRow);
+        assertThat(rows.get(0)).isEqualTo(expectedRow);
+        assertThat(rows.get(7)).isNotEqualTo(expectedRow);
+    }
+
+    @Test
+    void animationRenderer_shouldPropagateWriterFailure() {
+        // Arrange
+        Animation animation = new Animation(List.of(createKeyframe(0.0), createKeyframe(0.5)), 4);
+
+        // Act & Assert
+        assertThatThrownBy(() -> new AnimationRenderer().render(animation, (index, config, histogram) -> {
+                    throw new IOException("Disk full");
+                }))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Disk full");
+    }
+
+    private FractalConfig createKeyframe(double shift) {
+        List<AffineTransformation> affineTransformations = List.of(
+                new AffineTransformation(0.5, 0.0, shift, 0.0, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.0, 0.5, 0.0, 0.5, 0.5, 0, 255, 0));
+        List<WeightedFunction> functions = List.of(new WeightedFunction(TransformationType.LINEAR, 1.0));
+        return new FractalConfig(80, 80, 123L, 500, "test.png", 2, affineTransformations, functions, true, 2.2);
+    }
+}
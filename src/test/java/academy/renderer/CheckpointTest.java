@@ -0,0 +1,234 @@
+package academy.renderer;
+
+import static academy.model.Histograms.channels;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.HeapFractalImage;
+import academy.model.HistogramMode;
+import academy.model.HistogramStorage;
+import academy.model.OffHeapFractalImage;
+import academy.model.RandomType;
+import academy.model.RenderOptions;
+import academy.model.RendererType;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CheckpointTest {
+
+    private static final int SAMPLES = 1_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeAndRead_shouldRoundTrip() throws IOException {
+        // Arrange
+        FractalConfig config = createTestConfig(1, RenderOptions.builder());
+        FractalImage histogram = new HeapFractalImage(config.width(), config.height());
+        histogram.hit(3, 4, 10, 20, 30);
+        histogram.hit(119, 89, 255, 0, 0);
+        SampleRanges completed = SampleRanges.fromPairs(new int[] {0, 100, 300, 350});
+        Checkpoint checkpoint = new Checkpoint(Checkpoint.fingerprint(config), histogram, completed);
+        Path path = tempDir.resolve("render.checkpoint");
+
+        // Act
+        checkpoint.write(path);
+        Checkpoint read = Checkpoint.read(path);
+
+        // Assert
+        assertThat(read.fingerprint()).isEqualTo(checkpoint.fingerprint());
+        assertThat(read.completed()).isEqualTo(completed);
+        assertThat(channels(read.histogram())).isEqualTo(channels(histogram));
+        assertThat(Files.exists(tempDir.resolve("render.checkpoint.tmp"))).isFalse();
+        read.verify(config);
+    }
+
+    @Test
+    void read_shouldLoadHistogramOffHeap() throws IOException {
+        // Arrange
+        FractalConfig config = createTestConfig(1, RenderOptions.builder());
+        FractalImage histogram = new HeapFractalImage(config.width(), config.height());
+        histogram.hit(5, 6, 7, 8, 9);
+        Path path = tempDir.resolve("off-heap.checkpoint");
+        new Checkpoint(Checkpoint.fingerprint(config), histogram, SampleRanges.of(0, 1)).write(path);
+
+        // Act
+        try (FractalImage read =
+                Checkpoint.read(path, HistogramStorage.OFF_HEAP).histogram()) {
+            // Assert
+            assertThat(read).isInstanceOf(OffHeapFractalImage.class);
+            assertThat(read.hitCount(6 * config.width() + 5)).isEqualTo(1);
+            assertThat(read.maxHitCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void verify_shouldRejectCheckpointOfAnotherConfig() {
+        // Arrange
+        FractalConfig config = createTestConfig(1, RenderOptions.builder());
+        FractalConfig other = createTestConfig(1, RenderOptions.builder().random(RandomType.LEGACY));
+        Checkpoint checkpoint = new Checkpoint(
+                Checkpoint.fingerprint(config),
+                new HeapFractalImage(config.width(), config.height()),
+                SampleRanges.of(0, 10));
+
+        // Act & Assert
+        assertThatThrownBy(() -> checkpoint.verify(other))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("different config");
+    }
+
+    @Test
+    void requireExactSnapshots_shouldAcceptPrivateHistogramsAndSingleThread() {
+        // Act & Assert
+        Checkpoint.requireExactSnapshots(createTestConfig(3, RenderOptions.builder()));
+        Checkpoint.requireExactSnapshots(
+                createTestConfig(1, RenderOptions.builder().histogramMode(HistogramMode.SHARED)));
+    }
+
+    @Test
+    void requireExactSnapshots_shouldRejectHistogramsThatAreNotExact() {
+        // Arrange
+        FractalConfig shared = createTestConfig(3, RenderOptions.builder().histogramMode(HistogramMode.SHARED));
+        FractalConfig tiled = createTestConfig(3, RenderOptions.builder().renderer(RendererType.TILED));
+        // Private histograms that would fall back to a shared one
+        FractalConfig overBudget = createTestConfig(3, RenderOptions.builder().memoryBudgetBytes(1));
+
+        // Act & Assert
+        assertThatThrownBy(() -> Checkpoint.requireExactSnapshots(shared))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("need private histograms");
+        assertThatThrownBy(() -> Checkpoint.requireExactSnapshots(tiled))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("TILED");
+        assertThatThrownBy(() -> Checkpoint.requireExactSnapshots(overBudget))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("memory budget");
+    }
+
+    @Test
+    void read_shouldRejectTruncatedFile() throws IOException {
+        // Arrange
+        FractalConfig config = createTestConfig(1, RenderOptions.builder());
+        Path path = tempDir.resolve("truncated.checkpoint");
+        new Checkpoint(
+                        Checkpoint.fingerprint(config),
+                        new HeapFractalImage(config.width(), config.height()),
+                        SampleRanges.of(0, 10))
+                .write(path);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length / 2));
+
+        // Act & Assert
+        assertThatThrownBy(() -> Checkpoint.read(path))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    @Test
+    void read_shouldRejectRangeCountBeyondFileSize() throws IOException {
+        // Arrange: a range count of a gigabyte of ranges in a small file
+        FractalConfig config = createTestConfig(1, RenderOptions.builder());
+        Path path = tempDir.resolve("corrupted.checkpoint");
+        new Checkpoint(
+                        Checkpoint.fingerprint(config),
+                        new HeapFractalImage(config.width(), config.height()),
+                        SampleRanges.of(0, 10))
+                .write(path);
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(4 * Integer.BYTES + Long.BYTES, 0x0800_0000);
+        Files.write(path, bytes);
+
+        // Act & Assert
+        assertThatThrownBy(() -> Checkpoint.read(path))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    @Test
+    void resume_shouldProduceImageOfUninterruptedRender() throws IOException {
+        // Arrange: a checkpoint taken halfway through a render with three private histograms
+        FractalConfig progressive = createTestConfig(3, RenderOptions.builder().snapshotSamples(150));
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        long fingerprint = Checkpoint.fingerprint(progressive);
+        new MultiThreadRenderer().render(progressive, snapshot -> {
+            FractalImage copy = new HeapFractalImage(progressive.width(), progressive.height());
+            copy.add(snapshot.image(), 0, copy.height());
+            synchronized (checkpoints) {
+                checkpoints.add(new Checkpoint(fingerprint, copy, snapshot.completed()));
+            }
+        });
+        assertThat(checkpoints).isNotEmpty();
+        Path path = tempDir.resolve("resume.checkpoint");
+        checkpoints.get(checkpoints.size() / 2).write(path);
+
+        for (RendererType rendererType : RendererType.values()) {
+            FractalConfig config = createTestConfig(3, RenderOptions.builder().renderer(rendererType));
+            FractalImage expected = RendererFactory.create(config).render(config);
+
+            // Act
+            FractalImage actual =
+                    RendererFactory.create(config).render(config, Checkpoint.read(path), SnapshotListener.NONE);
+
+            // Assert
+            assertThat(channels(actual)).as(rendererType.name()).isEqualTo(channels(expected));
+        }
+    }
+
+    @Test
+    void exactSnapshot_shouldHoldItsCompletedSamplesOnly() {
+        // Arrange
+        FractalConfig config = createTestConfig(3, RenderOptions.builder().snapshotSamples(200));
+        List<Snapshot> snapshots = new ArrayList<>();
+
+        // Act
+        new ForkJoinRenderer().render(config, snapshot -> {
+            FractalImage copy = new HeapFractalImage(config.width(), config.height());
+            copy.add(snapshot.image(), 0, copy.height());
+            synchronized (snapshots) {
+                snapshots.add(new Snapshot(copy, snapshot.completed(), snapshot.exact()));
+            }
+        });
+
+        // Assert: rendering the recorded samples alone gives the same histogram
+        assertThat(snapshots).isNotEmpty().allMatch(Snapshot::exact);
+        for (Snapshot snapshot : snapshots) {
+            assertThat(channels(snapshot.image())).isEqualTo(renderSamples(config, snapshot.completed()));
+        }
+    }
+
+    private long[] renderSamples(FractalConfig config, SampleRanges samples) {
+        FractalImage image = new HeapFractalImage(config.width(), config.height());
+        IterationKernel kernel = new SingleThreadRenderer().createKernel(config);
+        SampleRandom random = SampleRandom.create(config.renderOptions().random(), config.seed());
+        samples.forEach(0, samples.count(), (start, end) -> kernel.processSamples(random, start, end, image));
+        return channels(image);
+    }
+
+    private FractalConfig createTestConfig(int threads, RenderOptions.Builder options) {
+        List<AffineTransformation> affineTransformations = List.of(
+                new AffineTransformation(0.5, 0.2, 0.1, -0.3, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.1, 0.5, 0.4, 0.5, 0.5, 0, 255, 0));
+        List<WeightedFunction> functions = List.of(
+                new WeightedFunction(TransformationType.SWIRL, 1.0),
+                new WeightedFunction(TransformationType.SPHERICAL, 1.0));
+
+        return new FractalConfig(
+                        120, 90, 42L, SAMPLES, "test.png", threads, affineTransformations, functions, true, 2.2)
+                .withRenderOptions(options.build());
+    }
+}
@@ -0,0 +1,66 @@
+package academy.renderer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import academy.model.FractalImage;
+import academy.model.HeapFractalImage;
+import org.junit.jupiter.api.Test;
+
+class ConvergenceMonitorTest {
+
+    @Test
+    void update_shouldReportInfiniteChangeUntilThereIsSomethingToCompare() {
+        // Arrange
+        ConvergenceMonitor monitor = new ConvergenceMonitor(20, 10);
+        FractalImage histogram = new HeapFractalImage(20, 10);
+
+        // Act
+        double empty = monitor.update(histogram, 10);
+        histogram.hit(5, 5, 255, 0, 0);
+        double first = monitor.update(histogram, 20);
+
+        // Assert
+        assertThat(empty).isInfinite();
+        assertThat(first).isInfinite();
+    }
+
+    @Test
+    void update_shouldReportNoChangeForSameImage() {
+        // Arrange
+        ConvergenceMonitor monitor = new ConvergenceMonitor(20, 10);
+        FractalImage histogram = new HeapFractalImage(20, 10);
+        histogram.hit(5, 5, 255, 0, 0);
+        histogram.hit(6, 5, 255, 0, 0);
+        monitor.update(histogram, 10);
+
+        // Act
+        double change = monitor.update(histogram, 20);
+
+        // Assert
+        assertThat(change).isZero();
+    }
+
+    @Test
+    void update_shouldScaleChangeBySampleGrowth() {
+        // Arrange
+        FractalImage before = new HeapFractalImage(20, 10);
+        before.hit(5, 5, 255, 0, 0);
+        before.hit(5, 5, 255, 0, 0);
+        FractalImage after = new HeapFractalImage(20, 10);
+        after.add(before, 0, 10);
+        after.hit(7, 3, 0, 255, 0);
+        ConvergenceMonitor slow = new ConvergenceMonitor(20, 10);
+        ConvergenceMonitor fast = new ConvergenceMonitor(20, 10);
+        slow.update(before, 100);
+        fast.update(before, 100);
+
+        // Act: the same change after growing the samples by a factor of e^2 and of e
+        double overTwoFolds = slow.update(after, (int) Math.round(100 * Math.exp(2)));
+        double overOneFold = fast.update(after, (int) Math.round(100 * Math.E));
+
+        // Assert
+        assertThat(overOneFold).isPositive();
+        assertThat(overTwoFolds).isCloseTo(overOneFold / 2, within(0.01));
+    }
+}
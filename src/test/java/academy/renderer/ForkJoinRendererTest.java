@@ -0,0 +1,87 @@
+package academy.renderer;
+
+import static academy.model.Histograms.channels;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.HistogramMode;
+import academy.model.RenderOptions;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ForkJoinRendererTest {
+
+    @Test
+    void renderer_shouldGenerateImageWithCorrectDimensions() {
+        // Arrange
+        Renderer renderer = new ForkJoinRenderer();
+        FractalConfig config = createTestConfig(100, 50, 4);
+
+        // Act
+        FractalImage image = renderer.render(config);
+
+        // Assert
+        assertThat(image.width()).isEqualTo(100);
+        assertThat(image.height()).isEqualTo(50);
+        assertThat(image.maxHitCount()).isPositive();
+    }
+
+    @Test
+    void renderer_shouldMatchSingleThreadImage() {
+        // Arrange
+        FractalConfig config = createTestConfig(100, 100, 4);
+
+        // Act
+        FractalImage forkJoin = new ForkJoinRenderer().render(config);
+        FractalImage single = new SingleThreadRenderer().render(config);
+
+        // Assert
+        assertThat(channels(forkJoin)).isEqualTo(channels(single));
+    }
+
+    @Test
+    void renderer_shouldMatchSingleThreadImageWithSharedHistogram() {
+        // Arrange
+        FractalConfig config = createTestConfig(100, 100, 3)
+                .withRenderOptions(RenderOptions.builder()
+                        .histogramMode(HistogramMode.SHARED)
+                        .build());
+
+        // Act
+        FractalImage forkJoin = new ForkJoinRenderer().render(config);
+        FractalImage single = new SingleThreadRenderer().render(config);
+
+        // Assert
+        assertThat(channels(forkJoin)).isEqualTo(channels(single));
+    }
+
+    @Test
+    void renderer_shouldBeReusableAcrossRendersWithDifferentThreadCounts() {
+        // Arrange
+        Renderer renderer = new ForkJoinRenderer();
+
+        // Act
+        FractalImage first = renderer.render(createTestConfig(60, 60, 2));
+        FractalImage second = renderer.render(createTestConfig(60, 60, 2));
+        FractalImage third = renderer.render(createTestConfig(60, 60, 5));
+
+        // Assert
+        assertThat(channels(second)).isEqualTo(channels(first));
+        assertThat(channels(third)).isEqualTo(channels(first));
+    }
+
+    private FractalConfig createTestConfig(int width, int height, int threads) {
+        List<AffineTransformation> affineTransformations = List.of(
+                new AffineTransformation(0.5, 0.0, 0.0, 0.0, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.0, 0.5, 0.0, 0.5, 0.5, 0, 255, 0));
+
+        List<WeightedFunction> functions = List.of(new WeightedFunction(TransformationType.LINEAR, 1.0));
+
+        return new FractalConfig(
+                width, height, 123L, 1000, "test.png", threads, affineTransformations, functions, true, 2.2);
+    }
+}
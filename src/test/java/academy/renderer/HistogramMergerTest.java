@@ -0,0 +1,46 @@
+package academy.renderer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import academy.model.FractalImage;
+import academy.model.HeapFractalImage;
+import org.junit.jupiter.api.Test;
+
+class HistogramMergerTest {
+
+    @Test
+    void merge_shouldSumAllSourcesIntoTarget() {
+        // Arrange
+        FractalImage target = new HeapFractalImage(50, 200);
+        FractalImage[] sources = {
+            new HeapFractalImage(50, 200), new HeapFractalImage(50, 200), new HeapFractalImage(50, 200)
+        };
+        target.hit(0, 0, 1, 2, 3);
+        for (int i = 0; i < sources.length; i++) {
+            sources[i].hit(0, 0, 1, 2, 3);
+            sources[i].hit(49, 199, 10, 20, 30);
+        }
+
+        // Act
+        HistogramMerger.merge(target, sources);
+
+        // Assert
+        assertThat(target.pixel(0, 0).getHitCount()).isEqualTo(4);
+        assertThat(target.pixel(0, 0).getB()).isEqualTo(12.0);
+        assertThat(target.pixel(49, 199).getHitCount()).isEqualTo(3);
+        assertThat(target.pixel(49, 199).getG()).isEqualTo(60.0);
+    }
+
+    @Test
+    void merge_shouldKeepTargetWhenNoSources() {
+        // Arrange
+        FractalImage target = new HeapFractalImage(10, 10);
+        target.hit(5, 5, 1, 1, 1);
+
+        // Act
+        HistogramMerger.merge(target, new FractalImage[0]);
+
+        // Assert
+        assertThat(target.maxHitCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,66 @@
+package academy.renderer;
+
+import static academy.model.Histograms.channels;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import academy.model.AffineTransformation;
+import academy.model.CustomVariation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.KernelType;
+import academy.model.RenderOptions;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MonomorphicKernelTest {
+
+    @Test
+    void monomorphicKernel_shouldProduceSameImageAsScalarKernel() {
+        // Arrange
+        FractalConfig config = createTestConfig(1);
+
+        // Act
+        FractalImage scalar = new SingleThreadRenderer().render(withKernel(config, KernelType.SCALAR));
+        FractalImage monomorphic = new SingleThreadRenderer().render(withKernel(config, KernelType.MONOMORPHIC));
+
+        // Assert
+        assertThat(scalar.maxHitCount()).isPositive();
+        assertThat(channels(monomorphic)).isEqualTo(channels(scalar));
+    }
+
+    @Test
+    void monomorphicKernel_shouldProduceSameImageAsScalarKernelWithThreads() {
+        // Arrange
+        FractalConfig config = createTestConfig(3);
+
+        // Act
+        FractalImage scalar = new ForkJoinRenderer().render(withKernel(config, KernelType.SCALAR));
+        FractalImage monomorphic = new ForkJoinRenderer().render(withKernel(config, KernelType.MONOMORPHIC));
+
+        // Assert
+        assertThat(channels(monomorphic)).isEqualTo(channels(scalar));
+    }
+
+    private FractalConfig withKernel(FractalConfig config, KernelType kernel) {
+        return config.withRenderOptions(RenderOptions.builder().kernel(kernel).build());
+    }
+
+    private FractalConfig createTestConfig(int threads) {
+        List<AffineTransformation> affineTransformations = List.of(
+                new AffineTransformation(0.5, 0.2, 0.1, -0.3, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.1, 0.5, 0.4, 0.5, 0.5, 0, 255, 0),
+                new AffineTransformation(0.3, -0.6, -0.2, 0.2, 0.7, -0.4, 0, 0, 255));
+
+        // Every switch branch, the custom one included
+        List<WeightedFunction> functions = Arrays.stream(TransformationType.values())
+                .map(type -> type == TransformationType.CUSTOM
+                        ? WeightedFunction.custom(new CustomVariation("x * cos(r) - y / 2", "sin(theta) * r2"), 1.0)
+                        : new WeightedFunction(type, 1.0))
+                .toList();
+
+        return new FractalConfig(200, 150, 42L, 300, "test.png", threads, affineTransformations, functions, true, 2.2);
+    }
+}
@@ -1,10 +1,18 @@
 package academy.renderer;
 
+import static academy.model.Histograms.channels;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import academy.model.AffineTransformation;
+import academy.model.AtomicFractalImage;
 import academy.model.FractalConfig;
 import academy.model.FractalImage;
+import academy.model.HistogramMode;
+import academy.model.HistogramStorage;
+import academy.model.OffHeapFractalImage;
+import academy.model.RenderOptions;
+import academy.model.RendererType;
+import academy.model.SynchronizedFractalImage;
 import academy.model.TransformationType;
 import academy.model.WeightedFunction;
 import java.util.List;
@@ -98,6 +106,109 @@ class MultiThreadRendererTest {
         assertThat(totalHits).isPositive();
     }
 
+    @Test
+    void renderer_shouldMatchSingleThreadImageWithPrivateHistograms() {
+        // Arrange
+        FractalConfig config = createTestConfig(100, 100, 4)
+                .withRenderOptions(RenderOptions.builder()
+                        .histogramMode(HistogramMode.PRIVATE)
+                        .build());
+
+        // Act
+        FractalImage multi = new MultiThreadRenderer().render(config);
+        FractalImage single = new SingleThreadRenderer().render(config);
+
+        // Assert
+        assertThat(channels(multi)).isEqualTo(channels(single));
+    }
+
+    @Test
+    void renderer_shouldFallBackToSharedHistogramWhenOverBudget() {
+        // Arrange
+        FractalConfig config = createTestConfig(100, 100, 4)
+                .withRenderOptions(RenderOptions.builder()
+                        .histogramMode(HistogramMode.PRIVATE)
+                        .memoryBudgetBytes(1)
+                        .build());
+
+        // Act
+        FractalImage multi = new MultiThreadRenderer().render(config);
+        FractalImage single = new SingleThreadRenderer().render(config);
+
+        // Assert
+        assertThat(multi).isInstanceOf(SynchronizedFractalImage.class);
+        assertThat(channels(multi)).isEqualTo(channels(single));
+    }
+
+    @Test
+    void renderer_shouldMatchSingleThreadImageWithAtomicHistogram() {
+        // Arrange
+        FractalConfig config = createTestConfig(100, 100, 4)
+                .withRenderOptions(RenderOptions.builder()
+                        .histogramMode(HistogramMode.ATOMIC)
+                        .build());
+
+        // Act
+        FractalImage multi = new MultiThreadRenderer().render(config);
+        FractalImage single = new SingleThreadRenderer().render(config);
+
+        // Assert
+        assertThat(multi).isInstanceOf(AtomicFractalImage.class);
+        assertThat(channels(multi)).isEqualTo(channels(single));
+    }
+
+    @Test
+    void renderer_shouldMatchHeapImageWithOffHeapHistograms() {
+        for (HistogramMode mode : HistogramMode.values()) {
+            // Arrange
+            FractalConfig heap = createTestConfig(100, 100, 4)
+                    .withRenderOptions(
+                            RenderOptions.builder().histogramMode(mode).build());
+            FractalConfig offHeap = heap.withRenderOptions(heap.renderOptions().toBuilder()
+                    .histogramStorage(HistogramStorage.OFF_HEAP)
+                    .build());
+            FractalImage expected = new MultiThreadRenderer().render(heap);
+            long[] actual = new long[100 * FractalImage.CHANNELS];
+            long[] expectedRow = new long[100 * FractalImage.CHANNELS];
+
+            // Act
+            try (FractalImage image = new MultiThreadRenderer().render(offHeap)) {
+                // Assert
+                assertThat(image).as(mode.name()).isInstanceOf(OffHeapFractalImage.class);
+                for (int y = 0; y < 100; y++) {
+                    image.readRow(y, actual);
+                    expected.readRow(y, expectedRow);
+                    assertThat(actual).as(mode + " row " + y).isEqualTo(expectedRow);
+                }
+            }
+        }
+    }
+
+    @Test
+    void renderer_shouldRenderPersistentWalkersIndependentlyOfSplitBetweenThreads() {
+        // Arrange
+        FractalConfig single = createTestConfig(100, 100, 1)
+                .withRenderOptions(RenderOptions.builder().walkers(4).build());
+        FractalImage expected = new SingleThreadRenderer().render(single);
+
+        for (RendererType type : RendererType.values()) {
+            for (int threads : new int[] {3, 4}) {
+                FractalConfig config = createTestConfig(100, 100, threads)
+                        .withRenderOptions(RenderOptions.builder()
+                                .walkers(4)
+                                .renderer(type)
+                                .build());
+
+                // Act
+                FractalImage actual = RendererFactory.create(config).render(config);
+
+                // Assert: the affines keep every point inside the image
+                assertThat(actual.totalHitCount()).isEqualTo(config.totalPoints());
+                assertThat(channels(actual)).as(type + " on " + threads).isEqualTo(channels(expected));
+            }
+        }
+    }
+
     private FractalConfig createTestConfig(int width, int height, int threads) {
         List<AffineTransformation> affineTransformations = List.of(
                 new AffineTransformation(0.5, 0.0, 0.0, 0.0, 0.5, 0.0, 255, 0, 0),
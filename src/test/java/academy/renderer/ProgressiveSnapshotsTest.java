@@ -0,0 +1,216 @@
+package academy.renderer;
+
+import static academy.model.Histograms.channels;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.HeapFractalImage;
+import academy.model.HistogramMode;
+import academy.model.RenderOptions;
+import academy.model.RendererType;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ProgressiveSnapshotsTest {
+
+    private static final int SAMPLES = 1_000;
+
+    @Test
+    void singleThreadRenderer_shouldDeliverGrowingSnapshotsEverySamples() {
+        // Arrange
+        FractalConfig config =
+                withOptions(createTestConfig(1), RenderOptions.builder().snapshotSamples(200));
+        SnapshotRecorder recorder = new SnapshotRecorder();
+
+        // Act
+        FractalImage image = new SingleThreadRenderer().render(config, recorder);
+
+        // Assert
+        assertThat(recorder.samples).isNotEmpty().isSorted().allMatch(samples -> samples < SAMPLES);
+        assertThat(recorder.hits).isSorted().allMatch(hits -> hits <= totalHits(channels(image)));
+        assertThat(recorder.hits.getFirst()).isPositive();
+    }
+
+    @Test
+    void singleThreadRenderer_shouldSnapshotExactlyTheCompletedSamples() {
+        // Arrange
+        FractalConfig config =
+                withOptions(createTestConfig(1), RenderOptions.builder().snapshotSamples(300));
+        SnapshotRecorder recorder = new SnapshotRecorder();
+
+        // Act
+        new SingleThreadRenderer().render(config, recorder);
+        int samples = recorder.samples.getFirst();
+
+        // Assert: the first snapshot holds the first samples of the render and nothing else
+        assertThat(samples).isLessThan(SAMPLES);
+        assertThat(recorder.completed.getFirst()).isEqualTo(SampleRanges.of(0, samples));
+        assertThat(recorder.data.getFirst()).isEqualTo(renderFirstSamples(config, samples));
+    }
+
+    @Test
+    void multiThreadRenderer_shouldDeliverSnapshotsFromPrivateHistograms() {
+        // Arrange
+        FractalConfig config =
+                withOptions(createTestConfig(3), RenderOptions.builder().snapshotSamples(150));
+        SnapshotRecorder recorder = new SnapshotRecorder();
+
+        // Act
+        FractalImage image = new MultiThreadRenderer().render(config, recorder);
+
+        // Assert
+        assertThat(recorder.hits).isNotEmpty().isSorted().allMatch(hits -> hits <= totalHits(channels(image)));
+    }
+
+    @Test
+    void forkJoinRenderer_shouldSnapshotExactlyTheCompletedSamples() {
+        // Arrange: workers go idle between tasks, snapshots must neither wait for them nor lose their samples
+        FractalConfig config = withOptions(
+                createTestConfig(4),
+                RenderOptions.builder().renderer(RendererType.FORK_JOIN).snapshotSamples(100));
+        SnapshotRecorder recorder = new SnapshotRecorder();
+
+        // Act
+        new ForkJoinRenderer().render(config, recorder);
+
+        // Assert
+        assertThat(recorder.samples).hasSizeGreaterThan(1);
+        for (int i = 0; i < recorder.completed.size(); i++) {
+            assertThat(recorder.data.get(i)).isEqualTo(renderSamples(config, recorder.completed.get(i)));
+        }
+    }
+
+    @Test
+    void snapshots_shouldReadIdleWorkersWithoutWaitingForThem() {
+        // Arrange
+        FractalConfig config =
+                withOptions(createTestConfig(2), RenderOptions.builder().snapshotSamples(10));
+        SnapshotRecorder recorder = new SnapshotRecorder();
+        FractalImage idleHistogram = new HeapFractalImage(config.width(), config.height());
+        FractalImage busyHistogram = new HeapFractalImage(config.width(), config.height());
+        idleHistogram.hit(0, 1, 2, 3);
+        busyHistogram.hit(1, 4, 5, 6);
+        ProgressiveSnapshots snapshots = new ProgressiveSnapshots(config, recorder, null, null);
+        ProgressiveSnapshots.Contributor idle = snapshots.join(idleHistogram, idleHistogram);
+        ProgressiveSnapshots.Contributor busy = snapshots.join(busyHistogram, busyHistogram);
+
+        // Act: the idle worker never reaches another checkpoint of the epoch
+        idle.done(0, 5);
+        snapshots.finish(idle);
+        busy.done(5, 20);
+        snapshots.checkpoint(busy, 20);
+        snapshots.resume(idle);
+        idle.done(20, 25);
+        snapshots.finish(idle);
+        snapshots.finish(busy);
+        snapshots.close();
+
+        // Assert
+        assertThat(recorder.completed).containsExactly(SampleRanges.of(0, 20));
+        assertThat(totalHits(recorder.data.getFirst())).isEqualTo(2);
+    }
+
+    @Test
+    void snapshotsByTime_shouldBeDelivered() {
+        // Arrange
+        FractalConfig config =
+                withOptions(createTestConfig(1), RenderOptions.builder().snapshotMillis(1));
+        SnapshotRecorder recorder = new SnapshotRecorder();
+
+        // Act
+        new SingleThreadRenderer().render(config, recorder);
+
+        // Assert
+        assertThat(recorder.samples).isNotEmpty();
+    }
+
+    @Test
+    void progressiveRender_shouldNotChangeFinalImage() {
+        for (RendererType rendererType : RendererType.values()) {
+            for (HistogramMode mode : HistogramMode.values()) {
+                // Arrange
+                FractalConfig plain = withOptions(
+                        createTestConfig(3),
+                        RenderOptions.builder().renderer(rendererType).histogramMode(mode));
+                FractalConfig progressive = withOptions(
+                        createTestConfig(3),
+                        RenderOptions.builder()
+                                .renderer(rendererType)
+                                .histogramMode(mode)
+                                .snapshotSamples(100));
+
+                // Act
+                FractalImage expected = RendererFactory.create(plain).render(plain);
+                FractalImage actual = RendererFactory.create(progressive).render(progressive, new SnapshotRecorder());
+
+                // Assert
+                assertThat(channels(actual)).as(rendererType + " " + mode).isEqualTo(channels(expected));
+            }
+        }
+    }
+
+    // Reference for a snapshot: samples [0, samples) rendered on their own
+    private long[] renderFirstSamples(FractalConfig config, int samples) {
+        FractalImage image = new HeapFractalImage(config.width(), config.height());
+        AbstractRenderer renderer = new SingleThreadRenderer();
+        IterationKernel kernel = renderer.createKernel(config);
+        kernel.processSamples(SampleRandom.create(config.renderOptions().random(), config.seed()), 0, samples, image);
+        return channels(image);
+    }
+
+    // Reference for a snapshot of several workers: the given samples rendered on their own
+    private long[] renderSamples(FractalConfig config, SampleRanges completed) {
+        FractalImage image = new HeapFractalImage(config.width(), config.height());
+        IterationKernel kernel = new SingleThreadRenderer().createKernel(config);
+        SampleRandom random = SampleRandom.create(config.renderOptions().random(), config.seed());
+        completed.forEach(0, completed.count(), (start, end) -> kernel.processSamples(random, start, end, image));
+        return channels(image);
+    }
+
+    private static long totalHits(long[] data) {
+        long hits = 0;
+        for (int base = FractalImage.HITS; base < data.length; base += FractalImage.CHANNELS) {
+            hits += data[base];
+        }
+        return hits;
+    }
+
+    private FractalConfig withOptions(FractalConfig config, RenderOptions.Builder options) {
+        return config.withRenderOptions(options.build());
+    }
+
+    private FractalConfig createTestConfig(int threads) {
+        List<AffineTransformation> affineTransformations = List.of(
+                new AffineTransformation(0.5, 0.2, 0.1, -0.3, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.1, 0.5, 0.4, 0.5, 0.5, 0, 255, 0));
+        List<WeightedFunction> functions = List.of(
+                new WeightedFunction(TransformationType.SWIRL, 1.0),
+                new WeightedFunction(TransformationType.SPHERICAL, 1.0));
+
+        return new FractalConfig(
+                120, 90, 42L, SAMPLES, "test.png", threads, affineTransformations, functions, true, 2.2);
+    }
+
+    // Copies every snapshot, the renderer reuses the image afterwards
+    private static final class SnapshotRecorder implements SnapshotListener {
+        private final List<Integer> samples = new ArrayList<>();
+        private final List<SampleRanges> completed = new ArrayList<>();
+        private final List<Long> hits = new ArrayList<>();
+        private final List<long[]> data = new ArrayList<>();
+
+        @Override
+        public synchronized void onSnapshot(Snapshot snapshot) {
+            long[] image = channels(snapshot.image());
+            samples.add(snapshot.completed().count());
+            completed.add(snapshot.completed());
+            hits.add(totalHits(image));
+            data.add(Arrays.copyOf(image, image.length));
+        }
+    }
+}
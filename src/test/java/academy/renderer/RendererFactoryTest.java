@@ -0,0 +1,60 @@
+package academy.renderer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.RenderOptions;
+import academy.model.RendererType;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RendererFactoryTest {
+
+    @Test
+    void factory_shouldCreateSingleThreadRendererForOneThread() {
+        // Act
+        Renderer renderer = RendererFactory.create(createTestConfig(1, RendererType.FORK_JOIN));
+
+        // Assert
+        assertThat(renderer).isInstanceOf(SingleThreadRenderer.class);
+    }
+
+    @Test
+    void factory_shouldCreateThreadPoolRenderer() {
+        // Act
+        Renderer renderer = RendererFactory.create(createTestConfig(4, RendererType.THREAD_POOL));
+
+        // Assert
+        assertThat(renderer).isInstanceOf(MultiThreadRenderer.class);
+    }
+
+    @Test
+    void factory_shouldCreateForkJoinRenderer() {
+        // Act
+        Renderer renderer = RendererFactory.create(createTestConfig(4, RendererType.FORK_JOIN));
+
+        // Assert
+        assertThat(renderer).isInstanceOf(ForkJoinRenderer.class);
+    }
+
+    @Test
+    void factory_shouldCreateTiledRenderer() {
+        // Act
+        Renderer renderer = RendererFactory.create(createTestConfig(4, RendererType.TILED));
+
+        // Assert
+        assertThat(renderer).isInstanceOf(TiledRenderer.class);
+    }
+
+    private FractalConfig createTestConfig(int threads, RendererType type) {
+        List<AffineTransformation> affineTransformations =
+                List.of(new AffineTransformation(0.5, 0.0, 0.0, 0.0, 0.5, 0.0, 255, 0, 0));
+        List<WeightedFunction> functions = List.of(new WeightedFunction(TransformationType.LINEAR, 1.0));
+
+        return new FractalConfig(10, 10, 1L, 10, "test.png", threads, affineTransformations, functions, true, 2.2)
+                .withRenderOptions(RenderOptions.builder().renderer(type).build());
+    }
+}
@@ -0,0 +1,67 @@
+package academy.renderer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SampleRangesTest {
+
+    @Test
+    void builder_shouldSortAndMergeRanges() {
+        // Arrange
+        SampleRanges.Builder builder = new SampleRanges.Builder();
+
+        // Act
+        SampleRanges ranges = builder.add(50, 60)
+                .add(0, 10)
+                .add(10, 20)
+                .add(55, 70)
+                .add(30, 30)
+                .build();
+
+        // Assert
+        assertThat(ranges.toPairs()).containsExactly(0, 20, 50, 70);
+        assertThat(ranges.count()).isEqualTo(40);
+    }
+
+    @Test
+    void complement_shouldReturnMissingSamples() {
+        // Arrange
+        SampleRanges ranges = SampleRanges.fromPairs(new int[] {10, 20, 40, 50});
+
+        // Act
+        SampleRanges missing = ranges.complement(60);
+
+        // Assert
+        assertThat(missing.toPairs()).containsExactly(0, 10, 20, 40, 50, 60);
+        assertThat(missing.union(ranges)).isEqualTo(SampleRanges.of(0, 60));
+        assertThat(SampleRanges.of(0, 60).complement(60).isEmpty()).isTrue();
+    }
+
+    @Test
+    void forEach_shouldMapOrdinalsToSampleIndices() {
+        // Arrange
+        SampleRanges ranges = SampleRanges.fromPairs(new int[] {0, 10, 20, 25, 40, 100});
+        List<int[]> visited = new ArrayList<>();
+
+        // Act
+        ranges.forEach(8, 20, (start, end) -> visited.add(new int[] {start, end}));
+
+        // Assert: ordinals 8..9 are in the first range, 10..14 the second, 15..19 the third
+        assertThat(visited).containsExactly(new int[] {8, 10}, new int[] {20, 25}, new int[] {40, 45});
+    }
+
+    @Test
+    void invalidRange_shouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> SampleRanges.of(5, 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid sample range");
+        assertThatThrownBy(() -> SampleRanges.fromPairs(new int[] {1}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("pairs");
+    }
+}
@@ -0,0 +1,67 @@
+package academy.renderer;
+
+import static academy.model.Histograms.channels;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import academy.model.AffineTransformation;
+import academy.model.CustomVariation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.KernelType;
+import academy.model.RenderOptions;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ScalarKernelTest {
+
+    @Test
+    void scalarKernel_shouldProduceSameImageAsClassicKernel() {
+        // Arrange
+        FractalConfig config = createTestConfig(1);
+
+        // Act
+        FractalImage classic = new SingleThreadRenderer().render(withKernel(config, KernelType.CLASSIC));
+        FractalImage scalar = new SingleThreadRenderer().render(withKernel(config, KernelType.SCALAR));
+
+        // Assert
+        assertThat(classic.maxHitCount()).isPositive();
+        assertThat(channels(scalar)).isEqualTo(channels(classic));
+    }
+
+    @Test
+    void scalarKernel_shouldProduceSameImageAsClassicKernelWithThreads() {
+        // Arrange
+        FractalConfig config = createTestConfig(3);
+
+        // Act
+        FractalImage classic = new MultiThreadRenderer().render(withKernel(config, KernelType.CLASSIC));
+        FractalImage scalar = new MultiThreadRenderer().render(withKernel(config, KernelType.SCALAR));
+
+        // Assert
+        assertThat(channels(scalar)).isEqualTo(channels(classic));
+    }
+
+    private FractalConfig withKernel(FractalConfig config, KernelType kernel) {
+        return config.withRenderOptions(RenderOptions.builder().kernel(kernel).build());
+    }
+
+    private FractalConfig createTestConfig(int threads) {
+        List<AffineTransformation> affineTransformations = List.of(
+                new AffineTransformation(0.5, 0.2, 0.1, -0.3, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.1, 0.5, 0.4, 0.5, 0.5, 0, 255, 0),
+                new AffineTransformation(0.3, -0.6, -0.2, 0.2, 0.7, -0.4, 0, 0, 255));
+
+        // Every variation including a compiled one, so each in-place implementation is compared with its Point
+        // counterpart
+        List<WeightedFunction> functions = Arrays.stream(TransformationType.values())
+                .map(type -> type == TransformationType.CUSTOM
+                        ? WeightedFunction.custom(new CustomVariation("x * cos(r) - y / 2", "sin(theta) * r2"), 1.0)
+                        : new WeightedFunction(type, 1.0))
+                .toList();
+
+        return new FractalConfig(200, 150, 42L, 300, "test.png", threads, affineTransformations, functions, true, 2.2);
+    }
+}
@@ -0,0 +1,117 @@
+package academy.renderer;
+
+import static academy.model.Histograms.channels;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.HeapFractalImage;
+import academy.model.RenderOptions;
+import academy.model.RendererType;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ScatterBufferTest {
+
+    @Test
+    void scatterBuffer_shouldPlotSameHitsAsDirectWrites() {
+        // Arrange
+        FractalImage direct = new HeapFractalImage(300, 200);
+        FractalImage buffered = new HeapFractalImage(300, 200);
+        ScatterBuffer buffer = new ScatterBuffer(buffered, buffered.size(), 1000);
+        Random random = new Random(7);
+
+        // Act
+        for (int i = 0; i < 10_500; i++) {
+            int index = random.nextInt(direct.size());
+            direct.hit(index, i % 256, 1, 2);
+            buffer.hit(index, i % 256, 1, 2);
+        }
+        buffer.flush();
+
+        // Assert
+        assertThat(channels(buffered)).isEqualTo(channels(direct));
+    }
+
+    @Test
+    void scatterBuffer_shouldHoldHitsUntilFull() {
+        // Arrange
+        List<Integer> written = new ArrayList<>();
+        ScatterBuffer buffer = new ScatterBuffer((index, red, green, blue) -> written.add(index), 100, 3);
+
+        // Act
+        buffer.hit(5, 0, 0, 0);
+        buffer.hit(1, 0, 0, 0);
+        int beforeFull = written.size();
+        buffer.hit(9, 0, 0, 0);
+
+        // Assert
+        assertThat(beforeFull).isZero();
+        assertThat(written).hasSize(3);
+    }
+
+    @Test
+    void scatterBuffer_shouldWriteBlocksInIndexOrder() {
+        // Arrange
+        int pixels = 1 << 20;
+        List<Integer> written = new ArrayList<>();
+        ScatterBuffer buffer = new ScatterBuffer((index, red, green, blue) -> written.add(index), pixels, 4096);
+        Random random = new Random(11);
+
+        // Act
+        for (int i = 0; i < 4096; i++) {
+            buffer.hit(random.nextInt(pixels), 0, 0, 0);
+        }
+
+        // Assert: 256 blocks of 4096 pixels fit the buffer, so blocks come out in ascending order
+        assertThat(written).hasSize(4096);
+        for (int i = 1; i < written.size(); i++) {
+            assertThat(written.get(i) >>> 12).isGreaterThanOrEqualTo(written.get(i - 1) >>> 12);
+        }
+    }
+
+    @Test
+    void scatterBuffer_shouldRejectNonPositiveCapacity() {
+        assertThatThrownBy(() -> new ScatterBuffer(new HeapFractalImage(2, 2), 4, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void renderers_shouldProduceSameImageWithScatterBuffer() {
+        // Arrange
+        FractalConfig config = createTestConfig(1);
+        FractalImage expected = new SingleThreadRenderer().render(config);
+
+        // Act & Assert
+        for (RendererType type : RendererType.values()) {
+            FractalConfig buffered = createTestConfig(3)
+                    .withRenderOptions(RenderOptions.builder()
+                            .renderer(type)
+                            .scatterBufferSize(777)
+                            .build());
+            assertThat(channels(RendererFactory.create(buffered).render(buffered)))
+                    .as(type.name())
+                    .isEqualTo(channels(expected));
+        }
+        FractalConfig single = config.withRenderOptions(
+                RenderOptions.builder().scatterBufferSize(777).build());
+        assertThat(channels(new SingleThreadRenderer().render(single))).isEqualTo(channels(expected));
+    }
+
+    private FractalConfig createTestConfig(int threads) {
+        List<AffineTransformation> affineTransformations = List.of(
+                new AffineTransformation(0.5, 0.0, 0.0, 0.0, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.0, 0.5, 0.0, 0.5, 0.5, 0, 255, 0));
+        List<WeightedFunction> functions = List.of(
+                new WeightedFunction(TransformationType.SWIRL, 1.0),
+                new WeightedFunction(TransformationType.LINEAR, 1.0));
+
+        return new FractalConfig(120, 90, 123L, 500, "test.png", threads, affineTransformations, functions, true, 2.2);
+    }
+}
@@ -0,0 +1,150 @@
+package academy.renderer;
+
+import static academy.model.Histograms.channels;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.HistogramStorage;
+import academy.model.RendererType;
+import academy.model.Shard;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ShardMergerTest {
+
+    private static final int SAMPLES = 1_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void merge_shouldEqualSingleProcessRenderForEveryRenderer() throws IOException {
+        // Arrange
+        FractalConfig config = createTestConfig(1);
+        FractalImage expected = new SingleThreadRenderer().render(config);
+
+        for (RendererType type : RendererType.values()) {
+            FractalConfig parallel = createTestConfig(3);
+            parallel = parallel.withRenderOptions(
+                    parallel.renderOptions().toBuilder().renderer(type).build());
+            List<Path> shards = renderShards(parallel, 3, type.name());
+
+            // Act
+            try (FractalImage merged = ShardMerger.merge(parallel, shards)) {
+                // Assert
+                assertThat(channels(merged)).as(type.name()).isEqualTo(channels(expected));
+            }
+        }
+    }
+
+    @Test
+    void merge_shouldStreamIntoOffHeapHistogram() throws IOException {
+        // Arrange
+        FractalConfig config = createTestConfig(1);
+        FractalImage expected = new SingleThreadRenderer().render(config);
+        List<Path> shards = renderShards(config, 2, "off-heap");
+        FractalConfig offHeap = config.withRenderOptions(config.renderOptions().toBuilder()
+                .histogramStorage(HistogramStorage.MAPPED)
+                .build());
+
+        // Act
+        try (FractalImage merged = ShardMerger.merge(offHeap, shards)) {
+            // Assert
+            long[] expectedRow = new long[config.width() * FractalImage.CHANNELS];
+            long[] mergedRow = new long[config.width() * FractalImage.CHANNELS];
+            for (int y = 0; y < config.height(); y++) {
+                expected.readRow(y, expectedRow);
+                merged.readRow(y, mergedRow);
+                assertThat(mergedRow).isEqualTo(expectedRow);
+            }
+        }
+    }
+
+    @Test
+    void merge_shouldRejectMissingOrRepeatedShards() throws IOException {
+        // Arrange
+        FractalConfig config = createTestConfig(1);
+        List<Path> shards = renderShards(config, 3, "incomplete");
+
+        // Act & Assert
+        assertThatThrownBy(() -> ShardMerger.merge(config, shards.subList(0, 2)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Shards cover");
+        assertThatThrownBy(() -> ShardMerger.merge(config, List.of(shards.get(0), shards.get(1), shards.get(1))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("overlap");
+    }
+
+    @Test
+    void merge_shouldRejectShardsOfAnotherConfigOrTruncated() throws IOException {
+        // Arrange
+        FractalConfig config = createTestConfig(1);
+        List<Path> shards = renderShards(config, 2, "other");
+        FractalConfig other = new FractalConfig(
+                config.width(),
+                config.height(),
+                7L,
+                SAMPLES,
+                "test.png",
+                1,
+                config.affineTransformations(),
+                config.weightedFunctions(),
+                true,
+                2.2);
+        Path truncated = tempDir.resolve("truncated.bin");
+        byte[] bytes = Files.readAllBytes(shards.get(1));
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 8), StandardOpenOption.CREATE_NEW);
+
+        // Act & Assert
+        assertThatThrownBy(() -> ShardMerger.merge(other, shards))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("different config");
+        assertThatThrownBy(() -> ShardMerger.merge(config, List.of(shards.get(0), truncated)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated shard");
+    }
+
+    // Renders every shard of the config like separate processes would and writes its histogram
+    private List<Path> renderShards(FractalConfig config, int count, String name) throws IOException {
+        List<Path> shards = new ArrayList<>();
+        for (int index = 1; index <= count; index++) {
+            FractalConfig shardConfig = config.withRenderOptions(config.renderOptions().toBuilder()
+                    .shard(new Shard(index, count))
+                    .build());
+            Path path = tempDir.resolve(name + "-" + index + ".bin");
+            try (FractalImage histogram = RendererFactory.create(shardConfig).render(shardConfig)) {
+                new Checkpoint(
+                                Checkpoint.fingerprint(shardConfig),
+                                histogram,
+                                AbstractRenderer.shardSamples(shardConfig))
+                        .write(path);
+            }
+            shards.add(path);
+        }
+        return shards;
+    }
+
+    private FractalConfig createTestConfig(int threads) {
+        List<AffineTransformation> affineTransformations = List.of(
+                new AffineTransformation(0.5, 0.2, 0.1, -0.3, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.1, 0.5, 0.4, 0.5, 0.5, 0, 255, 0));
+        List<WeightedFunction> functions = List.of(
+                new WeightedFunction(TransformationType.SWIRL, 1.0),
+                new WeightedFunction(TransformationType.SPHERICAL, 1.0));
+
+        return new FractalConfig(
+                120, 90, 42L, SAMPLES, "test.png", threads, affineTransformations, functions, true, 2.2);
+    }
+}
@@ -1,8 +1,10 @@
 package academy.renderer;
 
+import static academy.model.Histograms.channels;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import academy.model.AffineTransformation;
+import academy.model.DownsampleFilter;
 import academy.model.FractalConfig;
 import academy.model.FractalImage;
 import academy.model.TransformationType;
@@ -26,6 +28,20 @@ class SingleThreadRendererTest {
         assertThat(image.height()).isEqualTo(50);
     }
 
+    @Test
+    void renderer_shouldRenderSupersampledHistogramOnFinerGrid() {
+        // Arrange
+        Renderer renderer = new SingleThreadRenderer();
+        FractalConfig config = createTestConfig(100, 50).withSupersample(2, DownsampleFilter.BOX);
+
+        // Act
+        FractalImage image = renderer.render(config);
+
+        // Assert
+        assertThat(image.width()).isEqualTo(200);
+        assertThat(image.height()).isEqualTo(100);
+    }
+
     @Test
     void renderer_shouldGenerateNonEmptyImage() {
         // Arrange
@@ -70,6 +86,48 @@ class SingleThreadRendererTest {
         assertThat(totalHits).isPositive();
     }
 
+    @Test
+    void renderer_shouldStopAtFirstConvergenceCheckBelowThreshold() {
+        // Arrange: checks come after 31 and 47 of the 1000 samples, the first one only records the image
+        FractalConfig config = createTestConfig(100, 100);
+        FractalConfig prefix = config.withRenderOptions(
+                config.renderOptions().toBuilder().sampleLimit(47).build());
+        FractalImage expected = new SingleThreadRenderer().render(prefix);
+
+        // Act
+        FractalImage single = new SingleThreadRenderer().render(config.withConvergenceThreshold(1e9));
+        FractalImage multi = new MultiThreadRenderer()
+                .render(new FractalConfig(
+                                100,
+                                100,
+                                123L,
+                                1000,
+                                "test.png",
+                                3,
+                                config.affineTransformations(),
+                                config.weightedFunctions(),
+                                true,
+                                2.2)
+                        .withConvergenceThreshold(1e9));
+
+        // Assert
+        assertThat(channels(single)).isEqualTo(channels(expected));
+        assertThat(channels(multi)).isEqualTo(channels(expected));
+    }
+
+    @Test
+    void renderer_shouldSpendWholeBudgetWithoutConvergence() {
+        // Arrange
+        FractalConfig config = createTestConfig(100, 100);
+        FractalImage expected = new SingleThreadRenderer().render(config);
+
+        // Act
+        FractalImage image = new SingleThreadRenderer().render(config.withConvergenceThreshold(1e-12));
+
+        // Assert
+        assertThat(channels(image)).isEqualTo(channels(expected));
+    }
+
     private FractalConfig createTestConfig(int width, int height) {
         List<AffineTransformation> affineTransformations = List.of(
                 new AffineTransformation(0.5, 0.0, 0.0, 0.0, 0.5, 0.0, 255, 0, 0),
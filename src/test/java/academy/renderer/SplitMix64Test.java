@@ -0,0 +1,91 @@
+package academy.renderer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import academy.model.RandomType;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+class SplitMix64Test {
+
+    @Test
+    void splitMix_shouldRepeatStreamForSameSeedAndSample() {
+        // Arrange
+        SplitMix64 first = SplitMix64.forSample(42L, 7);
+        SplitMix64 second = SplitMix64.forSample(42L, 7);
+
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            assertThat(first.nextLong()).isEqualTo(second.nextLong());
+        }
+    }
+
+    @Test
+    void splitMix_shouldGiveDifferentStreamsForDifferentSamples() {
+        // Arrange
+        SplitMix64 first = SplitMix64.forSample(42L, 7);
+        SplitMix64 second = SplitMix64.forSample(42L, 8);
+
+        // Act & Assert
+        assertThat(first.nextLong()).isNotEqualTo(second.nextLong());
+    }
+
+    @Test
+    void splitMix_shouldReseedToSameStreamAsNewGenerator() {
+        // Arrange
+        SplitMix64 reused = new SplitMix64(1L);
+        reused.nextLong();
+
+        // Act
+        reused.reseed(42L, 3);
+
+        // Assert
+        assertThat(reused.nextLong()).isEqualTo(SplitMix64.forSample(42L, 3).nextLong());
+    }
+
+    @Test
+    void splitMix_shouldStayWithinBounds() {
+        // Arrange
+        SplitMix64 random = new SplitMix64(5L);
+        int[] counts = new int[3];
+        int draws = 300_000;
+
+        // Act
+        for (int i = 0; i < draws; i++) {
+            double value = random.nextDouble();
+            assertThat(value).isGreaterThanOrEqualTo(0.0).isLessThan(1.0);
+            counts[random.nextInt(3)]++;
+        }
+
+        // Assert
+        for (int count : counts) {
+            assertThat((double) count / draws).isCloseTo(1.0 / 3, within(0.01));
+        }
+    }
+
+    @Test
+    void splitMix_shouldRejectNonPositiveBound() {
+        // Arrange
+        SplitMix64 random = new SplitMix64(5L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> random.nextInt(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void legacySampleRandom_shouldMatchRandomSeededWithSampleIndex() {
+        // Arrange
+        SampleRandom sampleRandom = SampleRandom.create(RandomType.LEGACY, 100L);
+
+        // Act
+        RandomGenerator random = sampleRandom.forSample(5);
+
+        // Assert
+        Random expected = new Random(105L);
+        assertThat(random.nextInt(10)).isEqualTo(expected.nextInt(10));
+        assertThat(random.nextDouble()).isEqualTo(expected.nextDouble());
+    }
+}
@@ -0,0 +1,158 @@
+package academy.renderer;
+
+import static academy.model.Histograms.channels;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import academy.model.AffineTransformation;
+import academy.model.CustomVariation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.KernelType;
+import academy.model.RandomType;
+import academy.model.RenderOptions;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class VectorKernelTest {
+    private static final int GRID = 16;
+
+    @BeforeAll
+    static void requireVectorApi() {
+        assumeTrue(
+                ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+                "Run with --add-modules jdk.incubator.vector");
+    }
+
+    @Test
+    void createKernel_shouldBuildVectorKernel() {
+        // Arrange
+        FractalConfig config = withKernel(createTestConfig(1, 301, null), KernelType.VECTOR);
+
+        // Act
+        IterationKernel kernel = new SingleThreadRenderer().createKernel(config);
+
+        // Assert
+        assertThat(kernel).isInstanceOf(VectorKernel.class);
+    }
+
+    @Test
+    void vectorKernel_shouldMatchScalarKernelExactlyWithoutSine() {
+        // Arrange: 301 samples leave a remainder for any lane count
+        FractalConfig config = createTestConfig(1, 301, TransformationType.SINUSOIDAL);
+
+        // Act
+        FractalImage scalar = new SingleThreadRenderer().render(withKernel(config, KernelType.SCALAR));
+        FractalImage vector = new SingleThreadRenderer().render(withKernel(config, KernelType.VECTOR));
+
+        // Assert
+        assertThat(scalar.maxHitCount()).isPositive();
+        assertThat(channels(vector)).isEqualTo(channels(scalar));
+    }
+
+    @Test
+    void vectorKernel_shouldMatchScalarKernelExactlyWithThreads() {
+        // Arrange
+        FractalConfig config = createTestConfig(3, 301, TransformationType.SINUSOIDAL);
+
+        // Act
+        FractalImage scalar = new SingleThreadRenderer().render(withKernel(config, KernelType.SCALAR));
+        FractalImage vector = new MultiThreadRenderer().render(withKernel(config, KernelType.VECTOR));
+
+        // Assert
+        assertThat(channels(vector)).isEqualTo(channels(scalar));
+    }
+
+    @Test
+    void vectorKernel_shouldMatchScalarKernelExactlyWithLegacyRandom() {
+        // Arrange: java.util.Random streams are drawn lane by lane instead of in vectors
+        FractalConfig config = createTestConfig(1, 301, TransformationType.SINUSOIDAL);
+        RenderOptions.Builder options = RenderOptions.builder().random(RandomType.LEGACY);
+        FractalConfig vectorConfig = vectorKernel(
+                config.withRenderOptions(options.kernel(KernelType.VECTOR).build()));
+
+        // Act
+        FractalImage scalar = new SingleThreadRenderer()
+                .render(config.withRenderOptions(
+                        options.kernel(KernelType.SCALAR).build()));
+        FractalImage vector = new SingleThreadRenderer().render(vectorConfig);
+
+        // Assert
+        assertThat(channels(vector)).isEqualTo(channels(scalar));
+    }
+
+    @Test
+    void vectorKernel_shouldMatchScalarKernelStatisticallyWithSine() {
+        // Arrange
+        FractalConfig config = createTestConfig(1, 400, null);
+
+        // Act
+        FractalImage scalar = new SingleThreadRenderer().render(withKernel(config, KernelType.SCALAR));
+        FractalImage vector = new SingleThreadRenderer().render(withKernel(config, KernelType.VECTOR));
+
+        // Assert: total hits and coarse density differ only by what last-bit sine differences can cause
+        double[] scalarDensity = density(scalar);
+        double[] vectorDensity = density(vector);
+        double distance = 0;
+        for (int i = 0; i < scalarDensity.length; i++) {
+            distance += Math.abs(scalarDensity[i] - vectorDensity[i]);
+        }
+        assertThat((double) totalHits(vector) / totalHits(scalar)).isBetween(0.99, 1.01);
+        assertThat(distance / 2).isLessThan(0.02);
+    }
+
+    // Share of hits per cell of a GRID x GRID grid
+    private double[] density(FractalImage image) {
+        double[] cells = new double[GRID * GRID];
+        long total = totalHits(image);
+        for (int y = 0; y < image.height(); y++) {
+            for (int x = 0; x < image.width(); x++) {
+                int cell = y * GRID / image.height() * GRID + x * GRID / image.width();
+                cells[cell] += (double) image.hitCount(y * image.width() + x) / total;
+            }
+        }
+        return cells;
+    }
+
+    private long totalHits(FractalImage image) {
+        long total = 0;
+        for (int i = 0; i < image.size(); i++) {
+            total += image.hitCount(i);
+        }
+        return total;
+    }
+
+    // A vector config is checked to build VectorKernel, so a fallback to the scalar kernel fails the test
+    private FractalConfig withKernel(FractalConfig config, KernelType kernel) {
+        FractalConfig result =
+                config.withRenderOptions(RenderOptions.builder().kernel(kernel).build());
+        return kernel == KernelType.VECTOR ? vectorKernel(result) : result;
+    }
+
+    private FractalConfig vectorKernel(FractalConfig config) {
+        assertThat(new SingleThreadRenderer().createKernel(config)).isInstanceOf(VectorKernel.class);
+        return config;
+    }
+
+    private FractalConfig createTestConfig(int threads, int samples, TransformationType excluded) {
+        List<AffineTransformation> affineTransformations = List.of(
+                new AffineTransformation(0.5, 0.2, 0.1, -0.3, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.1, 0.5, 0.4, 0.5, 0.5, 0, 255, 0),
+                new AffineTransformation(0.3, -0.6, -0.2, 0.2, 0.7, -0.4, 0, 0, 255));
+
+        // Vectorised and scalar fallback variations mixed in one step
+        List<WeightedFunction> functions = Arrays.stream(TransformationType.values())
+                .filter(type -> type != excluded)
+                .map(type -> type == TransformationType.CUSTOM
+                        ? WeightedFunction.custom(new CustomVariation("x * cos(r) - y / 2", "sin(theta) * r2"), 1.0)
+                        : new WeightedFunction(type, 1.0))
+                .toList();
+
+        return new FractalConfig(
+                200, 150, 42L, samples, "test.png", threads, affineTransformations, functions, true, 2.2);
+    }
+}
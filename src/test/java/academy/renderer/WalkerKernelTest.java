@@ -0,0 +1,107 @@
+package academy.renderer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import academy.model.HeapFractalImage;
+import academy.model.HitSink;
+import academy.model.RandomType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+class WalkerKernelTest {
+
+    @Test
+    void walkerKernel_shouldWarmUpEveryWalkerOnce() {
+        // Arrange
+        RecordingChain chain = new RecordingChain(false);
+        WalkerKernel kernel = new WalkerKernel(chain, 3, 20);
+
+        // Act
+        kernel.processSamples(SampleRandom.create(RandomType.SPLITMIX, 42L), 0, 10, new HeapFractalImage(1, 1));
+
+        // Assert
+        assertThat(chain.warmUps).containsExactly(20, 20, 20, 0, 0, 0, 0, 0, 0, 0);
+        assertThat(kernel.chainsStarted(10)).isEqualTo(3);
+    }
+
+    @Test
+    void walkerKernel_shouldContinueEachWalkerFromWhereItStopped() {
+        // Arrange
+        RecordingChain chain = new RecordingChain(false);
+        WalkerKernel kernel = new WalkerKernel(chain, 2, 20);
+
+        // Act
+        kernel.processSamples(SampleRandom.create(RandomType.SPLITMIX, 42L), 0, 6, new HeapFractalImage(1, 1));
+
+        // Assert: every call moves the point by one, walkers take the samples in turn
+        assertThat(chain.startX).hasSize(6);
+        assertThat(chain.startX.get(2)).isEqualTo(chain.startX.get(0) + 1);
+        assertThat(chain.startX.get(4)).isEqualTo(chain.startX.get(0) + 2);
+        assertThat(chain.startX.get(3)).isEqualTo(chain.startX.get(1) + 1);
+    }
+
+    @Test
+    void walkerKernel_shouldRestartDivergedWalker() {
+        // Arrange
+        RecordingChain chain = new RecordingChain(true);
+        WalkerKernel kernel = new WalkerKernel(chain, 2, 20);
+
+        // Act
+        kernel.processSamples(SampleRandom.create(RandomType.SPLITMIX, 42L), 0, 5, new HeapFractalImage(1, 1));
+
+        // Assert
+        assertThat(chain.warmUps).containsOnly(20);
+        assertThat(kernel.chainsStarted(5)).isEqualTo(5);
+    }
+
+    @Test
+    void walkerKernel_shouldPlaceWalkersBySampleIndexRegardlessOfSplit() {
+        // Arrange
+        RecordingChain whole = new RecordingChain(false);
+        RecordingChain split = new RecordingChain(false);
+        SampleRandom random = SampleRandom.create(RandomType.SPLITMIX, 42L);
+        int blockSize = 2 * WalkerKernel.SAMPLES_PER_WALKER;
+
+        // Act: the second kernel starts in the middle of the first block, as another thread would
+        new WalkerKernel(whole, 2, 20).processSamples(random, 0, 40, new HeapFractalImage(1, 1));
+        new WalkerKernel(split, 2, 20).processSamples(random, 5, 40, new HeapFractalImage(1, 1));
+
+        // Assert: the skipped samples are replayed, every block starts its walkers over
+        assertThat(split.startX).isEqualTo(whole.startX);
+        assertThat(whole.warmUps.subList(blockSize, blockSize + 3)).containsExactly(20, 20, 0);
+    }
+
+    @Test
+    void walkerKernel_shouldRejectNonPositiveWalkerCount() {
+        // Act & Assert
+        assertThatThrownBy(() -> new WalkerKernel(new RecordingChain(false), 0, 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Walker count must be positive");
+    }
+
+    // Moves the point by one per sample, or sends it to NaN, and records how it was called
+    private static final class RecordingChain implements ChainKernel {
+        private final boolean diverge;
+        private final List<Integer> warmUps = new ArrayList<>();
+        private final List<Double> startX = new ArrayList<>();
+
+        RecordingChain(boolean diverge) {
+            this.diverge = diverge;
+        }
+
+        @Override
+        public void processSample(RandomGenerator random, HitSink sink) {
+            iterate(random, new double[2], 0, sink);
+        }
+
+        @Override
+        public void iterate(RandomGenerator random, double[] point, int warmUp, HitSink sink) {
+            warmUps.add(warmUp);
+            startX.add(point[0]);
+            point[0] = diverge ? Double.NaN : point[0] + 1;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package academy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+class RenderServerTest {
+
+    private static final long MB = 1024 * 1024;
+    private static final Pattern ID = Pattern.compile("\"id\":\"([^\"]+)\"");
+    private static final String CONFIG =
+            """
+            {
+                "size": {"width": 80, "height": 60},
+                "iteration_count": 500,
+                "seed": 3,
+                "functions": [{"name": "swirl", "weight": 1.0}]
+            }
+            """;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void server_shouldRenderSubmittedConfig() throws Exception {
+        try (RenderService service = new RenderService(2, 64 * MB, 16 * MB);
+                RenderServer server = new RenderServer(service, 0)) {
+            server.start();
+            String base = "http://127.0.0.1:" + server.port() + "/jobs";
+
+            // Act
+            HttpResponse<String> submitted = send(HttpRequest.newBuilder(URI.create(base))
+                    .POST(HttpRequest.BodyPublishers.ofString(CONFIG))
+                    .build());
+            String id = id(submitted.body());
+            service.job(id).orElseThrow().result().join();
+            HttpResponse<String> status =
+                    send(HttpRequest.newBuilder(URI.create(base + "/" + id)).build());
+            HttpResponse<byte[]> image = client.send(
+                    HttpRequest.newBuilder(URI.create(base + "/" + id + "/image"))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            HttpResponse<String> repeated = send(HttpRequest.newBuilder(URI.create(base))
+                    .POST(HttpRequest.BodyPublishers.ofString(CONFIG))
+                    .build());
+
+            // Assert
+            assertThat(submitted.statusCode()).isEqualTo(202);
+            assertThat(submitted.headers().firstValue("Location")).contains("/jobs/" + id);
+            assertThat(status.statusCode()).isEqualTo(200);
+            assertThat(status.body()).contains("\"status\":\"done\"", "\"progress\":1.0");
+            assertThat(image.statusCode()).isEqualTo(200);
+            assertThat(image.headers().firstValue("Content-Type")).contains("image/png");
+            BufferedImage png = ImageIO.read(new ByteArrayInputStream(image.body()));
+            assertThat(png.getWidth()).isEqualTo(80);
+            assertThat(png.getHeight()).isEqualTo(60);
+            assertThat(repeated.body()).contains("\"status\":\"done\"", "\"cached\":true");
+        }
+    }
+
+    @Test
+    void server_shouldAnswerErrorsAsJson() throws Exception {
+        try (RenderService service = new RenderService(1, 64 * MB, 16 * MB);
+                RenderServer server = new RenderServer(service, 0)) {
+            server.start();
+            String base = "http://127.0.0.1:" + server.port() + "/jobs";
+
+            // Act
+            HttpResponse<String> unknown =
+                    send(HttpRequest.newBuilder(URI.create(base + "/missing")).build());
+            HttpResponse<String> malformed = send(HttpRequest.newBuilder(URI.create(base))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"size\": "))
+                    .build());
+            HttpResponse<String> invalid = send(HttpRequest.newBuilder(URI.create(base))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"size\": {\"width\": -1}}"))
+                    .build());
+            HttpResponse<String> listing =
+                    send(HttpRequest.newBuilder(URI.create(base)).build());
+
+            // Assert
+            assertThat(unknown.statusCode()).isEqualTo(404);
+            assertThat(malformed.statusCode()).isEqualTo(400);
+            assertThat(malformed.body()).contains("Invalid JSON config");
+            assertThat(invalid.statusCode()).isEqualTo(400);
+            assertThat(invalid.body()).contains("Width must be positive");
+            assertThat(listing.statusCode()).isEqualTo(405);
+        }
+    }
+
+    @Test
+    void server_shouldListenOnLoopbackByDefault() throws Exception {
+        try (RenderService service = new RenderService(1, 64 * MB, 16 * MB);
+                RenderServer server = new RenderServer(service, 0)) {
+            // Act
+            server.start();
+
+            // Assert
+            assertThat(server.address().getAddress().isLoopbackAddress()).isTrue();
+        }
+    }
+
+    @Test
+    void server_shouldAnswerConfigThatCannotBeLoaded() throws Exception {
+        try (RenderService service = new RenderService(1, 64 * MB, 16 * MB);
+                RenderServer server = new RenderServer(service, 0)) {
+            server.start();
+            String base = "http://127.0.0.1:" + server.port() + "/jobs";
+            String nested = "(".repeat(100_000) + "x" + ")".repeat(100_000);
+            String config = "{\"functions\": [{\"x\": \"" + nested + "\", \"y\": \"y\"}]}";
+
+            // Act
+            HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(base))
+                    .POST(HttpRequest.BodyPublishers.ofString(config))
+                    .build());
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(400);
+            assertThat(response.body()).contains("\"error\"");
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String id(String json) {
+        Matcher matcher = ID.matcher(json);
+        assertThat(matcher.find()).as(json).isTrue();
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,169 @@
+package academy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import academy.model.AffineTransformation;
+import academy.model.FractalConfig;
+import academy.model.FractalImage;
+import academy.model.TransformationType;
+import academy.model.WeightedFunction;
+import academy.processor.ImageProcessor;
+import academy.renderer.SingleThreadRenderer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class RenderServiceTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    void submit_shouldRenderSameImageAsSingleProcess() throws Exception {
+        // Arrange
+        FractalConfig config = createTestConfig(42L, "result.png", 1);
+        byte[] expected = encode(config);
+
+        try (RenderService service = new RenderService(3, 64 * MB, 16 * MB)) {
+            // Act
+            RenderJob job = service.submit(config);
+            byte[] png = job.result().get(1, TimeUnit.MINUTES);
+
+            // Assert
+            assertThat(png).isEqualTo(expected);
+            assertThat(job.state()).isEqualTo(RenderJob.State.DONE);
+            assertThat(job.progress()).isEqualTo(1.0);
+            assertThat(job.cached()).isFalse();
+            assertThat(service.job(job.id())).containsSame(job);
+        }
+    }
+
+    @Test
+    void submit_shouldServeRepeatedConfigFromCache() throws Exception {
+        // Arrange
+        try (RenderService service = new RenderService(2, 64 * MB, 16 * MB)) {
+            RenderJob first = service.submit(createTestConfig(42L, "result.png", 1));
+            byte[] png = first.result().get(1, TimeUnit.MINUTES);
+
+            // Act
+            RenderJob repeated = service.submit(createTestConfig(42L, "other.png", 8));
+
+            // Assert
+            assertThat(repeated.id()).isNotEqualTo(first.id());
+            assertThat(repeated.cached()).isTrue();
+            assertThat(repeated.state()).isEqualTo(RenderJob.State.DONE);
+            assertThat(repeated.image()).isSameAs(png);
+        }
+    }
+
+    @Test
+    void submit_shouldRunJobsOneAfterAnotherWhenBudgetFitsOne() throws Exception {
+        // Arrange: a 120x90 histogram with one part histogram per worker takes the whole megabyte
+        try (RenderService service = new RenderService(2, MB, 16 * MB)) {
+            // Act
+            RenderJob first = service.submit(createTestConfig(1L, "result.png", 1));
+            RenderJob second = service.submit(createTestConfig(2L, "result.png", 1));
+
+            // Assert
+            assertThat(second.result().get(1, TimeUnit.MINUTES)).isEqualTo(encode(createTestConfig(2L, "a.png", 1)));
+            assertThat(first.result().get(1, TimeUnit.MINUTES)).isEqualTo(encode(createTestConfig(1L, "a.png", 1)));
+        }
+    }
+
+    @Test
+    void submit_shouldRejectJobLargerThanMemoryBudget() {
+        // Arrange
+        FractalConfig config = createTestConfig(1L, "result.png", 1);
+        FractalConfig large = new FractalConfig(
+                2000,
+                2000,
+                1L,
+                100,
+                "large.png",
+                1,
+                config.affineTransformations(),
+                config.weightedFunctions(),
+                true,
+                2.2);
+
+        try (RenderService service = new RenderService(2, 16 * MB, 16 * MB)) {
+            // Act & Assert
+            assertThatThrownBy(() -> service.submit(large))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("budget is 16 MB");
+        }
+    }
+
+    @Test
+    void submit_shouldFailJobWhoseHistogramDoesNotFitHeapAndStartNextOne() throws Exception {
+        // Arrange: an 8 GB heap histogram within a budget that only counts megabytes
+        assumeTrue(Runtime.getRuntime().maxMemory() < 8L * 1024 * MB, "Test heap is large enough for the histogram");
+        FractalConfig config = createTestConfig(1L, "result.png", 1);
+        FractalConfig huge = new FractalConfig(
+                16_000,
+                16_000,
+                1L,
+                1,
+                "huge.png",
+                1,
+                config.affineTransformations(),
+                config.weightedFunctions(),
+                true,
+                2.2);
+
+        try (RenderService service = new RenderService(2, 1024 * 1024 * MB, 16 * MB)) {
+            // Act
+            RenderJob failed = service.submit(huge);
+            RenderJob next = service.submit(config);
+
+            // Assert
+            assertThatThrownBy(() -> failed.result().get(1, TimeUnit.MINUTES))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(OutOfMemoryError.class);
+            assertThat(failed.state()).isEqualTo(RenderJob.State.FAILED);
+            assertThat(next.result().get(1, TimeUnit.MINUTES)).isEqualTo(encode(config));
+        }
+    }
+
+    @Test
+    void cacheKey_shouldIgnoreSettingsThatDoNotChangeImage() {
+        // Arrange
+        FractalConfig config = createTestConfig(42L, "result.png", 1);
+
+        // Act
+        String key = RenderService.cacheKey(config);
+
+        // Assert
+        assertThat(key).hasSize(64);
+        assertThat(RenderService.cacheKey(createTestConfig(42L, "other.png", 4)))
+                .isEqualTo(key);
+        assertThat(RenderService.cacheKey(createTestConfig(43L, "result.png", 1)))
+                .isNotEqualTo(key);
+        assertThat(RenderService.cacheKey(config.withSupersample(2, config.downsampleFilter())))
+                .isNotEqualTo(key);
+    }
+
+    private static byte[] encode(FractalConfig config) throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        try (FractalImage image = new SingleThreadRenderer().render(config)) {
+            new ImageProcessor().write(image, png, config);
+        }
+        return png.toByteArray();
+    }
+
+    private static FractalConfig createTestConfig(long seed, String outputPath, int threads) {
+        List<AffineTransformation> affineTransformations = List.of(
+                new AffineTransformation(0.5, 0.2, 0.1, -0.3, 0.5, 0.0, 255, 0, 0),
+                new AffineTransformation(-0.5, 0.1, 0.5, 0.4, 0.5, 0.5, 0, 255, 0));
+        List<WeightedFunction> functions = List.of(
+                new WeightedFunction(TransformationType.SWIRL, 1.0),
+                new WeightedFunction(TransformationType.SPHERICAL, 1.0));
+
+        return new FractalConfig(
+                120, 90, seed, 1_000, outputPath, threads, affineTransformations, functions, true, 2.2);
+    }
+}
@@ -3,6 +3,7 @@ package academy.transformation;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import academy.model.Point;
+import academy.model.TransformationType;
 import org.junit.jupiter.api.Test;
 
 /** Tests to ensure all transformation implementations can be instantiated and executed without errors. */
@@ -142,4 +143,27 @@ class AllTransformationsTest {
             assertThat(result.y()).isFinite();
         }
     }
+
+    @Test
+    void allTransformations_shouldApplyInPlaceLikePointVersion() {
+        double[][] points = {{1.0, 1.0}, {-0.3, 0.7}, {0.0, 0.0}, {2.5, -1.5}, {1e-6, -1e-6}};
+
+        for (TransformationType type : TransformationType.values()) {
+            if (type == TransformationType.CUSTOM) {
+                continue;
+            }
+            Transform transform = TransformFactory.create(type);
+            for (double[] source : points) {
+                // Arrange
+                double[] inPlace = source.clone();
+
+                // Act
+                Point expected = transform.apply(new Point(source[0], source[1]));
+                transform.apply(inPlace);
+
+                // Assert
+                assertThat(inPlace).as(type.name()).containsExactly(expected.x(), expected.y());
+            }
+        }
+    }
 }
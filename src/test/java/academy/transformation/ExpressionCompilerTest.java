@@ -0,0 +1,173 @@
+package academy.transformation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import academy.model.CustomVariation;
+import academy.model.Point;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ExpressionCompilerTest {
+
+    private static final CustomVariation SWIRL = new CustomVariation("x*sin(r2) - y*cos(r2)", "x*cos(r2) + y*sin(r2)");
+    private static final CustomVariation DISC = new CustomVariation("theta/pi * sin(pi*r)", "theta/pi * cos(pi*r)");
+
+    @Test
+    void compiledSwirl_shouldMatchHandwrittenSwirlExactly() {
+        assertMatches(ExpressionCompiler.compile(SWIRL), new Swirl());
+    }
+
+    @Test
+    void compiledDisc_shouldMatchHandwrittenDiscExactly() {
+        assertMatches(ExpressionCompiler.compile(DISC), new Disc());
+    }
+
+    @Test
+    void compile_shouldFollowOperatorPrecedence() {
+        // Arrange
+        Transform transform = ExpressionCompiler.compile(new CustomVariation("-x^2 + 2*y", "(x - y) / 4 - 2^3^0"));
+        double[] point = {3.0, 1.0};
+
+        // Act
+        transform.apply(point);
+
+        // Assert
+        assertThat(point).containsExactly(-7.0, -1.5);
+    }
+
+    @Test
+    void compile_shouldReadOriginalCoordinatesInBothExpressions() {
+        // Arrange
+        Transform transform = ExpressionCompiler.compile(new CustomVariation("y", "x"));
+        double[] point = {1.5, -2.5};
+
+        // Act
+        transform.apply(point);
+
+        // Assert
+        assertThat(point).containsExactly(-2.5, 1.5);
+    }
+
+    @Test
+    void compile_shouldSupportFunctionsConstantsAndExponents() {
+        // Arrange
+        Transform transform =
+                ExpressionCompiler.compile(new CustomVariation("max(abs(x), 1e-1) + floor(e)", "atan2(y, x) * 4 / PI"));
+        double[] point = {-0.05, 1.0};
+
+        // Act
+        transform.apply(point);
+
+        // Assert
+        assertThat(point[0]).isEqualTo(0.1 + 2.0);
+        assertThat(point[1]).isEqualTo(Math.atan2(1.0, -0.05) * 4 / Math.PI);
+    }
+
+    @Test
+    void compile_shouldKeepColorsOfPoint() {
+        // Arrange
+        Transform transform = ExpressionCompiler.compile(new CustomVariation("x + 1", "y * 2"));
+
+        // Act
+        Point result = transform.apply(new Point(1.0, 2.0, 10, 20, 30));
+
+        // Assert
+        assertThat(result).isEqualTo(new Point(2.0, 4.0, 10, 20, 30));
+    }
+
+    @Test
+    void compile_shouldReuseCompiledClassForSameExpressions() {
+        // Act
+        Transform first = ExpressionCompiler.compile(new CustomVariation("x * r", "y * r"));
+        Transform second = ExpressionCompiler.compile(new CustomVariation("x * r", "y * r"));
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(first.getClass().isHidden()).isTrue();
+    }
+
+    @Test
+    void compile_shouldRejectUnknownVariable() {
+        assertThatThrownBy(() -> ExpressionCompiler.compile(new CustomVariation("x + z", "y")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unknown variable 'z'");
+    }
+
+    @Test
+    void compile_shouldRejectUnknownFunction() {
+        assertThatThrownBy(() -> ExpressionCompiler.compile(new CustomVariation("foo(x)", "y")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unknown function 'foo'");
+    }
+
+    @Test
+    void compile_shouldRejectWrongArgumentCount() {
+        assertThatThrownBy(() -> ExpressionCompiler.compile(new CustomVariation("atan2(x)", "y")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("atan2 takes 2 argument(s), got 1");
+    }
+
+    @Test
+    void compile_shouldRejectMalformedExpressions() {
+        assertThatThrownBy(() -> ExpressionCompiler.compile(new CustomVariation("(x + y", "y")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expected ')'");
+        assertThatThrownBy(() -> ExpressionCompiler.compile(new CustomVariation("x y", "y")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at position 2");
+        assertThatThrownBy(() -> ExpressionCompiler.compile(new CustomVariation("x *", "y")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unexpected end of expression");
+    }
+
+    @Test
+    void compile_shouldRejectTooLongExpressions() {
+        String expression = "x" + " + x".repeat(ExpressionParser.MAX_LENGTH / 4);
+
+        assertThatThrownBy(() -> ExpressionCompiler.compile(new CustomVariation(expression, "y")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("longer than " + ExpressionParser.MAX_LENGTH + " characters");
+    }
+
+    @Test
+    void compile_shouldRejectTooDeepNesting() {
+        int levels = ExpressionParser.MAX_DEPTH + 1;
+        String parentheses = "(".repeat(levels) + "x" + ")".repeat(levels);
+        String negations = "-".repeat(levels) + "x";
+        String powers = "x" + "^x".repeat(levels);
+
+        for (String expression : new String[] {parentheses, negations, powers}) {
+            assertThatThrownBy(() -> ExpressionCompiler.compile(new CustomVariation(expression, "y")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("nested deeper than " + ExpressionParser.MAX_DEPTH + " levels");
+        }
+    }
+
+    @Test
+    void compile_shouldAcceptNestingUpToLimit() {
+        int levels = ExpressionParser.MAX_DEPTH - 1;
+        String expression = "(".repeat(levels) + "x" + ")".repeat(levels);
+
+        assertThat(ExpressionCompiler.compile(new CustomVariation(expression, "y")))
+                .isNotNull();
+    }
+
+    private static void assertMatches(Transform compiled, Transform handwritten) {
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            // Arrange
+            double[] expected = {random.nextDouble() * 6 - 3, random.nextDouble() * 6 - 3};
+            double[] actual = expected.clone();
+            Point point = new Point(expected[0], expected[1]);
+
+            // Act
+            handwritten.apply(expected);
+            compiled.apply(actual);
+
+            // Assert
+            assertThat(actual).containsExactly(expected);
+            assertThat(compiled.apply(point)).isEqualTo(handwritten.apply(point));
+        }
+    }
+}
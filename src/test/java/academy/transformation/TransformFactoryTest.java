@@ -1,8 +1,11 @@
 package academy.transformation;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import academy.model.CustomVariation;
 import academy.model.TransformationType;
+import academy.model.WeightedFunction;
 import org.junit.jupiter.api.Test;
 
 class TransformFactoryTest {
@@ -96,4 +99,24 @@ class TransformFactoryTest {
         // Assert
         assertThat(transform).isInstanceOf(Hyperbolic.class);
     }
+
+    @Test
+    void factory_shouldCompileCustomFunction() {
+        // Arrange
+        WeightedFunction function = WeightedFunction.custom(new CustomVariation("x / 2", "y / 2"), 1.0);
+
+        // Act
+        Transform transform = TransformFactory.create(function);
+
+        // Assert
+        assertThat(transform).isInstanceOf(CompiledTransform.class);
+    }
+
+    @Test
+    void factory_shouldRejectCustomTypeWithoutExpressions() {
+        assertThatThrownBy(() -> TransformFactory.create(TransformationType.CUSTOM))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new WeightedFunction(TransformationType.CUSTOM, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }